@@ -1,33 +1,39 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.UserDTO;
+import com.example.demo.dto.UserPage;
+import com.example.demo.service.UserReadModel;
 import com.example.demo.service.UserService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Controller
 @RequestMapping("/users") // SSR용 경로 예: /users/**
 public class MvcUserController {
 
     private final UserService userService;
+    private final UserReadModel userReadModel;
 
-    public MvcUserController(UserService userService) {
+    public MvcUserController(UserService userService, UserReadModel userReadModel) {
         this.userService = userService;
+        this.userReadModel = userReadModel;
     }
 
     /**
-     * 1. 전체 사용자 목록 페이지
-     *    GET /users
+     * 1. 사용자 목록 페이지
+     *    GET /users?cursor=...
      */
     @GetMapping
-    public String listUsers(Model model) {
-        // 모든 사용자 조회
-        List<UserDTO> users = userService.getAllUsers();
+    public String listUsers(@RequestParam(required = false) String cursor, Model model) {
+        // 커서 다음부터 한 페이지만 조회 (읽기 모델 스냅샷에 있으면 DB 를 거치지 않는다)
+        UserPage page = userReadModel.page(cursor, UserService.DEFAULT_PAGE_LIMIT);
+        if (page == null) {
+            page = userService.getUsers(cursor, UserService.DEFAULT_PAGE_LIMIT, null, null);
+        }
         // 모델에 담아서 View로 전달
-        model.addAttribute("users", users);
+        model.addAttribute("users", page.getUsers());
+        model.addAttribute("nextCursor", page.getNextCursor());
         // "user/list" 템플릿 렌더링
         return "user/list";
     }
@@ -1,8 +1,25 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BulkResult;
 import com.example.demo.dto.UserDTO;
+import com.example.demo.dto.UserPage;
+import com.example.demo.service.UserBulkService;
+import com.example.demo.service.UserChangeFeed;
+import com.example.demo.service.UserExportService;
+import com.example.demo.service.UserLoader;
+import com.example.demo.service.UserReadModel;
 import com.example.demo.service.UserService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -11,10 +28,23 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserBulkService userBulkService;
+    private final UserChangeFeed userChangeFeed;
+    private final UserReadModel userReadModel;
+    private final UserLoader userLoader;
 
     // 생성자 주입
-    public UserController(UserService userService) {
+    // 읽기는 트랜잭션이 필요 없는 읽기 모델(메모리)과 UserLoader 를 먼저 보고, 없을 때만 UserService 의 읽기 트랜잭션으로 간다
+    public UserController(UserService userService, UserExportService userExportService,
+                          UserBulkService userBulkService, UserChangeFeed userChangeFeed,
+                          UserReadModel userReadModel, UserLoader userLoader) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.userBulkService = userBulkService;
+        this.userChangeFeed = userChangeFeed;
+        this.userReadModel = userReadModel;
+        this.userLoader = userLoader;
     }
 
     // 회원 생성
@@ -23,16 +53,129 @@ public class UserController {
         return userService.createUser(userDTO.getName(), userDTO.getEmail());
     }
 
-    // 회원 전체 조회
+    // 회원 일괄 생성 - 항목별 결과(id 또는 실패 사유)를 요청 순서대로 반환
+    @PostMapping("/bulk")
+    public BulkResult createUsers(@RequestBody List<UserDTO> users) {
+        return userBulkService.createUsers(users);
+    }
+
+    // 회원 일괄 수정
+    @PutMapping("/bulk")
+    public BulkResult updateUsers(@RequestBody List<UserDTO> users) {
+        return userBulkService.updateUsers(users);
+    }
+
+    // 회원 일괄 삭제 (본문: id 배열)
+    @DeleteMapping("/bulk")
+    public BulkResult deleteUsers(@RequestBody List<Long> ids) {
+        return userBulkService.deleteUsers(ids);
+    }
+
+    // 회원 목록 조회 (키셋 페이지네이션)
+    // GET /api/users?limit=20&name=kim  -> 다음 페이지 주소는 Link: <...?cursor=...>; rel="next" 헤더로 전달
+    // ETag 는 데이터 버전(약한 ETag). If-None-Match 가 맞으면 조회/직렬화 없이 304
     @GetMapping
-    public List<UserDTO> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<?> getUsers(@RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) String name,
+                                      @RequestParam(required = false) String email,
+                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 버전을 먼저 읽고 데이터를 읽는다 (사이에 쓰기가 끼면 옛 버전이 붙어 다음 요청에서 다시 받게 될 뿐)
+        String eTag = dataETag();
+        if (matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        // 필터 없는 목록은 읽기 모델의 미리 만든 페이지 (트랜잭션/커넥션 없이)
+        boolean filtered = (name != null && !name.isEmpty()) || (email != null && !email.isEmpty());
+        UserPage page = filtered ? null : userReadModel.page(cursor, limit);
+        if (page == null) {
+            page = userService.getUsers(cursor, limit, name, email);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (page.hasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .build()
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        if (page.getJson() == null) {
+            return response.body(page.getUsers());
+        }
+        // 읽기 모델의 미리 직렬화된(가능하면 미리 압축된) 바이트를 그대로 내려준다
+        response.contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (page.getGzippedJson() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.getGzippedJson());
+        }
+        return response.body(page.getJson());
+    }
+
+    // 여러 회원 한 번에 조회: GET /api/users?ids=3,1,2 (최대 100개, 없는 id 는 빠진다)
+    // 동시에 들어온 단건/다건 조회와 함께 UserLoader 가 묶어 IN 쿼리로 읽는다 (트랜잭션 밖에서). ETag 는 목록과 같은 데이터 버전
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserDTO>> getUsersByIds(@RequestParam List<Long> ids,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = dataETag();
+        if (matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        if (ids.isEmpty() || ids.size() > UserService.MAX_PAGE_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids 는 1~" + UserService.MAX_PAGE_LIMIT + "개까지 지정할 수 있습니다.");
+        }
+        return ResponseEntity.ok().eTag(eTag).body(List.copyOf(userLoader.getAll(ids).values()));
+    }
+
+    // 회원 전체 내보내기 (스트리밍)
+    // GET /api/users/export?format=ndjson|csv  -> 행을 읽는 대로 응답에 써서 전체를 메모리에 올리지 않는다
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        UserExportService.Format exportFormat;
+        try {
+            exportFormat = UserExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 형식입니다: " + format);
+        }
+        StreamingResponseBody body = out -> userExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    // 회원 변경 스트림 (Server-Sent Events) - 생성/수정/삭제를 커밋 직후 push
+    // 재접속 시 Last-Event-ID 로 놓친 이벤트를 이어받는다. 이어받을 수 없으면 reset 이벤트 (목록을 다시 읽을 것)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUsers(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return userChangeFeed.subscribe(lastEventId);
     }
 
     // 단일 회원 조회
+    // ETag 는 회원의 @Version 값. If-None-Match 가 맞으면 본문을 만들지 않고 304
     @GetMapping("/{id}")
-    public UserDTO getUserById(@PathVariable Long id) {
-        return userService.getUserById(id);
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Long version = userReadModel.version(id);
+            if (version == null) {
+                version = userService.getUserVersion(id);
+            }
+            if (version != null && matches(ifNoneMatch, userETag(version))) {
+                return notModified(userETag(version));
+            }
+        }
+        // 읽기 모델에 없으면 UserLoader 가 동시에 들어온 조회와 묶어 IN 쿼리 한 번으로 읽는다 (로더 스레드의 트랜잭션에서)
+        UserDTO user = userReadModel.user(id);
+        if (user == null) {
+            user = userLoader.get(id);
+        }
+        if (user == null) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + id);
+        }
+        return ResponseEntity.ok().eTag(userETag(user.getVersion())).body(user);
     }
 
     // 회원 정보 수정
@@ -42,9 +185,63 @@ public class UserController {
         return userService.updateUser(id, userDTO.getName(), userDTO.getEmail());
     }
 
+    // 회원 일부 수정 - 본문에 있는 항목만 바꾼다
+    // If-Match: "<version>" (GET 의 ETag) 필수. 없으면 428, 그 사이 다른 수정이 있었으면 412, 성공하면 204 + 새 ETag
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchUser(@PathVariable Long id,
+                                          @RequestBody UserDTO patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long version = userService.patchUser(id, patch.getName(), patch.getEmail(), expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(userETag(version)).build();
+    }
+
     // 회원 삭제
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
     }
+
+    private String dataETag() {
+        // 메모리 값만 읽는다 (조건부 요청을 DB 없이 판단)
+        return "W/\"" + userReadModel.dataVersion() + "\"";
+    }
+
+    private static String userETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match 비교 (GET 이므로 약한 비교, * 는 항상 일치)
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(eTag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
+    }
+
+    // If-Match 의 회원 ETag 를 버전으로. 버전 하나를 콕 집어야 조건부 UPDATE 를 만들 수 있으므로 * 나 여러 개는 받지 않는다
+    private static long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "If-Match 헤더(회원 ETag)가 필요합니다.");
+        }
+        List<ETag> eTags = ETag.parse(ifMatch);
+        if (eTags.size() != 1 || eTags.get(0).isWildcard()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "If-Match 에는 회원 ETag 하나를 지정해야 합니다.");
+        }
+        // If-Match 는 강한 비교: 약한 ETag 나 버전 형식이 아닌 값은 어떤 버전과도 일치하지 않는다
+        ETag eTag = eTags.get(0);
+        try {
+            if (!eTag.weak()) {
+                return Long.parseLong(eTag.tag());
+            }
+        } catch (NumberFormatException e) {
+            // 아래에서 412
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match 가 현재 버전과 일치하지 않습니다.");
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.UserImportStatus;
+import com.example.demo.service.UserImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/users/import")
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    // 생성자 주입
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    // CSV 업로드 후 가져오기 시작 (multipart, 필드명 file) - 바로 202 와 작업 상태를 반환
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserImportStatus> upload(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.accepted().body(userImportService.startUpload(file));
+    }
+
+    // 가져오기 디렉터리(app.import.dir)에 있는 파일 가져오기: POST /api/users/import?path=users.csv
+    @PostMapping(params = "path")
+    public ResponseEntity<UserImportStatus> importLocal(@RequestParam String path) {
+        return ResponseEntity.accepted().body(userImportService.startLocal(path));
+    }
+
+    // 진행 상황 조회
+    @GetMapping("/{id}")
+    public UserImportStatus getStatus(@PathVariable String id) {
+        return userImportService.getStatus(id);
+    }
+
+    // 실패/중단된 작업을 마지막 체크포인트부터 재개
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<UserImportStatus> resume(@PathVariable String id) {
+        return ResponseEntity.accepted().body(userImportService.resume(id));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * 일괄 처리 결과. 요청 순서(index)대로 항목별 성공/실패를 담는다.
+ */
+public class BulkResult {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, FAILED
+    }
+
+    private final List<Item> items;
+
+    public BulkResult(List<Item> items) {
+        this.items = items;
+    }
+
+    public int getTotal() {
+        return items.size();
+    }
+
+    public long getSucceeded() {
+        return items.size() - getFailed();
+    }
+
+    public long getFailed() {
+        return items.stream().filter(i -> i.getStatus() == Status.FAILED).count();
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public static class Item {
+
+        private final int index;
+        private final Long id;
+        private final Status status;
+        private final String error;
+
+        public Item(int index, Long id, Status status, String error) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.error = error;
+        }
+
+        public static Item success(int index, Long id, Status status) {
+            return new Item(index, id, status, null);
+        }
+
+        public static Item failed(int index, Long id, String error) {
+            return new Item(index, id, Status.FAILED, error);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
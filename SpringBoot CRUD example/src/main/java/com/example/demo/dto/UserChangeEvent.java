@@ -0,0 +1,74 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 회원 변경 스트림(SSE) 이벤트의 data. 삭제 이벤트는 user 가 null
+ * 가져오기(IMPORTED)는 행마다 보내지 않고 커밋된 청크마다 요약 한 건이다 (id 가 null, importJob/count/fromId/toId).
+ * 받은 쪽은 fromId~toId 구간을 다시 읽으면 된다 (구간 안에 다른 요청이 만든 회원이 섞일 수 있다)
+ */
+public class UserChangeEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, IMPORTED
+    }
+
+    private final Type type;
+    private final Long id;
+    private final UserDTO user;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String importJob;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Integer count;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long fromId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long toId;
+
+    public UserChangeEvent(Type type, Long id, UserDTO user) {
+        this(type, id, user, null, null, null, null);
+    }
+
+    private UserChangeEvent(Type type, Long id, UserDTO user, String importJob, Integer count, Long fromId, Long toId) {
+        this.type = type;
+        this.id = id;
+        this.user = user;
+        this.importJob = importJob;
+        this.count = count;
+        this.fromId = fromId;
+        this.toId = toId;
+    }
+
+    // 가져오기 청크 하나의 요약
+    public static UserChangeEvent imported(String importJob, int count, long fromId, long toId) {
+        return new UserChangeEvent(Type.IMPORTED, null, null, importJob, count, fromId, toId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UserDTO getUser() {
+        return user;
+    }
+
+    public String getImportJob() {
+        return importJob;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public Long getFromId() {
+        return fromId;
+    }
+
+    public Long getToId() {
+        return toId;
+    }
+}
@@ -5,6 +5,7 @@ public class UserDTO {
     private Long id;
     private String name;
     private String email;
+    private Long version;
 
     // 기본 생성자
     public UserDTO() {
@@ -17,6 +18,12 @@ public class UserDTO {
         this.email = email;
     }
 
+    // 버전까지 담는 생성자 (조회 프로젝션용)
+    public UserDTO(Long id, String name, String email, Long version) {
+        this(id, name, email);
+        this.version = version;
+    }
+
     // Getter/Setter 직접 구현
     public Long getId() {
         return id;
@@ -41,4 +48,12 @@ public class UserDTO {
     public void setEmail(String email) {
         this.email= email;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
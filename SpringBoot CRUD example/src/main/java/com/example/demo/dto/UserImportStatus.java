@@ -0,0 +1,86 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.UserImportJob;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가져오기 작업 진행 상황
+ */
+public class UserImportStatus {
+
+    private final String id;
+    private final UserImportJob.Status status;
+    private final long fileSize;
+    private final long bytesProcessed;
+    private final int totalChunks;
+    private final int completedChunks;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final String errorFile;
+    private final String failureReason;
+    private final LocalDateTime updatedAt;
+
+    public UserImportStatus(UserImportJob job) {
+        this.id = job.getId();
+        this.status = job.getStatus();
+        this.fileSize = job.getFileSize();
+        this.bytesProcessed = job.getBytesProcessed();
+        this.totalChunks = job.getTotalChunks();
+        this.completedChunks = job.getCompletedChunks();
+        this.rowsImported = job.getRowsImported();
+        this.rowsRejected = job.getRowsRejected();
+        this.errorFile = job.getErrorPath();
+        this.failureReason = job.getFailureReason();
+        this.updatedAt = job.getUpdatedAt();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UserImportJob.Status getStatus() {
+        return status;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+
+    // 처리한 바이트 기준 진행률 (0~100)
+    public double getProgress() {
+        return fileSize == 0 ? 100.0 : Math.min(100.0, bytesProcessed * 100.0 / fileSize);
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public int getCompletedChunks() {
+        return completedChunks;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public String getErrorFile() {
+        return errorFile;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
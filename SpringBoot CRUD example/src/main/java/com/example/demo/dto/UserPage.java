@@ -0,0 +1,46 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * 사용자 목록 한 페이지와 다음 페이지 커서 (마지막 페이지면 nextCursor 가 null)
+ */
+public class UserPage {
+
+    private final List<UserDTO> users;
+    private final String nextCursor;
+    // 읽기 모델에서 온 페이지면 미리 직렬화된 JSON (아니면 null)
+    private final byte[] json;
+    private final byte[] gzippedJson;
+
+    public UserPage(List<UserDTO> users, String nextCursor) {
+        this(users, nextCursor, null, null);
+    }
+
+    public UserPage(List<UserDTO> users, String nextCursor, byte[] json, byte[] gzippedJson) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.json = json;
+        this.gzippedJson = gzippedJson;
+    }
+
+    public List<UserDTO> getUsers() {
+        return users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzippedJson() {
+        return gzippedJson;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
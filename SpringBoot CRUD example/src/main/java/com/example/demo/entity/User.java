@@ -1,18 +1,37 @@
 package com.example.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "users") // h2 데이터베이스에서는 user를 예약어로 사용해서 user 그대로 사용하면 오류 발생.
+@Table(name = "users", // h2 데이터베이스에서는 user를 예약어로 사용해서 user 그대로 사용하면 오류 발생.
+        indexes = {
+                // 이름/이메일 앞부분 검색 + 키셋 페이지네이션 (name, id) / (email, id) 범위 스캔용
+                @Index(name = "idx_users_name_id", columnList = "name, id"),
+                @Index(name = "idx_users_email_id", columnList = "email, id")
+        })
 public class User {
 
+    // IDENTITY 는 insert 를 실행해야 id 를 알 수 있어 JDBC 배치가 꺼진다.
+    // 시퀀스를 allocationSize 만큼 한 번에 예약(pooled)하면 id 를 미리 정하고 insert 를 배치로 보낼 수 있다.
+    // SQL 로 id 없이 넣는 행도 같은 시퀀스에서 받도록 DB 기본값을 둔다. 시퀀스 값 하나는 한 번만 나오므로
+    // Hibernate 가 예약한 구간과 겹치지 않는다 (대신 SQL 로 넣은 행의 id 는 50 씩 띄엄띄엄).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
+    @ColumnDefault("next value for users_seq")
     private Long id;         // PK(기본키)
 
     private String name;
     private String email;
 
+    // 낙관적 잠금 버전: 수정이 flush 될 때마다 Hibernate 가 1 씩 올린다. 단건 ETag 로도 쓴다.
+    // SQL 로 직접 넣은 행도 0 부터 시작하도록 DB 기본값을 둔다.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // 기본 생성자
     public User() {
     }
@@ -50,4 +69,9 @@ public class User {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    // 버전은 Hibernate 가 관리하므로 setter 는 두지 않는다
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 가져오기 체크포인트: 커밋이 끝난 청크 하나.
+ * 청크의 회원 insert 와 같은 트랜잭션에 기록되므로, 재개할 때 여기 있는 청크만 건너뛰면 중복/누락이 없다.
+ */
+@Entity
+@Table(name = "user_import_chunks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_import_chunks_job_chunk", columnNames = {"job_id", "chunk_index"}))
+public class UserImportChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_import_chunks_seq")
+    @SequenceGenerator(name = "user_import_chunks_seq", sequenceName = "user_import_chunks_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    private long rowsImported;
+    private long rowsRejected;
+
+    // 기본 생성자
+    public UserImportChunk() {
+    }
+
+    public UserImportChunk(String jobId, int chunkIndex, long rowsImported, long rowsRejected) {
+        this.jobId = jobId;
+        this.chunkIndex = chunkIndex;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * CSV 가져오기 작업. 진행 상황(처리한 청크/바이트/행 수)은 청크를 커밋할 때 같은 트랜잭션에서 갱신된다.
+ */
+@Entity
+@Table(name = "user_import_jobs")
+public class UserImportJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED, INTERRUPTED
+    }
+
+    @Id
+    private String id;
+
+    @Column(nullable = false, length = 1024)
+    private String sourcePath;
+
+    @Column(length = 1024)
+    private String errorPath;
+
+    private long fileSize;
+    private long chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private int totalChunks;
+    private int completedChunks;
+    private long bytesProcessed;
+    private long rowsImported;
+    private long rowsRejected;
+
+    @Column(length = 1000)
+    private String failureReason;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // 기본 생성자
+    public UserImportJob() {
+    }
+
+    public UserImportJob(String id, String sourcePath, String errorPath, long fileSize, long chunkSize) {
+        this.id = id;
+        this.sourcePath = sourcePath;
+        this.errorPath = errorPath;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Getter/Setter 직접 구현
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    public String getErrorPath() {
+        return errorPath;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getCompletedChunks() {
+        return completedChunks;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 파일을 줄 경계에서 끊어 청크로 나눈다.
+ * 같은 파일/청크 크기면 항상 같은 경계가 나오므로, 청크 번호를 체크포인트로 써서 중간부터 재개할 수 있다.
+ * 따옴표 안의 줄바꿈은 경계로 보지 않을 수 없으므로 지원하지 않는다 (그런 행은 파서에서 거절된다).
+ */
+public final class CsvChunker {
+
+    // 2GB 를 넘는 영역은 한 번에 매핑할 수 없다
+    public static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    private static final int SCAN_BUFFER = 64 * 1024;
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+
+    private CsvChunker() {
+    }
+
+    /**
+     * @param index 0부터 시작하는 청크 번호
+     * @param start 청크 첫 바이트 위치 (줄의 시작)
+     * @param end   청크 끝 (다음 줄의 시작 또는 파일 끝, 제외)
+     */
+    public record Chunk(int index, long start, long end) {
+
+        public long length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * @param header    첫 줄(헤더)의 열 이름
+     * @param dataStart 헤더 다음 줄의 시작 위치
+     */
+    public record Layout(List<String> header, long dataStart, List<Chunk> chunks) {
+
+        public int columnIndex(String name) {
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).trim().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    public static Layout split(FileChannel channel, long chunkSize) throws IOException {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("청크 크기는 1바이트 이상 2GB 미만이어야 합니다: " + chunkSize);
+        }
+        long size = channel.size();
+        long headerEnd = nextLineStart(channel, 0, size);
+        if (headerEnd - 1 > MAX_HEADER_LENGTH) {
+            throw new IllegalArgumentException("헤더 줄이 너무 깁니다.");
+        }
+        List<String> header = readHeader(channel, headerEnd);
+
+        List<Chunk> chunks = new ArrayList<>();
+        long start = headerEnd;
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : nextLineStart(channel, start + chunkSize - 1, size);
+            chunks.add(new Chunk(chunks.size(), start, end));
+            start = end;
+        }
+        return new Layout(header, headerEnd, List.copyOf(chunks));
+    }
+
+    // from 위치부터 처음 나오는 '\n' 의 다음 위치 (없으면 파일 끝)
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static List<String> readHeader(FileChannel channel, long headerEnd) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) headerEnd);
+        channel.read(buffer, 0);
+        byte[] bytes = buffer.array();
+        int offset = 0;
+        // UTF-8 BOM (엑셀로 저장한 파일)
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            offset = 3;
+        }
+        String line = new String(bytes, offset, bytes.length - offset, StandardCharsets.UTF_8).stripTrailing();
+        List<String> header = CsvLineParser.parse(line);
+        if (header == null) {
+            throw new IllegalArgumentException("헤더 줄을 읽을 수 없습니다.");
+        }
+        return header;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 한 줄 파서 (따옴표로 감싼 필드, "" 이스케이프)
+ */
+final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    // 따옴표가 닫히지 않았으면 null
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>(4);
+        if (line.indexOf('"') < 0) {
+            int from = 0;
+            int comma;
+            while ((comma = line.indexOf(',', from)) >= 0) {
+                fields.add(line.substring(from, comma));
+                from = comma + 1;
+            }
+            fields.add(line.substring(from));
+            return fields;
+        }
+
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
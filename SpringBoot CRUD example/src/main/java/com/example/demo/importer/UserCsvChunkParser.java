@@ -0,0 +1,125 @@
+package com.example.demo.importer;
+
+import com.example.demo.entity.User;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 메모리 매핑한 청크 하나를 User 목록으로 파싱한다. 이름/이메일은 여기서 바로 검증하고,
+ * 통과하지 못한 행은 파일 내 위치와 사유를 담아 거절 목록으로 돌려준다.
+ * 청크마다 새 인스턴스를 만들어 쓰므로 스레드 안전할 필요가 없다 (ForkJoinPool 작업 하나 = 청크 하나).
+ */
+public class UserCsvChunkParser {
+
+    // users.name / users.email 컬럼 길이
+    static final int MAX_LENGTH = 255;
+
+    private final int nameColumn;
+    private final int emailColumn;
+    private final int columnCount;
+    private byte[] line = new byte[256];
+
+    public UserCsvChunkParser(int nameColumn, int emailColumn, int columnCount) {
+        this.nameColumn = nameColumn;
+        this.emailColumn = emailColumn;
+        this.columnCount = columnCount;
+    }
+
+    public record Rejected(long offset, String reason, String line) {
+    }
+
+    public record ParsedChunk(CsvChunker.Chunk chunk, List<User> users, List<Rejected> rejected) {
+    }
+
+    public ParsedChunk parse(FileChannel channel, CsvChunker.Chunk chunk) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.length());
+        // 평균 한 행 40바이트 정도로 잡아 재할당을 줄인다
+        List<User> users = new ArrayList<>((int) Math.min(chunk.length() / 40 + 16, 1 << 20));
+        List<Rejected> rejected = new ArrayList<>();
+
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int length = 0;
+            int position = lineStart;
+            while (position < limit) {
+                byte b = buffer.get(position++);
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            if (length > 0) {
+                parseLine(chunk.start() + lineStart, new String(line, 0, length, StandardCharsets.UTF_8), users, rejected);
+            }
+            lineStart = position;
+        }
+        return new ParsedChunk(chunk, users, rejected);
+    }
+
+    private void parseLine(long offset, String text, List<User> users, List<Rejected> rejected) {
+        List<String> fields = CsvLineParser.parse(text);
+        if (fields == null) {
+            rejected.add(new Rejected(offset, "따옴표가 닫히지 않았습니다.", text));
+            return;
+        }
+        if (fields.size() != columnCount) {
+            rejected.add(new Rejected(offset, "열 개수가 헤더와 다릅니다.", text));
+            return;
+        }
+        String name = fields.get(nameColumn).strip();
+        String email = fields.get(emailColumn).strip();
+        String reason = validate(name, email);
+        if (reason != null) {
+            rejected.add(new Rejected(offset, reason, text));
+            return;
+        }
+        users.add(new User(name, email));
+    }
+
+    static String validate(String name, String email) {
+        if (name.isEmpty() || email.isEmpty()) {
+            return "이름과 이메일은 필수입니다.";
+        }
+        if (name.length() > MAX_LENGTH || email.length() > MAX_LENGTH) {
+            return "이름과 이메일은 " + MAX_LENGTH + "자를 넘을 수 없습니다.";
+        }
+        if (!isEmail(email)) {
+            return "이메일 형식이 올바르지 않습니다.";
+        }
+        return null;
+    }
+
+    // local@domain.tld 형태만 확인 (정규식 없이 한 번 훑기)
+    private static boolean isEmail(String email) {
+        int at = -1;
+        int lastDot = -1;
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (Character.isWhitespace(c)) {
+                return false;
+            }
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.' && at >= 0) {
+                lastDot = i;
+            }
+        }
+        return at > 0 && lastDot > at + 1 && lastDot < email.length() - 1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.UserImportChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserImportChunkRepository extends JpaRepository<UserImportChunk, Long> {
+
+    // 재개할 때 건너뛸 (이미 커밋된) 청크 번호
+    @Query("select c.chunkIndex from UserImportChunk c where c.jobId = :jobId")
+    List<Integer> findCompletedChunkIndexes(@Param("jobId") String jobId);
+}
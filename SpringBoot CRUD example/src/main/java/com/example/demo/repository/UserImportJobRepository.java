@@ -0,0 +1,32 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.UserImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, String> {
+
+    // 청크 커밋과 같은 트랜잭션에서 진행 상황을 누적 (엔티티를 읽지 않고 한 문장으로)
+    @Modifying
+    @Query("update UserImportJob j set j.completedChunks = j.completedChunks + 1, "
+            + "j.bytesProcessed = j.bytesProcessed + :bytes, "
+            + "j.rowsImported = j.rowsImported + :imported, "
+            + "j.rowsRejected = j.rowsRejected + :rejected, "
+            + "j.updatedAt = :now "
+            + "where j.id = :id")
+    int addProgress(@Param("id") String id, @Param("bytes") long bytes, @Param("imported") long imported,
+                    @Param("rejected") long rejected, @Param("now") LocalDateTime now);
+
+    // 서버가 재시작되면 돌던 작업은 중단 상태로 (재개 API 로 이어서 실행)
+    @Modifying
+    @Query("update UserImportJob j set j.status = com.example.demo.entity.UserImportJob.Status.INTERRUPTED "
+            + "where j.status in (com.example.demo.entity.UserImportJob.Status.PENDING, "
+            + "com.example.demo.entity.UserImportJob.Status.RUNNING)")
+    int markRunningAsInterrupted();
+}
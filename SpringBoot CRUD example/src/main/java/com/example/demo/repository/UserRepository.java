@@ -1,12 +1,89 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.UserDTO;
 import com.example.demo.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 // repository == DAO
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     // 기본적인 CRUD 메서드를 자동 제공
+
+    int EXPORT_FETCH_SIZE = 1000;
+
+    // 조회 전용 쿼리는 엔티티 대신 생성자 프로젝션으로 id, name, email, version 만 읽어 바로 DTO 로 만든다.
+    // 영속성 컨텍스트에 아무것도 올라가지 않으므로 스냅샷/더티 체킹 비용이 없다.
+
+    // 조건부 요청(If-None-Match) 확인용: 버전만 읽는다
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // 낙관적 잠금 일부 수정: 먼저 읽지 않고 UPDATE ... WHERE id = ? AND version = ? 한 번으로 끝낸다.
+    // null 인 항목은 그대로 둔다. 다른 요청이 먼저 수정해 버전이 다르면 0 건.
+    @Modifying
+    @Query("update User u set u.name = coalesce(:name, u.name), u.email = coalesce(:email, u.email), "
+            + "u.version = u.version + 1 where u.id = :id and u.version = :version")
+    int updateIfVersion(@Param("id") Long id, @Param("name") String name, @Param("email") String email,
+                        @Param("version") long version);
+
+    // 조건 없는 전체 수정(PUT): 마찬가지로 읽지 않고 UPDATE 한 번으로 버전을 올린다.
+    // 버전 조건이 없으므로 동시에 들어온 PUT 끼리 낙관적 잠금 충돌 없이 나중에 커밋된 쪽이 남는다. 없는 회원이면 0 건.
+    @Modifying
+    @Query("update User u set u.name = :name, u.email = :email, u.version = u.version + 1 where u.id = :id")
+    int updateById(@Param("id") Long id, @Param("name") String name, @Param("email") String email);
+
+    // 단건 삭제: 먼저 읽지 않고 DELETE 한 번. 지운 행 수를 돌려준다 (없는 회원이면 0)
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // 읽기 모델 갱신(바뀐 id 들만 다시 읽기), 단건 조회 묶기(UserLoader)
+    @Query("select new com.example.demo.dto.UserDTO(u.id, u.name, u.email, u.version) from User u where u.id in :ids")
+    List<UserDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 키셋 페이지네이션: 마지막으로 본 id 다음부터 limit 개 (PK 범위 스캔, offset 없음)
+    @Query("select new com.example.demo.dto.UserDTO(u.id, u.name, u.email, u.version) from User u "
+            + "where u.id > :afterId order by u.id")
+    List<UserDTO> findPageAfterId(@Param("afterId") long afterId, Limit limit);
+
+    // 이름 앞부분 검색: (name, id) 인덱스에서 [afterName, upperBound) 범위만 읽는다.
+    // (name, id) > (afterName, afterId) 를 name >= afterName 과 나눠 써야 인덱스 범위 조건으로 쓰인다.
+    @Query("select new com.example.demo.dto.UserDTO(u.id, u.name, u.email, u.version) from User u "
+            + "where u.name >= :afterName and u.name < :upperBound "
+            + "and (u.name > :afterName or u.id > :afterId) "
+            + "order by u.name, u.id")
+    List<UserDTO> findPageByNamePrefix(@Param("afterName") String afterName, @Param("afterId") long afterId,
+                                    @Param("upperBound") String upperBound, Limit limit);
+
+    // 이메일 앞부분 검색: (email, id) 인덱스 범위 스캔
+    @Query("select new com.example.demo.dto.UserDTO(u.id, u.name, u.email, u.version) from User u "
+            + "where u.email >= :afterEmail and u.email < :upperBound "
+            + "and (u.email > :afterEmail or u.id > :afterId) "
+            + "order by u.email, u.id")
+    List<UserDTO> findPageByEmailPrefix(@Param("afterEmail") String afterEmail, @Param("afterId") long afterId,
+                                     @Param("upperBound") String upperBound, Limit limit);
+
+    // 일괄 삭제 전에 실제로 있는 id 만 골라낸다
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // 전체 내보내기용 스트림: 결과를 List 로 모으지 않고 커서로 fetch size 만큼씩 가져온다.
+    // 트랜잭션 안에서만 사용할 수 있고, 다 쓰면 반드시 close 해야 한다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select new com.example.demo.dto.UserDTO(u.id, u.name, u.email, u.version) from User u order by u.id")
+    Stream<UserDTO> streamAllOrderById();
 }
@@ -0,0 +1,228 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BulkResult;
+import com.example.demo.dto.UserChangeEvent;
+import com.example.demo.dto.BulkResult.Item;
+import com.example.demo.dto.BulkResult.Status;
+import com.example.demo.dto.UserDTO;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 회원 일괄 생성/수정/삭제
+ * CHUNK_SIZE 건씩 각자의 트랜잭션에서 처리하고, 청크마다 flush/clear 해서 영속성 컨텍스트가 커지지 않게 한다.
+ * 청크가 DB 오류로 실패하면 그 청크만 한 건씩 다시 실행해 실패한 항목을 골라낸다 (나머지 청크는 영향 없음).
+ */
+@Service
+public class UserBulkService {
+
+    public static final int MAX_ITEMS = 10_000;
+
+    // hibernate.jdbc.batch_size(50)의 배수
+    static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final UserReadModel userReadModel;
+    private final UserChangeFeed userChangeFeed;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserBulkService(UserRepository userRepository, UserReadModel userReadModel, UserChangeFeed userChangeFeed,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userReadModel = userReadModel;
+        this.userChangeFeed = userChangeFeed;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 일괄 생성: 시퀀스 id 를 미리 받아 insert 를 JDBC 배치로 보낸다
+    public BulkResult createUsers(List<UserDTO> users) {
+        checkSize(users);
+        Item[] items = new Item[users.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            String error = validate(users.get(i));
+            if (error != null) {
+                items[i] = Item.failed(i, null, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        run(valid, items, i -> null, chunk -> {
+            List<Item> done = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                UserDTO dto = users.get(i);
+                User user = new User(dto.getName(), dto.getEmail());
+                entityManager.persist(user);
+                done.add(Item.success(i, user.getId(), Status.CREATED));
+            }
+            return done;
+        });
+        return new BulkResult(Arrays.asList(items));
+    }
+
+    // 일괄 수정: 청크의 대상을 한 번에 조회한 뒤 변경 감지로 update 를 id 순서 배치로 보낸다
+    public BulkResult updateUsers(List<UserDTO> users) {
+        checkSize(users);
+        Item[] items = new Item[users.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            UserDTO dto = users.get(i);
+            String error = dto.getId() == null ? "id 가 필요합니다." : validate(dto);
+            if (error != null) {
+                items[i] = Item.failed(i, dto.getId(), error);
+            } else {
+                valid.add(i);
+            }
+        }
+        run(valid, items, i -> users.get(i).getId(), chunk -> {
+            Set<Long> ids = chunk.stream().map(i -> users.get(i).getId()).collect(Collectors.toSet());
+            Map<Long, User> found = userRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            List<Item> done = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                UserDTO dto = users.get(i);
+                User user = found.get(dto.getId());
+                if (user == null) {
+                    done.add(Item.failed(i, dto.getId(), "사용자를 찾을 수 없습니다. ID: " + dto.getId()));
+                    continue;
+                }
+                user.setName(dto.getName());
+                user.setEmail(dto.getEmail());
+                done.add(Item.success(i, user.getId(), Status.UPDATED));
+            }
+            return done;
+        });
+        return new BulkResult(Arrays.asList(items));
+    }
+
+    // 일괄 삭제: 청크마다 존재하는 id 를 확인하고 delete ... where id in (...) 한 문장으로 지운다
+    public BulkResult deleteUsers(List<Long> ids) {
+        checkSize(ids);
+        Item[] items = new Item[ids.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                items[i] = Item.failed(i, null, "id 가 필요합니다.");
+            } else {
+                valid.add(i);
+            }
+        }
+        run(valid, items, ids::get, chunk -> {
+            Set<Long> requested = chunk.stream().map(ids::get).collect(Collectors.toCollection(LinkedHashSet::new));
+            Set<Long> existing = new HashSet<>(userRepository.findExistingIds(requested));
+            if (!existing.isEmpty()) {
+                userRepository.deleteAllByIdInBatch(existing);
+            }
+            List<Item> done = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                Long id = ids.get(i);
+                done.add(existing.contains(id)
+                        ? Item.success(i, id, Status.DELETED)
+                        : Item.failed(i, id, "사용자를 찾을 수 없습니다. ID: " + id));
+            }
+            return done;
+        });
+        return new BulkResult(Arrays.asList(items));
+    }
+
+    private void run(List<Integer> indexes, Item[] items, Function<Integer, Long> idOf,
+                     Function<List<Integer>, List<Item>> work) {
+        for (int from = 0; from < indexes.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + CHUNK_SIZE, indexes.size()));
+            try {
+                collect(items, inTransaction(chunk, work));
+            } catch (RuntimeException e) {
+                // 청크 전체가 롤백됐으므로 한 건씩 다시 실행해 실패한 항목만 실패로 기록
+                for (int i : chunk) {
+                    try {
+                        collect(items, inTransaction(List.of(i), work));
+                    } catch (RuntimeException rowError) {
+                        items[i] = Item.failed(i, idOf.apply(i), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Item> inTransaction(List<Integer> chunk, Function<List<Integer>, List<Item>> work) {
+        return transactionTemplate.execute(status -> {
+            List<Item> done = work.apply(chunk);
+            // 배치를 지금 보낸다
+            entityManager.flush();
+            List<Long> ids = done.stream()
+                    .filter(item -> item.getStatus() != Status.FAILED)
+                    .map(Item::getId)
+                    .toList();
+            userReadModel.refreshAfterCommit(ids);
+            publishAfterCommit(done, ids);
+            // 이벤트에 담을 엔티티를 꺼낸 뒤 영속성 컨텍스트를 비운다 (다음 청크는 빈 컨텍스트에서 시작)
+            entityManager.clear();
+            return done;
+        });
+    }
+
+    // 청크의 성공 항목은 모두 같은 종류(생성/수정/삭제). 생성/수정은 flush 로 버전까지 반영된 관리 엔티티를 그대로 담는다 (추가 조회 없음)
+    private void publishAfterCommit(List<Item> done, List<Long> ids) {
+        Status status = done.stream().map(Item::getStatus).filter(itemStatus -> itemStatus != Status.FAILED).findFirst().orElse(null);
+        if (status == null) {
+            return;
+        }
+        if (status == Status.DELETED) {
+            userChangeFeed.publishDeletedAfterCommit(ids);
+            return;
+        }
+        List<UserDTO> users = ids.stream()
+                .map(id -> entityManager.find(User.class, id))
+                .map(user -> new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getVersion()))
+                .toList();
+        userChangeFeed.publishAfterCommit(UserChangeEvent.Type.valueOf(status.name()), users);
+    }
+
+    private static void collect(Item[] items, List<Item> done) {
+        for (Item item : done) {
+            items[item.getIndex()] = item;
+        }
+    }
+
+    private static void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "요청 항목이 비어 있습니다.");
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "한 번에 최대 " + MAX_ITEMS + "건까지 처리할 수 있습니다.");
+        }
+    }
+
+    private static String validate(UserDTO dto) {
+        if (dto == null || isBlank(dto.getName()) || isBlank(dto.getEmail())) {
+            return "이름과 이메일은 필수입니다.";
+        }
+        if (dto.getEmail().indexOf('@') < 1) {
+            return "이메일 형식이 올바르지 않습니다.";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserChangeEvent;
+import com.example.demo.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 회원 변경 스트림 (GET /api/users/stream, Server-Sent Events)
+ *
+ * 회원 쓰기 트랜잭션이 커밋되면 생성/수정/삭제 이벤트를 만들어 최근 이벤트 링 버퍼(app.user-stream.history)에 넣고
+ * 구독자들에게 보낸다. data(JSON)는 이벤트마다 한 번만 직렬화해 모든 구독자가 같이 쓴다.
+ * 이벤트 id 는 "기동 epoch-순번"이다. 재접속할 때 Last-Event-ID 를 보내면 링에 남아 있는 이후 이벤트부터 이어서 보내고,
+ * 링에서 이미 밀려났거나 재시작 전 id 면 reset 이벤트를 보낸다 (그때만 목록을 다시 읽으면 된다).
+ *
+ * 구독자마다 크기가 제한된 큐(app.user-stream.subscriber-buffer)를 두고 발송 스레드가 비운다. 발행하는 쪽은 큐에 넣기만 하므로
+ * 느린 구독자가 쓰기 요청을 붙잡지 않는다. 큐가 가득 차면 app.user-stream.overflow 에 따라
+ * 가장 오래된 이벤트를 버리거나(drop-oldest, 이벤트 id 에 빈 곳이 생긴다) 연결을 끊는다(disconnect, 클라이언트는
+ * Last-Event-ID 로 재접속해 링에서 이어받는다).
+ *
+ * 발송 스레드는 한 번에 한 구독자에게 EVENTS_PER_TURN 건까지만 보내고 다음 차례로 넘겨, 밀린 구독자가 스레드를 독차지하지 않는다.
+ * send 는 블로킹 쓰기라 받지 않는 클라이언트에서 멈출 수 있다. 한 번의 send 가 app.user-stream.send-timeout 을 넘기면
+ * 그 구독자를 목록에서 빼고(더 보내지 않는다), 멈춘 스레드 몫만큼 발송 풀을 늘려 다른 구독자는 계속 받게 한다.
+ * 멈춘 send 가 끝나면(클라이언트가 다시 받거나 소켓 쓰기 타임아웃) 연결을 닫고 풀을 원래대로 줄인다.
+ */
+@Component
+public class UserChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeFeed.class);
+
+    public enum Overflow {
+        DROP_OLDEST, DISCONNECT
+    }
+
+    // 링 버퍼에 담는 이벤트 (data 는 미리 직렬화한 JSON)
+    record Event(long seq, String name, String data) {
+    }
+
+    // 큐가 비어 있을 때만 넣는 연결 유지용 주석 (끊긴 연결도 이걸 보내다 알아챈다)
+    private static final Event HEARTBEAT = new Event(-1, null, null);
+
+    // 한 구독자에게 한 차례에 보내는 최대 이벤트 수
+    static final int EVENTS_PER_TURN = 32;
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Overflow overflow;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // 링 버퍼와 구독자 목록은 lock 으로 함께 보호 (구독 시 이어받을 이벤트와 새 이벤트 사이에 빈틈이 없게)
+    private final Object lock = new Object();
+    private final Event[] history;
+    private long lastSeq;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private final ThreadPoolExecutor sender;
+    // 멈춘 send 때문에 늘린 발송 스레드 수 조정은 한 번에 하나씩
+    private final Object senderLock = new Object();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("user-stream-heartbeat"));
+
+    public UserChangeFeed(ObjectMapper objectMapper,
+                          @Value("${app.user-stream.history:1000}") int historySize,
+                          @Value("${app.user-stream.subscriber-buffer:256}") int bufferSize,
+                          @Value("${app.user-stream.overflow:drop-oldest}") Overflow overflow,
+                          @Value("${app.user-stream.timeout:30m}") Duration timeout,
+                          @Value("${app.user-stream.heartbeat:15s}") Duration heartbeatInterval,
+                          @Value("${app.user-stream.sender-threads:4}") int senderThreads,
+                          @Value("${app.user-stream.send-timeout:10s}") Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.history = new Event[Math.max(1, historySize)];
+        this.bufferSize = Math.max(1, bufferSize);
+        this.overflow = overflow;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        int threads = Math.max(1, senderThreads);
+        this.sender = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                daemon("user-stream"));
+        long interval = heartbeatInterval.toMillis();
+        if (interval > 0) {
+            heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        // 멈춘 send 는 제한 시간의 절반 간격으로 확인한다 (늦어도 제한 시간의 1.5 배 안에 찾는다)
+        long check = Math.max(1, sendTimeout.toMillis() / 2);
+        if (sendTimeoutNanos > 0) {
+            heartbeat.scheduleAtFixedRate(this::dropStalledSubscribers, check, check, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    /**
+     * 새 구독. lastEventId 가 있으면 링에 남은 그 이후 이벤트부터 보낸다.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        synchronized (lock) {
+            List<Event> replay = replayAfter(lastEventId);
+            subscribers.add(subscriber);
+            if (replay == null) {
+                subscriber.replay(List.of(new Event(lastSeq, "reset", "{\"type\":\"RESET\"}")));
+            } else {
+                subscriber.replay(replay);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 생성/수정 이벤트를 발행한다 (트랜잭션 밖이면 바로). 롤백되면 발행하지 않는다.
+     * users 는 같은 트랜잭션에서 쓴 회원 상태다. 커밋 뒤에 DB 를 다시 읽지 않으므로 afterCommit 에서 커넥션을 더 잡지 않고,
+     * 그 사이 다른 요청이 먼저 바꿨더라도 이 커밋이 만든 상태가 그대로 나간다.
+     */
+    public void publishAfterCommit(UserChangeEvent.Type type, Collection<UserDTO> users) {
+        publishAfterCommit(users.stream()
+                .map(user -> new UserChangeEvent(type, user.getId(), user))
+                .toList());
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 삭제 이벤트를 발행한다
+    public void publishDeletedAfterCommit(Collection<Long> ids) {
+        publishAfterCommit(ids.stream()
+                .map(id -> new UserChangeEvent(UserChangeEvent.Type.DELETED, id, null))
+                .toList());
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 가져오기 청크 하나의 요약 이벤트를 발행한다.
+     * 행마다 보내면 청크 하나로 구독자 버퍼와 링이 넘치므로 한 건으로 알리고, 받은 쪽이 구간을 다시 읽는다
+     */
+    public void publishImportedAfterCommit(String jobId, int count, long fromId, long toId) {
+        if (count > 0) {
+            publishAfterCommit(List.of(UserChangeEvent.imported(jobId, count, fromId, toId)));
+        }
+    }
+
+    private void publishAfterCommit(List<UserChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(events);
+                }
+            });
+        } else {
+            publish(events);
+        }
+    }
+
+    int subscriberCount() {
+        synchronized (lock) {
+            return subscribers.size();
+        }
+    }
+
+    // 직렬화와 큐에 넣기만 한다 (DB 를 읽지 않고, 예외를 밖으로 던지지 않는다)
+    void publish(List<UserChangeEvent> events) {
+        try {
+            List<String> data = new ArrayList<>(events.size());
+            for (UserChangeEvent event : events) {
+                data.add(objectMapper.writeValueAsString(event));
+            }
+            List<Subscriber> overflowed = new ArrayList<>();
+            synchronized (lock) {
+                for (int i = 0; i < data.size(); i++) {
+                    Event event = new Event(++lastSeq, events.get(i).getType().name().toLowerCase(), data.get(i));
+                    history[(int) (event.seq() % history.length)] = event;
+                    for (Subscriber subscriber : subscribers) {
+                        if (!subscriber.offer(event)) {
+                            overflowed.add(subscriber);
+                        }
+                    }
+                }
+                subscribers.removeAll(overflowed);
+            }
+            overflowed.forEach(Subscriber::disconnect);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 커밋은 이미 끝났으므로 요청을 실패시키지 않는다
+            log.warn("회원 변경 이벤트 발행 실패: {}건", events.size(), e);
+        }
+    }
+
+    // lastEventId 이후 이벤트. 이어받을 수 없으면 null (reset)
+    private List<Event> replayAfter(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = Math.max(1, lastSeq - history.length + 1);
+        if (after > lastSeq || after < oldest - 1) {
+            return null;
+        }
+        List<Event> replay = new ArrayList<>((int) (lastSeq - after));
+        for (long seq = after + 1; seq <= lastSeq; seq++) {
+            replay.add(history[(int) (seq % history.length)]);
+        }
+        return replay;
+    }
+
+    private void remove(Subscriber subscriber) {
+        synchronized (lock) {
+            subscribers.remove(subscriber);
+        }
+        subscriber.close();
+    }
+
+    private void sendHeartbeats() {
+        synchronized (lock) {
+            subscribers.forEach(Subscriber::heartbeat);
+        }
+    }
+
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        synchronized (lock) {
+            subscribers.removeIf(subscriber -> subscriber.markStalled(now));
+        }
+    }
+
+    // 멈춘 send 가 쥐고 있는 스레드만큼 발송 풀을 늘리고 줄인다 (늘릴 때는 최대값 먼저, 줄일 때는 기본값 먼저)
+    private void resizeSender(int delta) {
+        synchronized (senderLock) {
+            int threads = sender.getCorePoolSize() + delta;
+            if (delta > 0) {
+                sender.setMaximumPoolSize(threads);
+                sender.setCorePoolSize(threads);
+            } else {
+                sender.setCorePoolSize(threads);
+                sender.setMaximumPoolSize(threads);
+            }
+        }
+    }
+
+    String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    /**
+     * 구독자 하나: 크기 제한 큐 + 발송 스레드에서 비우기 (한 구독자에게는 한 번에 한 스레드만 보낸다)
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        // 진행 중인 send 의 시작 시각 (보내는 중이 아니면 0)
+        private long sendingSince;
+        // send 가 제한 시간을 넘겨 발송 풀을 하나 늘려 둔 상태
+        private boolean stalled;
+        // 보내는 중에 끊기로 했으면 send 가 끝난 뒤 닫는다 (send 중에는 emitter 가 잠겨 있어 다른 스레드가 닫으면 같이 멈춘다)
+        private boolean completeAfterSend;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // 이어받을 이벤트는 버퍼 크기와 상관없이 모두 넣는다
+        synchronized void replay(List<Event> events) {
+            queue.addAll(events);
+            schedule();
+        }
+
+        // false 면 넘쳐서 닫혔다 (연결을 끊어야 한다)
+        synchronized boolean offer(Event event) {
+            if (closed) {
+                return true;
+            }
+            if (queue.size() >= bufferSize) {
+                if (overflow == Overflow.DISCONNECT) {
+                    close();
+                    return false;
+                }
+                queue.pollFirst();
+            }
+            queue.addLast(event);
+            schedule();
+            return true;
+        }
+
+        synchronized void heartbeat() {
+            if (!closed && queue.isEmpty()) {
+                queue.addLast(HEARTBEAT);
+                schedule();
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        // 넘쳐서 닫힌 구독자의 연결을 끊는다. 보내는 중이면 그 send 가 끝난 뒤 발송 스레드가 닫는다
+        void disconnect() {
+            synchronized (this) {
+                if (sendingSince != 0) {
+                    completeAfterSend = true;
+                    return;
+                }
+            }
+            sender.execute(emitter::complete);
+        }
+
+        // 진행 중인 send 가 제한 시간을 넘겼으면 닫고 발송 풀을 하나 늘린다. true 면 목록에서 뺄 것
+        synchronized boolean markStalled(long now) {
+            if (stalled || sendingSince == 0 || now - sendingSince < sendTimeoutNanos) {
+                return false;
+            }
+            log.warn("회원 변경 스트림 구독자가 {}ms 동안 받지 않아 구독을 끊습니다.", TimeUnit.NANOSECONDS.toMillis(now - sendingSince));
+            stalled = true;
+            completeAfterSend = true;
+            close();
+            resizeSender(1);
+            return true;
+        }
+
+        private void schedule() {
+            if (!draining && !queue.isEmpty()) {
+                draining = true;
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            for (int sent = 0; ; sent++) {
+                Event event;
+                synchronized (this) {
+                    if (closed || queue.isEmpty()) {
+                        draining = false;
+                        return;
+                    }
+                    if (sent == EVENTS_PER_TURN) {
+                        // 남은 이벤트는 다른 구독자들 뒤에서 다시 보낸다
+                        sender.execute(this::drain);
+                        return;
+                    }
+                    event = queue.pollFirst();
+                    sendingSince = System.nanoTime();
+                }
+                boolean failed = false;
+                try {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(eventId(event.seq()))
+                                .name(event.name())
+                                .data(event.data(), MediaType.APPLICATION_JSON));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트가 끊었거나 이미 끝난 연결
+                    failed = true;
+                }
+                boolean complete;
+                synchronized (this) {
+                    sendingSince = 0;
+                    complete = completeAfterSend;
+                    if (stalled) {
+                        stalled = false;
+                        resizeSender(-1);
+                    }
+                    if (failed || complete) {
+                        draining = false;
+                    }
+                }
+                if (failed) {
+                    remove(this);
+                    return;
+                }
+                if (complete) {
+                    emitter.complete();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
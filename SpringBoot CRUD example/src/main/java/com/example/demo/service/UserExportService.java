@@ -0,0 +1,171 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserDTO;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 회원 전체 내보내기
+ * 행을 하나씩 읽어 바로 응답 스트림에 쓰므로 테이블 크기와 상관없이 힙 사용량이 일정하다.
+ */
+@Service
+public class UserExportService {
+
+    // 이 행 수마다 클라이언트로 flush
+    static final int FLUSH_EVERY = UserRepository.EXPORT_FETCH_SIZE;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public UserExportService(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * id 순서로 모든 회원을 out 에 쓴다. 스트림이 열려 있는 동안 트랜잭션(커넥션)을 잡고 있는다.
+     * DTO 프로젝션이라 영속성 컨텍스트에 엔티티가 쌓이지 않으므로 중간에 clear 할 필요가 없다.
+     *
+     * @return 내보낸 행 수
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        try (Stream<UserDTO> users = userRepository.streamAllOrderById()) {
+            RowWriter writer = format == Format.CSV ? new CsvRowWriter(buffered) : new NdjsonRowWriter(buffered);
+            long count = 0;
+            Iterator<UserDTO> it = users.iterator();
+            while (it.hasNext()) {
+                writer.write(it.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            return count;
+        }
+    }
+
+    private interface RowWriter {
+        void write(UserDTO user) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    // 한 줄에 JSON 객체 하나 - 행마다 DTO/문자열을 만들지 않고 생성기로 바로 쓴다
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final OutputStream out;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.out = out;
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            // 응답 스트림은 컨테이너가 닫는다
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(UserDTO user) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("name", user.getName());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+            out.flush();
+        }
+    }
+
+    // RFC 4180 CSV (헤더 포함)
+    private static class CsvRowWriter implements RowWriter {
+
+        private final OutputStream out;
+        private final StringBuilder line = new StringBuilder(128);
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.out = out;
+            out.write("id,name,email\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public void write(UserDTO user) throws IOException {
+            line.setLength(0);
+            line.append(user.getId()).append(',');
+            appendField(user.getName());
+            line.append(',');
+            appendField(user.getEmail());
+            line.append("\r\n");
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void appendField(String value) {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
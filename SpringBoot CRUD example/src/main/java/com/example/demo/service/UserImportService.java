@@ -0,0 +1,291 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserImportStatus;
+import com.example.demo.entity.User;
+import com.example.demo.entity.UserImportChunk;
+import com.example.demo.entity.UserImportJob;
+import com.example.demo.importer.CsvChunker;
+import com.example.demo.importer.UserCsvChunkParser;
+import com.example.demo.importer.UserCsvChunkParser.ParsedChunk;
+import com.example.demo.importer.UserCsvChunkParser.Rejected;
+import com.example.demo.repository.UserImportChunkRepository;
+import com.example.demo.repository.UserImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 대용량 CSV 회원 가져오기
+ *
+ * 1. 파일을 줄 경계에서 청크로 나눈다 (CsvChunker).
+ * 2. 청크마다 메모리 매핑 후 ForkJoinPool 에서 병렬로 파싱/검증한다 (UserCsvChunkParser).
+ * 3. 파싱 결과는 크기가 제한된 큐를 거쳐 하나의 쓰기 스레드가 청크 단위 트랜잭션으로 배치 insert 한다.
+ *    큐에 들어갈 자리(세마포어)를 얻어야 다음 청크 파싱을 시작하므로 메모리에 올라가는 청크 수가 제한된다.
+ * 4. 청크를 커밋할 때 같은 트랜잭션에 체크포인트(UserImportChunk)와 진행 상황을 기록한다.
+ *    중단된 작업을 재개하면 체크포인트가 있는 청크는 건너뛴다.
+ * 거절된 행은 {작업 id}.errors.csv 에 (파일 내 위치, 사유, 원본 줄) 로 남긴다.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    // 청크 트랜잭션 안에서 영속성 컨텍스트를 비우는 간격 (hibernate.jdbc.batch_size 의 배수)
+    static final int FLUSH_EVERY = 1000;
+
+    private final UserImportJobRepository jobRepository;
+    private final UserImportChunkRepository chunkRepository;
+    private final UserReadModel userReadModel;
+    private final UserChangeFeed userChangeFeed;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Path importDir;
+    private final long chunkSize;
+    private final int parallelism;
+    private final int queueCapacity;
+    // 가져오기는 한 번에 하나씩 (DB 쓰기가 병목이므로 작업끼리 경쟁시키지 않는다)
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "user-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserImportService(UserImportJobRepository jobRepository,
+                             UserImportChunkRepository chunkRepository,
+                             UserReadModel userReadModel,
+                             UserChangeFeed userChangeFeed,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.import.dir:./imports}") String importDir,
+                             @Value("${app.import.chunk-size:4MB}") DataSize chunkSize,
+                             @Value("${app.import.parallelism:0}") int parallelism,
+                             @Value("${app.import.queue-capacity:4}") int queueCapacity) throws IOException {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.userReadModel = userReadModel;
+        this.userChangeFeed = userChangeFeed;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importDir = Files.createDirectories(Path.of(importDir)).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize.toBytes();
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    // 서버가 내려가며 멈춘 작업은 INTERRUPTED 로 바꿔 두고 재개 API 로 이어서 실행한다
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        Integer interrupted = transactionTemplate.execute(status -> jobRepository.markRunningAsInterrupted());
+        if (interrupted != null && interrupted > 0) {
+            log.info("중단된 가져오기 작업 {}건", interrupted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    // 업로드한 파일을 가져오기 디렉터리에 저장한 뒤 가져오기 시작
+    public UserImportStatus startUpload(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "빈 파일입니다.");
+        }
+        String id = UUID.randomUUID().toString();
+        Path target = importDir.resolve(id + ".csv");
+        try {
+            file.transferTo(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return start(id, target);
+    }
+
+    // 서버에 있는 파일 가져오기 (가져오기 디렉터리 밖의 경로는 거절)
+    public UserImportStatus startLocal(String path) {
+        Path source = importDir.resolve(path).toAbsolutePath().normalize();
+        if (!source.startsWith(importDir) || !Files.isRegularFile(source)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "가져오기 디렉터리 안의 파일만 지정할 수 있습니다: " + path);
+        }
+        return start(UUID.randomUUID().toString(), source);
+    }
+
+    public UserImportStatus getStatus(String id) {
+        return new UserImportStatus(findJob(id));
+    }
+
+    // 실패/중단된 작업을 마지막 체크포인트부터 이어서 실행
+    public UserImportStatus resume(String id) {
+        UserImportJob job = transactionTemplate.execute(status -> {
+            UserImportJob found = findJob(id);
+            if (found.getStatus() != UserImportJob.Status.FAILED && found.getStatus() != UserImportJob.Status.INTERRUPTED) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "재개할 수 없는 상태입니다: " + found.getStatus());
+            }
+            found.setStatus(UserImportJob.Status.PENDING);
+            found.setFailureReason(null);
+            return found;
+        });
+        runner.execute(() -> run(id));
+        return new UserImportStatus(job);
+    }
+
+    private UserImportStatus start(String id, Path source) {
+        Path errorPath = importDir.resolve(id + ".errors.csv");
+        UserImportJob job;
+        try {
+            Files.writeString(errorPath, "offset,reason,line\r\n", StandardCharsets.UTF_8);
+            job = new UserImportJob(id, source.toString(), errorPath.toString(), Files.size(source), chunkSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jobRepository.save(job);
+        runner.execute(() -> run(id));
+        return new UserImportStatus(job);
+    }
+
+    private UserImportJob findJob(String id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "가져오기 작업을 찾을 수 없습니다. ID: " + id));
+    }
+
+    private void run(String jobId) {
+        UserImportJob job = findJob(jobId);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(Path.of(job.getSourcePath()), StandardOpenOption.READ);
+             BufferedWriter errors = Files.newBufferedWriter(Path.of(job.getErrorPath()), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (channel.size() != job.getFileSize()) {
+                throw new IllegalStateException("원본 파일이 변경되었습니다.");
+            }
+            CsvChunker.Layout layout = CsvChunker.split(channel, job.getChunkSize());
+            int nameColumn = layout.columnIndex("name");
+            int emailColumn = layout.columnIndex("email");
+            if (nameColumn < 0 || emailColumn < 0) {
+                throw new IllegalArgumentException("헤더에 name, email 열이 필요합니다.");
+            }
+            updateJob(jobId, UserImportJob.Status.RUNNING, layout.chunks().size(), null);
+
+            Set<Integer> completed = new HashSet<>(chunkRepository.findCompletedChunkIndexes(jobId));
+            List<CsvChunker.Chunk> pending = layout.chunks().stream()
+                    .filter(chunk -> !completed.contains(chunk.index()))
+                    .toList();
+
+            BlockingQueue<Object> parsed = new ArrayBlockingQueue<>(queueCapacity);
+            Semaphore slots = new Semaphore(queueCapacity);
+            int submitted = 0;
+            for (int written = 0; written < pending.size(); written++) {
+                // 큐 자리가 있는 만큼만 파싱을 미리 시작 -> 큐 put 이 막히지 않고 메모리도 제한된다
+                while (submitted < pending.size() && slots.tryAcquire()) {
+                    CsvChunker.Chunk chunk = pending.get(submitted++);
+                    pool.execute(() -> parsed.add(parseChunk(channel, chunk, nameColumn, emailColumn, layout.header().size())));
+                }
+                Object result = parsed.take();
+                if (result instanceof Throwable error) {
+                    throw error;
+                }
+                writeChunk(jobId, (ParsedChunk) result, errors);
+                slots.release();
+            }
+            updateJob(jobId, UserImportJob.Status.COMPLETED, layout.chunks().size(), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            updateJob(jobId, UserImportJob.Status.INTERRUPTED, null, "서버 종료로 중단되었습니다.");
+        } catch (Throwable e) {
+            log.warn("가져오기 실패 (작업 {})", jobId, e);
+            updateJob(jobId, UserImportJob.Status.FAILED, null, String.valueOf(e.getMessage()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Object parseChunk(FileChannel channel, CsvChunker.Chunk chunk, int nameColumn, int emailColumn,
+                                     int columnCount) {
+        try {
+            return new UserCsvChunkParser(nameColumn, emailColumn, columnCount).parse(channel, chunk);
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+
+    // 청크 하나를 한 트랜잭션으로: 회원 배치 insert + 체크포인트 + 진행 상황 (커밋되면 청크 요약 이벤트 한 건)
+    private void writeChunk(String jobId, ParsedChunk result, BufferedWriter errors) throws IOException {
+        // 거절 행을 먼저 기록 - 커밋 직전에 죽으면 재개 때 같은 줄이 한 번 더 남을 수는 있어도 빠지지는 않는다
+        for (Rejected rejected : result.rejected()) {
+            errors.write(rejected.offset() + "," + csvField(rejected.reason()) + "," + csvField(rejected.line()) + "\r\n");
+        }
+        errors.flush();
+
+        CsvChunker.Chunk chunk = result.chunk();
+        transactionTemplate.executeWithoutResult(status -> {
+            int count = 0;
+            List<Long> ids = new ArrayList<>(result.users().size());
+            long fromId = Long.MAX_VALUE;
+            long toId = Long.MIN_VALUE;
+            for (User user : result.users()) {
+                entityManager.persist(user);
+                ids.add(user.getId());
+                fromId = Math.min(fromId, user.getId());
+                toId = Math.max(toId, user.getId());
+                if (++count % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.persist(new UserImportChunk(jobId, chunk.index(), result.users().size(), result.rejected().size()));
+            entityManager.flush();
+            entityManager.clear();
+            // 첫 청크는 헤더 줄까지 처리한 것으로 센다 (다 끝나면 파일 크기와 같아지도록)
+            long bytes = chunk.index() == 0 ? chunk.end() : chunk.length();
+            jobRepository.addProgress(jobId, bytes, result.users().size(), result.rejected().size(), LocalDateTime.now());
+            userReadModel.refreshAfterCommit(ids);
+            userChangeFeed.publishImportedAfterCommit(jobId, ids.size(), fromId, toId);
+        });
+    }
+
+    private void updateJob(String jobId, UserImportJob.Status status, Integer totalChunks, String failureReason) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            UserImportJob job = findJob(jobId);
+            job.setStatus(status);
+            if (totalChunks != null) {
+                job.setTotalChunks(totalChunks);
+            }
+            job.setFailureReason(failureReason);
+        });
+    }
+
+    private static String csvField(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
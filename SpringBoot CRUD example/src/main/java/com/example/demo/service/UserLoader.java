@@ -0,0 +1,249 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserDTO;
+import com.example.demo.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 회원 단건 조회 묶기 (DataLoader 방식)
+ *
+ * 1. 같은 id 를 창이 열려 있는 동안 동시에 조회하면 예약된 조회 하나를 함께 기다린다 (single-flight).
+ * 2. 서로 다른 id 라도 app.user-loader.window 안에 들어오면 모아서 WHERE id IN (...) 한 번으로 조회한다.
+ *    첫 id 가 들어올 때 창이 열리고, 창이 닫히거나 max-batch-size 만큼 모이면 바로 보낸다.
+ * 결과를 캐시하지는 않는다. 묶음을 보낼 때 예약 목록에서 빼므로, 이미 보낸(쿼리가 시작됐을 수 있는) 조회에는
+ * 붙지 않고 새로 조회한다. 그래서 방금 커밋한 쓰기를 그 전에 시작된 조회 결과로 덮어 읽지 않는다.
+ * 기다리는 시간은 app.user-loader.timeout 까지다. 넘으면 503 (조회 스레드나 커넥션이 막힌 경우 요청을 붙잡아 두지 않게)
+ */
+@Component
+public class UserLoader {
+
+    // 창이 열려 있는 동안 모으는 id 묶음
+    private static final class Batch {
+        final List<Long> ids = new ArrayList<>();
+    }
+
+    // ids -> 찾은 회원 (IN 쿼리 한 번)
+    private final Function<List<Long>, List<UserDTO>> query;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final long timeoutNanos;
+
+    // id -> 아직 보내지 않은 묶음에 예약된 조회 (없는 회원이면 null 로 완료)
+    private final Map<Long, CompletableFuture<UserDTO>> inFlight = new ConcurrentHashMap<>();
+    private final Object batchLock = new Object();
+    private Batch current;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemon("user-loader-timer"));
+    private final ExecutorService fetcher;
+
+    @Autowired
+    public UserLoader(UserRepository userRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${app.user-loader.window:200us}") Duration window,
+                      @Value("${app.user-loader.max-batch-size:500}") int maxBatchSize,
+                      @Value("${app.user-loader.threads:4}") int threads,
+                      @Value("${app.user-loader.timeout:5s}") Duration timeout) {
+        this(readOnly(transactionManager, userRepository), window, maxBatchSize, threads, timeout);
+    }
+
+    // 조회 함수를 직접 받는 생성자 (테스트에서 조회 시점을 제어할 때)
+    UserLoader(Function<List<Long>, List<UserDTO>> query, Duration window, int maxBatchSize, int threads,
+               Duration timeout) {
+        this.query = query;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timeoutNanos = timeout.toNanos();
+        this.fetcher = Executors.newFixedThreadPool(Math.max(1, threads), daemon("user-loader"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        fetcher.shutdownNow();
+    }
+
+    /**
+     * id 한 건 조회 예약. 없는 회원이면 null 로 완료된다.
+     */
+    public CompletableFuture<UserDTO> load(long id) {
+        List<Long> created = new ArrayList<>(1);
+        CompletableFuture<UserDTO> future = reserve(id, created);
+        enqueue(created);
+        return future;
+    }
+
+    // 조회가 끝날 때까지 기다린다 (최대 timeout). 없는 회원이면 null
+    public UserDTO get(long id) {
+        return await(load(id), System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * 여러 id 를 한꺼번에 예약하고 기다린다. 결과는 찾은 회원만, 요청 순서대로 (중복 id 는 한 번)
+     */
+    public Map<Long, UserDTO> getAll(Collection<Long> ids) {
+        Map<Long, CompletableFuture<UserDTO>> futures = new LinkedHashMap<>();
+        List<Long> created = new ArrayList<>();
+        for (Long id : ids) {
+            futures.computeIfAbsent(id, key -> reserve(key, created));
+        }
+        // 새로 예약한 id 는 한꺼번에 같은 묶음에 넣는다
+        enqueue(created);
+        long deadline = System.nanoTime() + timeoutNanos;
+        Map<Long, UserDTO> found = new LinkedHashMap<>();
+        futures.forEach((id, future) -> {
+            UserDTO user = await(future, deadline);
+            if (user != null) {
+                found.put(id, user);
+            }
+        });
+        return found;
+    }
+
+    // 아직 보내지 않은 예약이 있으면 그것을, 없으면 새 future 를 만들어 created 에 id 를 더한다
+    private CompletableFuture<UserDTO> reserve(long id, List<Long> created) {
+        CompletableFuture<UserDTO> existing = inFlight.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<UserDTO> future = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(id, future);
+        if (existing != null) {
+            return existing;
+        }
+        created.add(id);
+        return future;
+    }
+
+    private void enqueue(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Batch> full = new ArrayList<>();
+        synchronized (batchLock) {
+            for (Long id : ids) {
+                if (current == null) {
+                    current = new Batch();
+                    if (windowNanos > 0) {
+                        Batch opened = current;
+                        timer.schedule(() -> flush(opened), windowNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+                current.ids.add(id);
+                if (current.ids.size() >= maxBatchSize) {
+                    full.add(current);
+                    current = null;
+                }
+            }
+            if (windowNanos <= 0 && current != null) {
+                full.add(current);
+                current = null;
+            }
+        }
+        full.forEach(this::dispatch);
+    }
+
+    // 열려 있는 창을 지금 닫고 모인 id 를 보낸다 (테스트용)
+    void flush() {
+        Batch batch;
+        synchronized (batchLock) {
+            batch = current;
+        }
+        if (batch != null) {
+            flush(batch);
+        }
+    }
+
+    // 창이 닫혔을 때: 그 사이 가득 차서 이미 보낸 묶음이면 무시
+    private void flush(Batch batch) {
+        synchronized (batchLock) {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        }
+        dispatch(batch);
+    }
+
+    // 보내는 순간 예약 목록에서 뺀다 (이후 요청은 이 조회에 붙지 않고 새 묶음으로 간다)
+    private void dispatch(Batch batch) {
+        Map<Long, CompletableFuture<UserDTO>> futures = new HashMap<>();
+        batch.ids.forEach(id -> futures.put(id, inFlight.remove(id)));
+        try {
+            fetcher.execute(() -> fetch(futures));
+        } catch (RuntimeException e) {
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void fetch(Map<Long, CompletableFuture<UserDTO>> futures) {
+        Map<Long, UserDTO> found = new HashMap<>();
+        try {
+            query.apply(List.copyOf(futures.keySet())).forEach(user -> found.put(user.getId(), user));
+        } catch (RuntimeException e) {
+            futures.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        futures.forEach((id, future) -> future.complete(found.get(id)));
+    }
+
+    // deadline 까지 기다린다. 넘으면 503 (조회는 계속 진행되지만 이 요청은 더 기다리지 않는다)
+    private static UserDTO await(CompletableFuture<UserDTO> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "회원 조회가 지연되고 있습니다. 잠시 후 다시 시도하세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "회원 조회가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 읽기 전용 트랜잭션에서 IN 쿼리
+    private static Function<List<Long>, List<UserDTO>> readOnly(PlatformTransactionManager transactionManager,
+                                                                UserRepository userRepository) {
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        return ids -> readTransaction.execute(status -> userRepository.findDtosByIdIn(ids));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,391 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserDTO;
+import com.example.demo.dto.UserPage;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 회원 목록 읽기 모델 (메모리)
+ * 필터 없는 id 순서 목록을 불변 스냅샷(UserSnapshot)으로 들고 있다가, 쓰기가 커밋되면 바뀐 id 만 갱신 스레드 하나가
+ * DB 에서 다시 읽어 새 스냅샷을 만들어 통째로 교체한다. 커밋한 요청은 id 를 넘기기만 하므로 커넥션을 쥔 채
+ * 두 번째 커넥션을 기다리지 않는다. 갱신이 끝나기 전까지는 목록과 그 id 의 조회를 DB 에서 읽어, 방금 커밋한
+ * 쓰기가 바로 보인다. 읽기는 현재 스냅샷 참조만 읽으므로 잠금이 없고, 회원마다 JSON 을 미리
+ * 직렬화해 두었다가 이어 붙이기만 하므로 DB 조회도 직렬화도 하지 않는다. 같은 스냅샷에서 한 번 만든 페이지는
+ * (gzip 본까지) 캐시해 둔다.
+ * 회원 수가 app.read-model.max-users 를 넘으면 메모리를 아끼기 위해 끄고 DB 에서 읽는다.
+ *
+ * 커밋된 쓰기마다 데이터 버전(목록 ETag)을 올린다. 갱신 대기 목록에 넣은 뒤에 올리므로, 새 버전을 본 클라이언트는
+ * DB 나 새 스냅샷에서 읽는다. 버전 앞에는 기동 시각(epoch)을 붙여 재시작 후 같은 숫자가 다른 데이터를 가리키지 않게 한다.
+ * (SQL 로 직접 바꾼 데이터는 reload() 를 호출해야 반영되고 버전도 그때 오른다)
+ */
+@Component
+public class UserReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(UserReadModel.class);
+
+    // 스냅샷 하나에 캐시할 페이지 수 상한 (커서가 다양해도 메모리가 늘지 않게)
+    static final int MAX_CACHED_PAGES = 1024;
+    private static final int ID_LOOKUP_BATCH = 1000;
+
+    /**
+     * 미리 만들어 둔 페이지. gzippedJson 은 app.read-model.gzip=false 면 null
+     */
+    public record RenderedPage(List<UserDTO> users, String nextCursor, byte[] json, byte[] gzippedJson) {
+    }
+
+    private record PageKey(long afterId, int limit) {
+    }
+
+    // 스냅샷과 그 스냅샷에서 만든 페이지 캐시를 한 묶음으로 교체한다
+    private record State(UserSnapshot snapshot, Map<PageKey, RenderedPage> pages) {
+
+        State(UserSnapshot snapshot) {
+            this(snapshot, new ConcurrentHashMap<>());
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private final int maxUsers;
+    private final boolean gzip;
+
+    // null 이면 읽기 모델을 쓰지 않는다 (비활성, 적재 전, 상한 초과)
+    private final AtomicReference<State> state = new AtomicReference<>();
+    // 스냅샷 교체는 한 번에 하나씩 (읽기는 잠그지 않는다)
+    private final Object writeLock = new Object();
+    // 데이터 버전 = epoch-순번
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    // 커밋됐지만 아직 스냅샷에 반영하지 않은 id -> 표시 순번 (반영 중에 다시 바뀐 id 는 남겨서 한 번 더 읽는다)
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong pendingSequence = new AtomicLong();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    // 갱신에 실패하면 켜고, 다음 갱신 때 전체를 다시 읽는다
+    private volatile boolean stale;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "user-read-model-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserReadModel(UserRepository userRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.read-model.enabled:true}") boolean enabled,
+                         @Value("${app.read-model.max-users:200000}") int maxUsers,
+                         @Value("${app.read-model.gzip:true}") boolean gzip) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        // 호출한 쪽 트랜잭션과 상관없이 새 트랜잭션으로 최신 커밋 상태를 읽는다
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.gzip = gzip;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // DB 전체를 다시 읽어 스냅샷을 새로 만든다 (기동 시, 또는 SQL 로 직접 데이터를 바꾼 뒤)
+    public void reload() {
+        if (!enabled) {
+            dataVersion.incrementAndGet();
+            return;
+        }
+        synchronized (writeLock) {
+            List<UserSnapshot.Entry> entries = readTransaction.execute(status -> {
+                List<UserSnapshot.Entry> loaded = new ArrayList<>();
+                try (Stream<UserDTO> users = userRepository.streamAllOrderById()) {
+                    for (UserDTO user : (Iterable<UserDTO>) users::iterator) {
+                        if (loaded.size() == maxUsers) {
+                            return null;
+                        }
+                        loaded.add(entry(user));
+                    }
+                }
+                return loaded;
+            });
+            if (entries == null) {
+                log.info("회원 수가 {}명을 넘어 읽기 모델을 끄고 DB 에서 조회합니다.", maxUsers);
+                state.set(null);
+            } else {
+                state.set(new State(UserSnapshot.of(entries)));
+            }
+            stale = false;
+            dataVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 ids 를 갱신 대기 목록에 넣고 데이터 버전을 올린다 (트랜잭션 밖이면 바로).
+     * DB 는 갱신 스레드가 읽는다. 바뀐 값을 그대로 넣지 않고 다시 읽으므로, 커밋 순서와 반영 순서가 달라도
+     * 마지막에는 DB 와 같아진다. 읽기 모델이 꺼져 있어도 데이터 버전은 올린다. 롤백되면 둘 다 하지 않는다.
+     */
+    public void refreshAfterCommit(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> changed = List.copyOf(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markChanged(changed);
+                }
+            });
+        } else {
+            markChanged(changed);
+        }
+    }
+
+    /**
+     * 대기 중인 갱신이 모두 반영될 때까지 기다린다. 시간 안에 끝나면 true (테스트/진단용)
+     */
+    public boolean awaitRefreshed(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty() || refreshScheduled.get()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    /**
+     * 필터 없는 목록 한 페이지 (커서와 limit 은 UserService.getUsers 와 같게 해석한다).
+     * 읽기 모델을 쓸 수 없으면 null (UserService.getUsers 로 DB 에서 읽을 것). 트랜잭션 밖에서 부르면 커넥션을 잡지 않는다
+     */
+    public UserPage page(String cursor, Integer limit) {
+        long afterId = cursor == null || cursor.isEmpty() ? 0 : Long.parseLong(UserService.decodeCursor(cursor, 'i')[1]);
+        RenderedPage page = page(afterId, UserService.pageSize(limit));
+        return page == null ? null : new UserPage(page.users(), page.nextCursor(), page.json(), page.gzippedJson());
+    }
+
+    /**
+     * afterId 다음부터 limit 개의 미리 직렬화된 페이지. 읽기 모델을 쓸 수 없으면 null (DB 에서 읽을 것)
+     */
+    public RenderedPage page(long afterId, int limit) {
+        State current = state.get();
+        if (current == null || !pending.isEmpty()) {
+            return null;
+        }
+        PageKey key = new PageKey(afterId, limit);
+        RenderedPage page = current.pages().get(key);
+        if (page == null) {
+            page = render(current.snapshot(), afterId, limit);
+            if (current.pages().size() < MAX_CACHED_PAGES) {
+                current.pages().putIfAbsent(key, page);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 현재 데이터 버전 (목록 ETag 용). 회원 데이터가 커밋될 때마다 바뀐다.
+     */
+    public String dataVersion() {
+        return epoch + "-" + dataVersion.get();
+    }
+
+    /**
+     * 스냅샷에 있는 회원의 버전. 읽기 모델을 쓸 수 없거나 스냅샷에 없거나 갱신 대기 중이면 null (DB 에서 확인할 것)
+     */
+    public Long version(long id) {
+        UserDTO user = user(id);
+        return user == null ? null : user.getVersion();
+    }
+
+    /**
+     * 스냅샷에 있는 회원. 읽기 모델을 쓸 수 없거나 스냅샷에 없거나 갱신 대기 중이면 null (DB 에서 확인할 것)
+     */
+    public UserDTO user(long id) {
+        if (pending.containsKey(id)) {
+            return null;
+        }
+        State current = state.get();
+        UserSnapshot.Entry entry = current == null ? null : current.snapshot().get(id);
+        return entry == null ? null : entry.user();
+    }
+
+    public boolean isActive() {
+        return state.get() != null;
+    }
+
+    // 현재 스냅샷 (테스트/진단용)
+    UserSnapshot snapshot() {
+        State current = state.get();
+        return current == null ? null : current.snapshot();
+    }
+
+    // afterCommit 에서 호출된다. 메모리만 만지고, 실패해도 커밋된 요청을 실패시키지 않는다
+    private void markChanged(List<Long> ids) {
+        try {
+            if (enabled) {
+                long sequence = pendingSequence.incrementAndGet();
+                ids.forEach(id -> pending.put(id, sequence));
+            }
+            // 대기 목록에 넣은 뒤에 올린다 (새 버전을 본 요청은 옛 스냅샷을 읽지 않는다)
+            dataVersion.incrementAndGet();
+            if (enabled && refreshScheduled.compareAndSet(false, true)) {
+                refresher.execute(this::drain);
+            }
+        } catch (RuntimeException e) {
+            refreshScheduled.set(false);
+            log.warn("읽기 모델 갱신 예약 실패: {}", ids, e);
+        }
+    }
+
+    // 갱신 스레드: 대기 목록이 빌 때까지 모아서 반영한다
+    private void drain() {
+        while (true) {
+            Map<Long, Long> batch = new HashMap<>(pending);
+            if (batch.isEmpty()) {
+                refreshScheduled.set(false);
+                // 내려놓는 사이에 들어온 id 가 있으면 이어서 처리한다
+                if (pending.isEmpty() || !refreshScheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                if (stale) {
+                    reload();
+                } else {
+                    refresh(new ArrayList<>(batch.keySet()));
+                }
+            } catch (RuntimeException e) {
+                // 반영에 실패한 스냅샷을 계속 쓰면 안 되므로 끄고, 다음 갱신 때 전체를 다시 읽는다
+                log.warn("읽기 모델 갱신 실패, 다음 갱신 때 전체를 다시 읽습니다.", e);
+                synchronized (writeLock) {
+                    state.set(null);
+                    stale = true;
+                }
+            }
+            // 반영한 순번 그대로인 id 만 뺀다 (그 사이 다시 커밋된 id 는 한 번 더 읽는다)
+            batch.forEach(pending::remove);
+        }
+    }
+
+    private void refresh(List<Long> ids) {
+        synchronized (writeLock) {
+            State current = state.get();
+            if (current == null) {
+                return;
+            }
+            TreeMap<Long, UserSnapshot.Entry> changes = new TreeMap<>();
+            readTransaction.executeWithoutResult(status -> {
+                for (int from = 0; from < ids.size(); from += ID_LOOKUP_BATCH) {
+                    List<Long> batch = ids.subList(from, Math.min(from + ID_LOOKUP_BATCH, ids.size()));
+                    Set<Long> missing = new HashSet<>(batch);
+                    for (UserDTO user : userRepository.findDtosByIdIn(batch)) {
+                        changes.put(user.getId(), entry(user));
+                        missing.remove(user.getId());
+                    }
+                    // 다시 읽었는데 없으면 삭제된 것
+                    missing.forEach(id -> changes.put(id, null));
+                }
+            });
+            UserSnapshot next = current.snapshot().apply(changes);
+            if (next.size() > maxUsers) {
+                log.info("회원 수가 {}명을 넘어 읽기 모델을 끄고 DB 에서 조회합니다.", maxUsers);
+                state.set(null);
+            } else {
+                state.set(new State(next));
+            }
+        }
+    }
+
+    private UserSnapshot.Entry entry(UserDTO user) {
+        try {
+            return new UserSnapshot.Entry(user, objectMapper.writeValueAsBytes(user));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private RenderedPage render(UserSnapshot snapshot, long afterId, int limit) {
+        List<UserSnapshot.Entry> entries = snapshot.page(afterId, limit + 1);
+        boolean hasNext = entries.size() > limit;
+        if (hasNext) {
+            entries = entries.subList(0, limit);
+        }
+        List<UserDTO> users = new ArrayList<>(entries.size());
+        int length = 2;
+        for (UserSnapshot.Entry entry : entries) {
+            users.add(entry.user());
+            length += entry.json().length + 1;
+        }
+        byte[] json = new byte[users.isEmpty() ? 2 : length - 1];
+        int position = 0;
+        json[position++] = '[';
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                json[position++] = ',';
+            }
+            byte[] user = entries.get(i).json();
+            System.arraycopy(user, 0, json, position, user.length);
+            position += user.length;
+        }
+        json[position] = ']';
+        String nextCursor = hasNext ? UserService.encodeCursor('i', "", users.get(users.size() - 1).getId()) : null;
+        return new RenderedPage(List.copyOf(users), nextCursor, json, gzip ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,22 +1,36 @@
 package com.example.demo.service;
 
 import com.example.demo.entity.User;
+import com.example.demo.dto.UserChangeEvent;
 import com.example.demo.dto.UserDTO;
+import com.example.demo.dto.UserPage;
 import com.example.demo.repository.UserRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 @Transactional
 public class UserService {
 
+    public static final int DEFAULT_PAGE_LIMIT = 20;
+    public static final int MAX_PAGE_LIMIT = 100;
+
     private final UserRepository userRepository;
+    private final UserReadModel userReadModel;
+    private final UserChangeFeed userChangeFeed;
 
     // 생성자 주입 (Lombok의 @RequiredArgsConstructor 없이 직접 작성)
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserReadModel userReadModel, UserChangeFeed userChangeFeed) {
         this.userRepository = userRepository;
+        this.userReadModel = userReadModel;
+        this.userChangeFeed = userChangeFeed;
     }
 
     // 회원 생성
@@ -26,37 +40,149 @@ public class UserService {
         user.setEmail(email);
 
         User savedUser = userRepository.save(user);
-        return new UserDTO(savedUser.getId(), savedUser.getName(), savedUser.getEmail());
+        userReadModel.refreshAfterCommit(List.of(savedUser.getId()));
+        UserDTO created = new UserDTO(savedUser.getId(), savedUser.getName(), savedUser.getEmail(), savedUser.getVersion());
+        userChangeFeed.publishAfterCommit(UserChangeEvent.Type.CREATED, List.of(created));
+        return created;
     }
 
-    // 회원 전체 조회
-    public List<UserDTO> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(u -> new UserDTO(u.getId(), u.getName(), u.getEmail()))
-                .toList();
+    /**
+     * 회원 목록 조회 (키셋 페이지네이션)
+     * 전체를 한 번에 읽지 않고 커서 다음부터 limit 개만 읽는다. 커서는 마지막 행의 정렬 키를 담은 불투명 문자열이다.
+     * namePrefix / emailPrefix 중 하나를 주면 해당 컬럼 순서로 정렬해 (컬럼, id) 인덱스 범위 스캔으로 읽는다.
+     * 필터 없는 목록은 호출하는 쪽이 먼저 UserReadModel.page(cursor, limit) 로 찾는다 (트랜잭션 없이). 여기는 DB 에서 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public UserPage getUsers(String cursor, Integer limit, String namePrefix, String emailPrefix) {
+        boolean byName = namePrefix != null && !namePrefix.isEmpty();
+        boolean byEmail = emailPrefix != null && !emailPrefix.isEmpty();
+        if (byName && byEmail) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "name 과 email 필터는 하나만 지정할 수 있습니다.");
+        }
+        int pageSize = pageSize(limit);
+        char mode = byName ? 'n' : byEmail ? 'e' : 'i';
+        String prefix = byName ? namePrefix : emailPrefix;
+
+        // 커서가 없으면 접두어 바로 앞(또는 id 0)부터
+        String afterKey = prefix;
+        long afterId = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] decoded = decodeCursor(cursor, mode);
+            afterKey = decoded[0];
+            afterId = Long.parseLong(decoded[1]);
+        }
+
+        // 다음 페이지 여부를 count 없이 알기 위해 한 행 더 읽는다
+        Limit fetch = Limit.of(pageSize + 1);
+        List<UserDTO> rows = switch (mode) {
+            case 'n' -> userRepository.findPageByNamePrefix(afterKey, afterId, upperBound(prefix), fetch);
+            case 'e' -> userRepository.findPageByEmailPrefix(afterKey, afterId, upperBound(prefix), fetch);
+            default -> userRepository.findPageAfterId(afterId, fetch);
+        };
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserDTO> users = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            UserDTO last = users.get(users.size() - 1);
+            String key = mode == 'n' ? last.getName() : mode == 'e' ? last.getEmail() : "";
+            nextCursor = encodeCursor(mode, key, last.getId());
+        }
+        return new UserPage(users, nextCursor);
     }
 
-    // 단일 회원 조회
+    // 단일 회원 조회 (DTO 프로젝션)
+    // HTTP 조회는 컨트롤러가 읽기 모델과 UserLoader(동시 조회 묶기)를 먼저 거친다. 로더는 자기 스레드에서 커넥션을 잡으므로
+    // 트랜잭션(커넥션)을 쥔 이 메서드 안에서 기다리지 않고 여기서는 바로 읽는다
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + id));
-        return new UserDTO(user.getId(), user.getName(), user.getEmail());
+        UserDTO user = userRepository.findDtosByIdIn(List.of(id)).stream().findFirst().orElse(null);
+        if (user == null) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + id);
+        }
+        return user;
     }
 
-    // 회원 정보 수정
+    // 회원 한 명의 버전 (단건 ETag). 읽기 모델에 있으면 호출하는 쪽이 먼저 꺼낸다. 없는 회원이면 null
+    @Transactional(readOnly = true)
+    public Long getUserVersion(Long id) {
+        return userRepository.findVersionById(id).orElse(null);
+    }
+
+    // 회원 정보 수정 (조건 없는 PUT)
+    // 엔티티를 읽어 변경 감지로 쓰면 @Version 때문에 동시에 들어온 PUT 이 ObjectOptimisticLockingFailureException(500)으로 실패하므로,
+    // 버전 조건 없는 UPDATE 한 번으로 쓰고 올라간 버전은 같은 트랜잭션에서 다시 읽는다
     public UserDTO updateUser(Long id, String name, String email) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + id));
-        user.setName(name);
-        user.setEmail(email);
+        if (userRepository.updateById(id, name, email) == 0) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + id);
+        }
+        UserDTO updated = userRepository.findDtosByIdIn(List.of(id)).get(0);
+        userReadModel.refreshAfterCommit(List.of(id));
+        userChangeFeed.publishAfterCommit(UserChangeEvent.Type.UPDATED, List.of(updated));
+        return updated;
+    }
 
-        User updatedUser = userRepository.save(user);
-        return new UserDTO(updatedUser.getId(), updatedUser.getName(), updatedUser.getEmail());
+    /**
+     * 회원 일부 수정 (낙관적 잠금)
+     * 엔티티를 읽지 않고 조건부 UPDATE 한 번만 실행한다. name/email 중 null 인 항목은 바꾸지 않는다.
+     * 버전이 expectedVersion 이 아니면(다른 요청이 먼저 수정) 412. 성공하면 새 버전을 돌려준다.
+     */
+    public long patchUser(Long id, String name, String email, long expectedVersion) {
+        if (name == null && email == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "수정할 항목(name, email)이 없습니다.");
+        }
+        if (userRepository.updateIfVersion(id, name, email, expectedVersion) == 0) {
+            // 실패했을 때만 없는 회원인지 버전 충돌인지 확인한다
+            if (userRepository.findVersionById(id).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다. ID: " + id);
+            }
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "다른 요청이 먼저 수정했습니다. 최신 버전을 다시 조회하세요. ID: " + id);
+        }
+        userReadModel.refreshAfterCommit(List.of(id));
+        // 변경 이벤트에는 바뀌지 않은 항목까지 담아야 하므로 같은 트랜잭션에서 한 번 읽는다 (커밋 뒤에 커넥션을 다시 잡지 않게)
+        userChangeFeed.publishAfterCommit(UserChangeEvent.Type.UPDATED, userRepository.findDtosByIdIn(List.of(id)));
+        return expectedVersion + 1;
     }
 
-    // 회원 삭제
+    // 회원 삭제 (없는 회원이면 아무것도 하지 않는다). 실제로 지웠을 때만 읽기 모델 갱신과 삭제 이벤트
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        if (userRepository.removeById(id) == 0) {
+            return;
+        }
+        userReadModel.refreshAfterCommit(List.of(id));
+        userChangeFeed.publishDeletedAfterCommit(List.of(id));
+    }
+
+    // 접두어로 시작하는 문자열의 상한 (prefix <= 값 < prefix + U+FFFF)
+    private static String upperBound(String prefix) {
+        return prefix + Character.MAX_VALUE;
+    }
+
+    // 커서 = base64url("{mode}:{id}:{key}") - key 에 ':' 가 있어도 되도록 맨 뒤에 둔다
+    static String encodeCursor(char mode, String key, Long id) {
+        String raw = mode + ":" + id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // limit 을 1~MAX_PAGE_LIMIT 로 (없으면 DEFAULT_PAGE_LIMIT)
+    static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_LIMIT : Math.min(Math.max(limit, 1), MAX_PAGE_LIMIT);
+    }
+
+    // {key, id} 를 돌려준다
+    static String[] decodeCursor(String cursor, char expectedMode) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || parts[0].length() != 1 || parts[0].charAt(0) != expectedMode) {
+                throw new IllegalArgumentException(raw);
+            }
+            Long.parseLong(parts[1]);
+            return new String[]{parts[2], parts[1]};
+        } catch (IllegalArgumentException e) {
+            // 다른 필터로 만든 커서도 여기서 거절
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.");
+        }
     }
 }
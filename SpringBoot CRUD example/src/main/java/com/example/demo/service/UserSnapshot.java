@@ -0,0 +1,182 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+
+/**
+ * id 순으로 정렬된 회원 목록의 불변 스냅샷.
+ * 목록을 SEGMENT_SIZE 안팎의 세그먼트로 나눠 두고, 변경이 생기면 변경이 닿은 세그먼트만 새로 만들고
+ * 나머지 세그먼트 객체는 새 스냅샷과 공유한다. 그래서 한 건을 바꿔도 전체 목록을 복사하지 않는다
+ * (세그먼트 포인터 배열만 복사).
+ */
+final class UserSnapshot {
+
+    static final int SEGMENT_SIZE = 512;
+
+    static final UserSnapshot EMPTY = new UserSnapshot(new Segment[0], 0);
+
+    /**
+     * 회원 하나와 미리 직렬화해 둔 JSON
+     */
+    record Entry(UserDTO user, byte[] json) {
+
+        long id() {
+            return user.getId();
+        }
+    }
+
+    static final class Segment {
+
+        final long[] ids;
+        final Entry[] entries;
+
+        Segment(Entry[] entries) {
+            this.entries = entries;
+            this.ids = new long[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                ids[i] = entries[i].id();
+            }
+        }
+
+        long firstId() {
+            return ids[0];
+        }
+    }
+
+    private final Segment[] segments;
+    private final int size;
+
+    private UserSnapshot(Segment[] segments, int size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    // id 오름차순으로 정렬된 목록으로 전체 스냅샷 생성
+    static UserSnapshot of(List<Entry> sorted) {
+        List<Segment> segments = new ArrayList<>(sorted.size() / SEGMENT_SIZE + 1);
+        for (int from = 0; from < sorted.size(); from += SEGMENT_SIZE) {
+            segments.add(new Segment(sorted.subList(from, Math.min(from + SEGMENT_SIZE, sorted.size())).toArray(new Entry[0])));
+        }
+        return new UserSnapshot(segments.toArray(new Segment[0]), sorted.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<Segment> segments() {
+        return Collections.unmodifiableList(Arrays.asList(segments));
+    }
+
+    /**
+     * 변경을 반영한 새 스냅샷. changes 의 값이 null 이면 삭제, 아니면 추가/교체.
+     */
+    UserSnapshot apply(NavigableMap<Long, Entry> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        if (segments.length == 0) {
+            return of(changes.values().stream().filter(Objects::nonNull).toList());
+        }
+        List<Segment> next = new ArrayList<>(segments.length + 1);
+        int newSize = size;
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[i];
+            // 세그먼트 i 가 맡는 id 범위: [이 세그먼트 첫 id, 다음 세그먼트 첫 id). 맨 앞/뒤는 열린 범위
+            long from = i == 0 ? Long.MIN_VALUE : segment.firstId();
+            NavigableMap<Long, Entry> touched = i == segments.length - 1
+                    ? changes.tailMap(from, true)
+                    : changes.subMap(from, true, segments[i + 1].firstId(), false);
+            if (touched.isEmpty()) {
+                next.add(segment);
+                continue;
+            }
+            Entry[] merged = merge(segment, touched);
+            newSize += merged.length - segment.entries.length;
+            // 추가가 몰려 두 배 이상 커진 세그먼트는 나누고, 모두 지워진 세그먼트는 버린다
+            int start = 0;
+            while (merged.length - start >= SEGMENT_SIZE * 2) {
+                next.add(new Segment(Arrays.copyOfRange(merged, start, start + SEGMENT_SIZE)));
+                start += SEGMENT_SIZE;
+            }
+            if (start < merged.length) {
+                next.add(new Segment(Arrays.copyOfRange(merged, start, merged.length)));
+            }
+        }
+        return new UserSnapshot(next.toArray(new Segment[0]), newSize);
+    }
+
+    private static Entry[] merge(Segment segment, NavigableMap<Long, Entry> changes) {
+        List<Entry> merged = new ArrayList<>(segment.entries.length + changes.size());
+        int i = 0;
+        for (Map.Entry<Long, Entry> change : changes.entrySet()) {
+            long id = change.getKey();
+            while (i < segment.ids.length && segment.ids[i] < id) {
+                merged.add(segment.entries[i++]);
+            }
+            if (i < segment.ids.length && segment.ids[i] == id) {
+                i++;
+            }
+            if (change.getValue() != null) {
+                merged.add(change.getValue());
+            }
+        }
+        while (i < segment.ids.length) {
+            merged.add(segment.entries[i++]);
+        }
+        return merged.toArray(new Entry[0]);
+    }
+
+    // id 로 한 건 찾기 (없으면 null)
+    Entry get(long id) {
+        int s = segmentFor(id);
+        if (s < 0) {
+            return null;
+        }
+        int position = Arrays.binarySearch(segments[s].ids, id);
+        return position >= 0 ? segments[s].entries[position] : null;
+    }
+
+    // afterId 보다 큰 id 부터 최대 count 개
+    List<Entry> page(long afterId, int count) {
+        List<Entry> page = new ArrayList<>(Math.min(count, SEGMENT_SIZE));
+        int s = segmentFor(afterId);
+        if (s < 0) {
+            return page;
+        }
+        int position = Arrays.binarySearch(segments[s].ids, afterId);
+        position = position >= 0 ? position + 1 : -position - 1;
+        for (; s < segments.length && page.size() < count; s++, position = 0) {
+            Entry[] entries = segments[s].entries;
+            for (int i = position; i < entries.length && page.size() < count; i++) {
+                page.add(entries[i]);
+            }
+        }
+        return page;
+    }
+
+    // afterId 다음 id 가 들어 있을 세그먼트 (첫 id 가 afterId 이하인 마지막 세그먼트, 없으면 0)
+    private int segmentFor(long afterId) {
+        if (segments.length == 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = segments.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments[mid].firstId() <= afterId) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
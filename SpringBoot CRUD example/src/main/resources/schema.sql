@@ -0,0 +1,3 @@
+-- users.id 의 DB 기본값(next value for users_seq)이 시퀀스를 참조하므로 Hibernate 가 테이블을 만들기 전에 시퀀스를 먼저 만든다.
+-- 증가폭은 User 의 allocationSize 와 같아야 한다 (pooled 최적화기가 시퀀스 값 하나로 50 개 id 를 예약).
+create sequence if not exists users_seq start with 1 increment by 50;
@@ -0,0 +1,164 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class UserBulkApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createsThousandsInBatchesAndReportsInvalidItems() throws Exception {
+        List<Map<String, String>> users = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            users.add(Map.of("name", "user" + i, "email", "user" + i + "@example.com"));
+        }
+        users.set(10, Map.of("name", "", "email", "blank@example.com"));
+        users.set(700, Map.of("name", "no-at", "email", "no-at.example.com"));
+
+        JsonNode result = call(post("/api/users/bulk"), users);
+
+        assertThat(result.get("total").asInt()).isEqualTo(1200);
+        assertThat(result.get("failed").asInt()).isEqualTo(2);
+        assertThat(result.get("items").get(10).get("status").asText()).isEqualTo("FAILED");
+        assertThat(result.get("items").get(700).get("error").asText()).isEqualTo("이메일 형식이 올바르지 않습니다.");
+        Set<Long> ids = new HashSet<>();
+        result.get("items").forEach(item -> {
+            if (item.get("status").asText().equals("CREATED")) {
+                ids.add(item.get("id").asLong());
+            }
+        });
+        assertThat(ids).hasSize(1198);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).isEqualTo(1198);
+        // 한 건씩 insert 했다면 1198 개의 문장. 시퀀스 호출(50개당 1번)과 배치(50개당 1번)만 있어야 한다.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(100);
+    }
+
+    @Test
+    void chunkFailureIsNarrowedDownToTheFailingRow() throws Exception {
+        List<Map<String, String>> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            users.add(Map.of("name", "user" + i, "email", "user" + i + "@example.com"));
+        }
+        // 컬럼 길이(255) 초과는 DB 에서만 걸러진다 -> 청크가 롤백되고 한 건씩 재시도
+        users.set(5, Map.of("name", "x".repeat(300), "email", "long@example.com"));
+
+        JsonNode result = call(post("/api/users/bulk"), users);
+
+        assertThat(result.get("failed").asInt()).isEqualTo(1);
+        assertThat(result.get("items").get(5).get("status").asText()).isEqualTo("FAILED");
+        assertThat(result.get("items").get(5).get("error").asText()).isNotBlank();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).isEqualTo(19);
+    }
+
+    @Test
+    void updatesExistingAndReportsMissing() throws Exception {
+        jdbcTemplate.update("insert into users (name, email) values ('kim', 'kim@example.com'), ('lee', 'lee@example.com')");
+        long kim = idOf("kim");
+        long lee = idOf("lee");
+        long missing = lee + 1_000;
+
+        JsonNode result = call(put("/api/users/bulk"), List.of(
+                Map.of("id", lee, "name", "lee2", "email", "lee2@example.com"),
+                Map.of("id", missing, "name", "ghost", "email", "ghost@example.com"),
+                Map.of("id", kim, "name", "kim2", "email", "kim2@example.com")));
+
+        assertThat(result.get("items").get(0).get("status").asText()).isEqualTo("UPDATED");
+        assertThat(result.get("items").get(1).get("error").asText()).isEqualTo("사용자를 찾을 수 없습니다. ID: " + missing);
+        assertThat(result.get("items").get(2).get("status").asText()).isEqualTo("UPDATED");
+        assertThat(jdbcTemplate.queryForList("select name from users order by id", String.class))
+                .containsExactly("kim2", "lee2");
+    }
+
+    @Test
+    void deletesByIdListInOneStatementPerChunk() throws Exception {
+        jdbcTemplate.update("insert into users (name, email) values ('a', 'a@x.com'), ('b', 'b@x.com'), ('c', 'c@x.com')");
+        long b = idOf("b");
+
+        JsonNode result = call(delete("/api/users/bulk"), List.of(idOf("a"), idOf("c"), b + 1_000));
+
+        assertThat(result.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(result.get("items").get(2).get("status").asText()).isEqualTo("FAILED");
+        assertThat(jdbcTemplate.queryForList("select id from users", Long.class)).containsExactly(b);
+    }
+
+    @Test
+    void sqlInsertsWithoutIdShareTheSequenceWithBulkCreates() throws Exception {
+        // id 없이 SQL 로 넣은 행과 Hibernate 가 미리 예약한 id 가 섞여도 겹치지 않는다
+        for (int round = 0; round < 3; round++) {
+            jdbcTemplate.update("insert into users (name, email) values ('sql" + round + "', 'sql" + round + "@example.com')");
+            List<Map<String, String>> users = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                users.add(Map.of("name", "jpa" + round + "-" + i, "email", "jpa" + round + "-" + i + "@example.com"));
+            }
+            assertThat(call(post("/api/users/bulk"), users).get("failed").asInt()).isZero();
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from users", Long.class)).isEqualTo(183);
+    }
+
+    @Test
+    void rejectsEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/users/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long idOf(String name) {
+        return jdbcTemplate.queryForObject("select id from users where name = ?", Long.class, name);
+    }
+
+    private JsonNode call(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        String response = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
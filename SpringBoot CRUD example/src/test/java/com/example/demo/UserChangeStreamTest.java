@@ -0,0 +1,211 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// SSE 는 응답이 끝나지 않으므로 내장 서버에 HTTP 로 붙어 한 줄씩 읽는다
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:stream",
+                "app.import.dir=build/tmp/stream-import-test",
+                // 여러 청크로 나뉘게 작게, 구독자가 넘치면 끊기게 해서 가져오기 중에도 구독이 유지되는지 본다
+                "app.import.chunk-size=1KB",
+                "app.user-stream.subscriber-buffer=64",
+                "app.user-stream.overflow=disconnect"
+        })
+class UserChangeStreamTest {
+
+    private record SseEvent(String id, String name, JsonNode data) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<Stream<String>> streams = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() {
+        streams.forEach(Stream::close);
+    }
+
+    @Test
+    void pushesCreateUpdateAndDeleteAfterCommit() throws Exception {
+        BlockingQueue<SseEvent> events = subscribe(null);
+
+        long id = create("김철수", "kim@example.com");
+        send("PUT", "/api/users/" + id, "{\"name\":\"김영희\",\"email\":\"kim@example.com\"}");
+        send("DELETE", "/api/users/" + id, null);
+        // 이미 지워진 회원을 다시 삭제해도, 실패한 수정(롤백)도 이벤트가 없다
+        send("DELETE", "/api/users/" + id, null);
+        send("PATCH", "/api/users/" + id, "{\"name\":\"x\"}");
+
+        SseEvent created = next(events);
+        assertThat(created.name()).isEqualTo("created");
+        assertThat(created.data().get("user").get("name").asText()).isEqualTo("김철수");
+        SseEvent updated = next(events);
+        assertThat(updated.name()).isEqualTo("updated");
+        assertThat(updated.data().get("user").get("name").asText()).isEqualTo("김영희");
+        assertThat(updated.data().get("user").get("version").asLong()).isEqualTo(1);
+        SseEvent deleted = next(events);
+        assertThat(deleted.name()).isEqualTo("deleted");
+        assertThat(deleted.data().get("id").asLong()).isEqualTo(id);
+        assertThat(deleted.data().get("user").isNull()).isTrue();
+        assertThat(events.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysMissedEvents() throws Exception {
+        BlockingQueue<SseEvent> first = subscribe(null);
+        create("a", "a@x.com");
+        String lastSeen = next(first).id();
+        streams.forEach(Stream::close);
+
+        // 끊겨 있는 동안의 변경 (일괄 생성 포함)
+        create("b", "b@x.com");
+        send("POST", "/api/users/bulk", "[{\"name\":\"c\",\"email\":\"c@x.com\"},{\"name\":\"d\",\"email\":\"d@x.com\"}]");
+
+        BlockingQueue<SseEvent> resumed = subscribe(lastSeen);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            names.add(next(resumed).data().get("user").get("name").asText());
+        }
+        assertThat(names).containsExactly("b", "c", "d");
+    }
+
+    @Test
+    void importPublishesOneSummaryPerChunkAndKeepsSubscribers() throws Exception {
+        int rows = 2000;
+        BlockingQueue<SseEvent> events = subscribe(null);
+        Path dir = Files.createDirectories(Path.of("build/tmp/stream-import-test"));
+        Path file = dir.resolve("users-" + UUID.randomUUID() + ".csv");
+        StringBuilder csv = new StringBuilder("name,email\r\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append("imported").append(i).append(",i").append(i).append("@x.com\r\n");
+        }
+        Files.writeString(file, csv);
+
+        send("POST", "/api/users/import?path=" + file.getFileName(), null);
+
+        // 행(2000)마다가 아니라 커밋된 청크마다 한 건만 온다
+        int imported = 0;
+        int summaries = 0;
+        while (imported < rows) {
+            SseEvent event = next(events);
+            assertThat(event.name()).isEqualTo("imported");
+            assertThat(event.data().get("fromId").asLong()).isLessThanOrEqualTo(event.data().get("toId").asLong());
+            imported += event.data().get("count").asInt();
+            summaries++;
+        }
+        assertThat(imported).isEqualTo(rows);
+        assertThat(summaries).isGreaterThan(1).isLessThan(rows / 10);
+
+        // 가져오기 뒤에도 같은 구독으로 계속 받는다
+        create("after", "after@x.com");
+        assertThat(next(events).name()).isEqualTo("created");
+    }
+
+    @Test
+    void unknownLastEventIdAsksForReset() throws Exception {
+        BlockingQueue<SseEvent> events = subscribe("stale-42");
+
+        assertThat(next(events).name()).isEqualTo("reset");
+    }
+
+    private BlockingQueue<SseEvent> subscribe(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/users/stream"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        // 헤더를 받은 시점에는 구독이 등록되어 있다
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("text/event-stream"));
+        Stream<String> lines = response.body();
+        streams.add(lines);
+
+        BlockingQueue<SseEvent> events = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> {
+            String[] current = new String[3];
+            try {
+                lines.forEach(line -> {
+                    if (line.isEmpty()) {
+                        if (current[2] != null) {
+                            events.add(toEvent(current));
+                        }
+                        current[0] = current[1] = current[2] = null;
+                    } else if (line.startsWith("id:")) {
+                        current[0] = line.substring(3);
+                    } else if (line.startsWith("event:")) {
+                        current[1] = line.substring(6);
+                    } else if (line.startsWith("data:")) {
+                        current[2] = line.substring(5);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 테스트가 끝나 스트림을 닫음
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return events;
+    }
+
+    private SseEvent toEvent(String[] fields) {
+        try {
+            return new SseEvent(fields[0], fields[1], objectMapper.readTree(fields[2]));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SseEvent next(BlockingQueue<SseEvent> events) throws InterruptedException {
+        SseEvent event = events.poll(5, TimeUnit.SECONDS);
+        assertThat(event).as("이벤트를 받지 못함").isNotNull();
+        return event;
+    }
+
+    private long create(String name, String email) throws Exception {
+        String body = send("POST", "/api/users", "{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}");
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private String send(String method, String path, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (method.equals("PATCH")) {
+            request.header("If-Match", "\"0\"");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
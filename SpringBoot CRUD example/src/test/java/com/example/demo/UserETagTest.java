@@ -0,0 +1,150 @@
+package com.example.demo;
+
+import com.example.demo.service.UserReadModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:etag",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class UserETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserReadModel userReadModel;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+        userReadModel.reload();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void unchangedListAnswers304WithoutQueries() throws Exception {
+        create("kim", "kim@example.com");
+        String eTag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+        // 갱신 스레드의 조회가 통계에 섞이지 않게
+        assertThat(userReadModel.awaitRefreshed(Duration.ofSeconds(5))).isTrue();
+
+        statistics.clear();
+        // 필터가 붙은(DB 로 가는) 목록도 버전만 보고 판단한다
+        mockMvc.perform(get("/api/users").param("name", "ki").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + eTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void writesChangeTheListETag() throws Exception {
+        String before = mockMvc.perform(get("/api/users")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        create("kim", "kim@example.com");
+
+        MvcResult after = mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(after.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(before);
+        assertThat(objectMapper.readTree(after.getResponse().getContentAsString())).hasSize(1);
+
+        // 일괄 쓰기도 버전을 올린다
+        String afterCreate = after.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(post("/api/users/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\",\"email\":\"a@x.com\"}]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, afterCreate))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userETagFollowsTheVersionColumn() throws Exception {
+        long id = create("kim", "kim@example.com");
+
+        mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        assertThat(userReadModel.awaitRefreshed(Duration.ofSeconds(5))).isTrue();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/users/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        JsonNode updated = objectMapper.readTree(mockMvc.perform(put("/api/users/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"kim2\",\"email\":\"kim@example.com\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(updated.get("version").asLong()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/users/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void rowsInsertedWithSqlStartAtVersionZero() throws Exception {
+        jdbcTemplate.update("insert into users (name, email) values ('kim', 'kim@example.com')");
+        long id = jdbcTemplate.queryForObject("select id from users where email = 'kim@example.com'", Long.class);
+
+        mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        // 읽기 모델에 없으면 DB 에서 버전을 확인한다
+        mockMvc.perform(get("/api/users/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    private long create(String name, String email) throws Exception {
+        String body = mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo;
+
+import com.example.demo.service.UserExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 수백만 행이 테스트 힙을 차지하지 않도록 파일 DB 에 둔다 (H2 페이지 캐시는 고정 크기)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:file:./build/h2/export-test;CACHE_SIZE=16384")
+@AutoConfigureMockMvc
+class UserExportTest {
+
+    private static final int LARGE_ROWS = 1_000_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("truncate table users");
+    }
+
+    @Test
+    void exportsNdjsonLinePerUser() throws Exception {
+        jdbcTemplate.update("insert into users (name, email) values ('kim', 'kim@example.com'), ('lee \"jr\"', 'lee@example.com')");
+
+        String body = export("ndjson", "application/x-ndjson;charset=UTF-8");
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("name").asText()).isEqualTo("lee \"jr\"");
+        assertThat(second.get("email").asText()).isEqualTo("lee@example.com");
+        assertThat(second.get("id").asLong()).isGreaterThan(objectMapper.readTree(lines[0]).get("id").asLong());
+    }
+
+    @Test
+    void exportsCsvWithQuotedFields() throws Exception {
+        jdbcTemplate.update("insert into users (name, email) values ('Kim, Minsu', 'kim@example.com'), ('lee \"jr\"', 'lee@example.com')");
+
+        String body = export("csv", "text/csv;charset=UTF-8");
+
+        assertThat(body.split("\r\n")).extracting(line -> line.substring(line.indexOf(',') + 1))
+                .containsExactly("name,email", "\"Kim, Minsu\",kim@example.com", "\"lee \"\"jr\"\"\",lee@example.com");
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // 백만 행 적재와 내보내기에 수십 초가 걸려 기본 test 에서는 빼고 gradle benchmark 로만 돌린다
+    @Test
+    @Tag("benchmark")
+    void heapStaysFlatWhileExportingAMillionRows() throws Exception {
+        jdbcTemplate.update("insert into users (name, email) "
+                + "select 'user' || x, 'user' || x || '@example.com' from system_range(1, " + LARGE_ROWS + ")");
+
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream(8 * 1024 * 1024);
+        long exported = userExportService.export(UserExportService.Format.NDJSON, out);
+
+        assertThat(exported).isEqualTo(LARGE_ROWS);
+        assertThat(out.samples).isGreaterThan(5);
+        // 전체를 List 로 모으면 수백 MB 가 필요하다. 스트리밍이면 fetch size 만큼의 행과 버퍼만 남는다.
+        assertThat(out.maxGrowth).as("heap growth during export").isLessThan(32L * 1024 * 1024);
+    }
+
+    private String export(String format, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/users/export").param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", contentType))
+                .andReturn();
+        return result.getResponse().getContentAsString();
+    }
+
+    // 내보낸 바이트를 버리면서 일정 간격마다 GC 후 힙 사용량을 잰다
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long sampleEvery;
+        private final long baseline;
+        private long written;
+        private long nextSample;
+        private long maxGrowth;
+        private int samples;
+
+        HeapSamplingOutputStream(long sampleEvery) {
+            this.sampleEvery = sampleEvery;
+            this.baseline = usedAfterGc();
+            this.nextSample = sampleEvery;
+        }
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(int len) {
+            written += len;
+            if (written >= nextSample) {
+                nextSample += sampleEvery;
+                samples++;
+                maxGrowth = Math.max(maxGrowth, usedAfterGc() - baseline);
+            }
+        }
+
+        private long usedAfterGc() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.demo;
+
+import com.example.demo.entity.UserImportChunk;
+import com.example.demo.entity.UserImportJob;
+import com.example.demo.importer.CsvChunker;
+import com.example.demo.repository.UserImportChunkRepository;
+import com.example.demo.repository.UserImportJobRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import",
+        "app.import.dir=build/tmp/import-test",
+        // 작은 청크로 여러 청크/병렬 파싱/큐 대기를 모두 거치게 한다
+        "app.import.chunk-size=64KB",
+        "app.import.parallelism=2",
+        "app.import.queue-capacity=2"
+})
+@AutoConfigureMockMvc
+class UserImportTest {
+
+    private static final Path IMPORT_DIR = Path.of("build/tmp/import-test");
+    private static final int ROWS = 30_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserImportJobRepository jobRepository;
+
+    @Autowired
+    private UserImportChunkRepository chunkRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void importsLocalFileInParallelChunksAndWritesErrorFile() throws Exception {
+        Path file = writeCsv("users-" + UUID.randomUUID() + ".csv", ROWS);
+
+        JsonNode started = json(mockMvc.perform(post("/api/users/import").param("path", file.getFileName().toString()))
+                .andExpect(status().isAccepted()));
+        JsonNode done = awaitFinished(started.get("id").asText());
+
+        // 1000 번째마다 이메일 오류, 그 외 열 개수 오류 1건
+        long rejected = ROWS / 1000 + 1;
+        assertThat(done.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(done.get("totalChunks").asInt()).isGreaterThan(10);
+        assertThat(done.get("completedChunks").asInt()).isEqualTo(done.get("totalChunks").asInt());
+        assertThat(done.get("progress").asDouble()).isEqualTo(100.0);
+        assertThat(done.get("rowsImported").asLong()).isEqualTo(ROWS - rejected);
+        assertThat(done.get("rowsRejected").asLong()).isEqualTo(rejected);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).isEqualTo(ROWS - rejected);
+        assertThat(jdbcTemplate.queryForObject("select email from users where name = 'Kim, Minsu'", String.class))
+                .isEqualTo("quoted@example.com");
+
+        List<String> errors = Files.readAllLines(Path.of(done.get("errorFile").asText()));
+        assertThat(errors).hasSize((int) rejected + 1);
+        assertThat(errors).anyMatch(line -> line.contains("이메일 형식이 올바르지 않습니다.") && line.contains("user1000"));
+        assertThat(errors).anyMatch(line -> line.contains("열 개수가 헤더와 다릅니다."));
+    }
+
+    @Test
+    void resumeSkipsCheckpointedChunks() throws Exception {
+        Path file = writeCsv("resume-" + UUID.randomUUID() + ".csv", ROWS);
+        List<CsvChunker.Chunk> chunks;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            chunks = CsvChunker.split(channel, 64 * 1024).chunks();
+        }
+        // 앞의 세 청크까지 커밋하고 서버가 죽은 상황을 만든다
+        String id = UUID.randomUUID().toString();
+        Path errorPath = IMPORT_DIR.resolve(id + ".errors.csv");
+        Files.writeString(errorPath, "offset,reason,line\r\n");
+        UserImportJob job = new UserImportJob(id, file.toAbsolutePath().toString(), errorPath.toAbsolutePath().toString(),
+                Files.size(file), 64 * 1024);
+        job.setStatus(UserImportJob.Status.INTERRUPTED);
+        jobRepository.save(job);
+        for (int i = 0; i < 3; i++) {
+            chunkRepository.save(new UserImportChunk(id, i, 0, 0));
+        }
+
+        mockMvc.perform(post("/api/users/import/{id}/resume", id)).andExpect(status().isAccepted());
+        JsonNode done = awaitFinished(id);
+
+        String skipped = Files.readString(file).substring(0, (int) chunks.get(3).start());
+        long skippedRows = skipped.lines().count() - 1;
+        long imported = jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+        assertThat(done.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(imported + done.get("rowsRejected").asLong()).isEqualTo(ROWS - skippedRows);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where name = 'user1'", Long.class)).isZero();
+
+        // 끝난 작업은 다시 재개할 수 없다
+        mockMvc.perform(post("/api/users/import/{id}/resume", id)).andExpect(status().isConflict());
+    }
+
+    @Test
+    void importsUploadedFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv",
+                "name,email\r\nkim,kim@example.com\r\nlee,lee@example.com\r\n".getBytes(StandardCharsets.UTF_8));
+
+        JsonNode started = json(mockMvc.perform(multipart("/api/users/import").file(file))
+                .andExpect(status().isAccepted()));
+        JsonNode done = awaitFinished(started.get("id").asText());
+
+        assertThat(done.get("rowsImported").asLong()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("select name from users order by name", String.class))
+                .containsExactly("kim", "lee");
+    }
+
+    @Test
+    void failsWithoutRequiredColumns() throws Exception {
+        Path file = IMPORT_DIR.resolve("no-email-" + UUID.randomUUID() + ".csv");
+        Files.writeString(file, "name,phone\r\nkim,010\r\n");
+
+        JsonNode started = json(mockMvc.perform(post("/api/users/import").param("path", file.getFileName().toString()))
+                .andExpect(status().isAccepted()));
+        JsonNode done = awaitFinished(started.get("id").asText());
+
+        assertThat(done.get("status").asText()).isEqualTo("FAILED");
+        assertThat(done.get("failureReason").asText()).contains("name, email");
+    }
+
+    @Test
+    void rejectsPathOutsideImportDirectory() throws Exception {
+        mockMvc.perform(post("/api/users/import").param("path", "../../build.gradle"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Path writeCsv(String name, int rows) throws Exception {
+        Files.createDirectories(IMPORT_DIR);
+        StringBuilder csv = new StringBuilder("id,name,email\r\n");
+        for (int i = 1; i <= rows; i++) {
+            if (i == 777) {
+                csv.append(i).append(",\"Kim, Minsu\",quoted@example.com\r\n");
+            } else if (i == 1234) {
+                csv.append(i).append(",missing-column\r\n");
+            } else if (i % 1000 == 0) {
+                csv.append(i).append(",user").append(i).append(",user").append(i).append(".example.com\r\n");
+            } else {
+                csv.append(i).append(",user").append(i).append(",user").append(i).append("@example.com\r\n");
+            }
+        }
+        Path file = IMPORT_DIR.resolve(name);
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    private JsonNode awaitFinished(String id) throws Exception {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (true) {
+            JsonNode status = json(mockMvc.perform(get("/api/users/import/{id}", id)).andExpect(status().isOk()));
+            String state = status.get("status").asText();
+            if (!state.equals("PENDING") && !state.equals("RUNNING")) {
+                return status;
+            }
+            assertThat(System.currentTimeMillis()).as("import %s finished", id).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private JsonNode json(ResultActions actions) throws Exception {
+        return objectMapper.readTree(actions.andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// 창을 길게(1초) 두어 동시에 들어온 HTTP 조회가 모두 같은 창에 들어가게 한다
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loader-api",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.user-loader.window=1s"
+})
+@AutoConfigureMockMvc
+class UserLoaderApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void multiGetAndSingleGetsShareOneBatchedQuery() throws Exception {
+        // SQL 로 넣은 행은 읽기 모델에 없으므로 조회가 UserLoader 로 간다
+        jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", LongStream.rangeClosed(1, 6)
+                .mapToObj(n -> new Object[]{"user" + n, "user" + n + "@example.com"})
+                .toList());
+        List<Long> ids = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<RequestBuilder> requests = new ArrayList<>();
+        requests.add(get("/api/users").param("ids", ids.get(0) + "," + ids.get(1) + "," + ids.get(2)));
+        for (Long id : ids.subList(2, 6)) {
+            requests.add(get("/api/users/{id}", id));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (RequestBuilder request : requests) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(request).andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 다건 3개 + 단건 4개(하나는 다건과 같은 id) -> IN 쿼리 한 번
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
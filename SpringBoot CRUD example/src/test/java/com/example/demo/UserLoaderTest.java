@@ -0,0 +1,99 @@
+package com.example.demo;
+
+import com.example.demo.dto.UserDTO;
+import com.example.demo.service.UserLoader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loader",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class UserLoaderTest {
+
+    @Autowired
+    private UserLoader userLoader;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    // 넣은 순서대로의 id (SQL 로 넣은 행은 시퀀스 기본값이라 연속이 아니다)
+    private List<Long> ids;
+    private long missing;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+        List<Object[]> rows = LongStream.rangeClosed(1, 30)
+                .mapToObj(n -> new Object[]{"user" + n, "user" + n + "@example.com"})
+                .toList();
+        jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", rows);
+        ids = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+        missing = ids.get(ids.size() - 1) + 1_000;
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllKeepsRequestOrderAndSkipsMissingIds() {
+        Map<Long, UserDTO> users = userLoader.getAll(List.of(ids.get(2), ids.get(0), missing, ids.get(2), ids.get(1)));
+
+        assertThat(users.keySet()).containsExactly(ids.get(2), ids.get(0), ids.get(1));
+        // 여러 id 를 한꺼번에 같은 묶음에 넣으므로 창 길이와 상관없이 한 번
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(userLoader.get(missing)).isNull();
+    }
+
+    @Test
+    void multiGetEndpoint() throws Exception {
+        long fifth = ids.get(4);
+        long second = ids.get(1);
+        MvcResult result = mockMvc.perform(get("/api/users").param("ids", fifth + "," + second + "," + missing + "," + fifth))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode users = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(users).extracting(user -> user.get("id").asLong()).containsExactly(fifth, second);
+
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/users").param("ids", fifth + "," + second).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        String tooMany = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/users").param("ids", tooMany)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("ids", "1,x")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo;
+
+import com.example.demo.service.UserReadModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:paging")
+@AutoConfigureMockMvc
+class UserPaginationTest {
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>; rel=\"next\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserReadModel userReadModel;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            // 100명은 kim, 나머지는 lee / park - 이메일은 이름과 다른 순서가 되도록 뒤집는다
+            String name = (i % 5 < 2 ? "kim" : i % 5 == 2 ? "lee" : "park") + String.format("%03d", i);
+            rows.add(new Object[]{name, String.format("u%03d@example.com", 249 - i)});
+        }
+        jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", rows);
+        // SQL 로 직접 넣었으므로 읽기 모델을 다시 적재
+        userReadModel.reload();
+    }
+
+    @Test
+    void walksAllUsersInIdOrderThroughNextLinks() throws Exception {
+        List<JsonNode> users = walk("/api/users?limit=40");
+
+        assertThat(users).hasSize(250);
+        for (int i = 1; i < users.size(); i++) {
+            assertThat(users.get(i).get("id").asLong()).isGreaterThan(users.get(i - 1).get("id").asLong());
+        }
+    }
+
+    @Test
+    void namePrefixFilterPagesInNameOrder() throws Exception {
+        List<JsonNode> users = walk("/api/users?limit=30&name=kim");
+
+        assertThat(users).hasSize(100);
+        assertThat(users).allMatch(u -> u.get("name").asText().startsWith("kim"));
+        assertThat(users).isSortedAccordingTo((a, b) -> a.get("name").asText().compareTo(b.get("name").asText()));
+    }
+
+    @Test
+    void emailPrefixFilterPagesInEmailOrder() throws Exception {
+        List<JsonNode> users = walk("/api/users?limit=7&email=u1");
+
+        assertThat(users).hasSize(100);
+        assertThat(users).allMatch(u -> u.get("email").asText().startsWith("u1"));
+        assertThat(users).isSortedAccordingTo((a, b) -> a.get("email").asText().compareTo(b.get("email").asText()));
+    }
+
+    @Test
+    void rejectsTamperedOrMismatchedCursor() throws Exception {
+        mockMvc.perform(get("/api/users").param("cursor", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+
+        // id 순서 커서를 이름 필터에 재사용하면 거절
+        MvcResult first = mockMvc.perform(get("/api/users").param("limit", "10")).andReturn();
+        String next = nextLink(first);
+        String cursor = next.substring(next.indexOf("cursor=") + "cursor=".length());
+        mockMvc.perform(get("/api/users").param("name", "kim").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users").param("name", "kim").param("email", "u1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pageQueriesAreIndexRangeScans() {
+        String byId = plan("select * from users u where u.id > 120 order by u.id fetch first 21 rows only");
+        assertThat(byId).contains("PRIMARY_KEY").doesNotContain("tableScan");
+
+        String byName = plan("select * from users u where u.name >= 'kim050' and u.name < 'kim\uffff' "
+                + "and (u.name > 'kim050' or u.id > 51) order by u.name, u.id fetch first 21 rows only");
+        assertThat(byName).containsIgnoringCase("IDX_USERS_NAME_ID").doesNotContain("tableScan");
+
+        String byEmail = plan("select * from users u where u.email >= 'u1' and u.email < 'u1\uffff' "
+                + "and (u.email > 'u1' or u.id > 0) order by u.email, u.id fetch first 21 rows only");
+        assertThat(byEmail).containsIgnoringCase("IDX_USERS_EMAIL_ID").doesNotContain("tableScan");
+    }
+
+    private List<JsonNode> walk(String url) throws Exception {
+        List<JsonNode> users = new ArrayList<>();
+        String next = url;
+        int pages = 0;
+        while (next != null) {
+            MvcResult result = mockMvc.perform(get(next)).andExpect(status().isOk()).andReturn();
+            objectMapper.readTree(result.getResponse().getContentAsString()).forEach(users::add);
+            next = nextLink(result);
+            assertThat(++pages).isLessThan(100);
+        }
+        return users;
+    }
+
+    private static String nextLink(MvcResult result) {
+        String link = result.getResponse().getHeader(HttpHeaders.LINK);
+        if (link == null) {
+            return null;
+        }
+        Matcher matcher = NEXT_LINK.matcher(link);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1).replaceFirst("^https?://[^/]+", "");
+    }
+
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
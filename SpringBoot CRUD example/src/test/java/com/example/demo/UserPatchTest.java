@@ -0,0 +1,220 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시 요청이 실제로 겹치도록 MockMvc 대신 내장 서버에 HTTP 로 보낸다
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:patch",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // 커밋 후 읽기 모델 재조회 쿼리가 통계에 섞이지 않게 끈다
+        "app.read-model.enabled=false"
+})
+class UserPatchTest {
+
+    private static final int WRITERS = 8;
+    private static final int UPDATES_PER_WRITER = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("insert into users (name, email) values ('kim', 'kim@example.com')");
+        id = jdbcTemplate.queryForObject("select id from users", Long.class);
+    }
+
+    @Test
+    void patchUpdatesOnlyGivenFieldsInOneStatement() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        HttpResponse<String> response = patch(id, "{\"email\":\"new@example.com\"}", "\"0\"");
+
+        assertThat(response.statusCode()).isEqualTo(204);
+        assertThat(response.headers().firstValue("ETag")).hasValue("\"1\"");
+        // 쓰기는 SELECT 없이 조건부 UPDATE 한 번 (엔티티를 읽지 않는다).
+        // 나머지 한 번은 같은 트랜잭션에서 변경 스트림 이벤트에 담을 회원 조회
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        JsonNode user = objectMapper.readTree(get(id).body());
+        assertThat(user.get("name").asText()).isEqualTo("kim");
+        assertThat(user.get("email").asText()).isEqualTo("new@example.com");
+        assertThat(user.get("version").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsMissingOrStalePreconditions() throws Exception {
+        assertThat(patch(id, "{\"name\":\"a\"}", null).statusCode()).isEqualTo(428);
+        assertThat(patch(id, "{\"name\":\"a\"}", "*").statusCode()).isEqualTo(428);
+        assertThat(patch(id, "{\"name\":\"a\"}", "W/\"0\"").statusCode()).isEqualTo(412);
+        assertThat(patch(id, "{\"name\":\"a\"}", "\"5\"").statusCode()).isEqualTo(412);
+        assertThat(patch(id + 1_000, "{\"name\":\"a\"}", "\"0\"").statusCode()).isEqualTo(404);
+        assertThat(patch(id, "{}", "\"0\"").statusCode()).isEqualTo(400);
+
+        assertThat(objectMapper.readTree(get(id).body()).get("name").asText()).isEqualTo("kim");
+    }
+
+    @Test
+    void concurrentPatchesOfTheSameVersionHaveExactlyOneWinner() throws Exception {
+        int requests = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String body = "{\"name\":\"writer" + i + "\"}";
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return patch(id, body, "\"0\"").statusCode();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> status : statuses) {
+                results.add(status.get(60, TimeUnit.SECONDS));
+            }
+            assertThat(results).filteredOn(status -> status == 204).hasSize(1);
+            assertThat(results).filteredOn(status -> status == 412).hasSize(requests - 1);
+            assertThat(jdbcTemplate.queryForObject("select version from users where id = ?", Long.class, id)).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentUnconditionalPutsAllSucceed() throws Exception {
+        int requests = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String body = "{\"name\":\"writer" + i + "\",\"email\":\"writer" + i + "@example.com\"}";
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return put(id, body).statusCode();
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(60, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // If-Match 없는 PUT 은 버전 충돌(500) 없이 모두 적용되고, 나중에 커밋된 쪽이 남는다
+        assertThat(jdbcTemplate.queryForObject("select version from users where id = ?", Long.class, id)).isEqualTo(requests);
+        JsonNode user = objectMapper.readTree(get(id).body());
+        assertThat(user.get("email").asText()).isEqualTo(user.get("name").asText() + "@example.com");
+    }
+
+    @Test
+    void retryingWritersNeverLoseAnUpdate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        Set<String> grantedVersions = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<Integer>> conflicts = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                conflicts.add(executor.submit(() -> {
+                    int conflict = 0;
+                    for (int n = 0; n < UPDATES_PER_WRITER; ) {
+                        // 최신 ETag 를 받아 그 버전을 조건으로 수정, 412 면 다시 읽고 재시도
+                        String eTag = get(id).headers().firstValue("ETag").orElseThrow();
+                        HttpResponse<String> response = patch(id, "{\"name\":\"w" + writer + "-" + n + "\"}", eTag);
+                        if (response.statusCode() == 204) {
+                            grantedVersions.add(response.headers().firstValue("ETag").orElseThrow());
+                            n++;
+                        } else {
+                            assertThat(response.statusCode()).isEqualTo(412);
+                            conflict++;
+                        }
+                    }
+                    return conflict;
+                }));
+            }
+            for (Future<Integer> conflict : conflicts) {
+                conflict.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = WRITERS * UPDATES_PER_WRITER;
+        // 성공한 수정마다 서로 다른 새 버전을 받았고, 최종 버전이 성공 횟수와 같다 = 덮어쓴 수정이 없다
+        assertThat(grantedVersions).containsExactlyInAnyOrderElementsOf(
+                LongStream.rangeClosed(1, total).mapToObj(v -> "\"" + v + "\"").toList());
+        assertThat(jdbcTemplate.queryForObject("select version from users where id = ?", Long.class, id)).isEqualTo(total);
+    }
+
+    private HttpResponse<String> get(long id) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(id)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> patch(long id, String body, String ifMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(id))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body));
+        if (ifMatch != null) {
+            request.header("If-Match", ifMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> put(long id, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(long id) {
+        return URI.create("http://localhost:" + port + "/api/users/" + id);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo;
+
+import com.example.demo.dto.UserDTO;
+import com.example.demo.service.UserReadModel;
+import com.example.demo.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커넥션 풀보다 많은 요청이 동시에 커밋해도 읽기 모델 갱신이 커넥션을 더 기다리지 않는지
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-model-pool",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+class UserReadModelPoolTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserReadModel userReadModel;
+
+    @Test
+    void writersBeyondPoolSizeAllCommitAndReachTheSnapshot() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDTO>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                String name = "user" + i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return userService.createUser(name, name + "@example.com");
+                }));
+            }
+            start.countDown();
+
+            List<UserDTO> created = new ArrayList<>();
+            for (Future<UserDTO> result : results) {
+                created.add(result.get(30, TimeUnit.SECONDS));
+            }
+
+            assertThat(userReadModel.awaitRefreshed(Duration.ofSeconds(10))).isTrue();
+            assertThat(userReadModel.isActive()).isTrue();
+            for (UserDTO user : created) {
+                assertThat(userReadModel.user(user.getId())).isNotNull();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
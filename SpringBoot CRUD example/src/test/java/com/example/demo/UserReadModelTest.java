@@ -0,0 +1,159 @@
+package com.example.demo;
+
+import com.example.demo.service.UserReadModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-model",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class UserReadModelTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserReadModel userReadModel;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+        userReadModel.reload();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listIsServedFromSnapshotWithoutQueries() throws Exception {
+        long id = create("kim", "kim@example.com");
+        create("lee", "lee@example.com");
+        // 스냅샷 반영은 갱신 스레드가 하므로 끝날 때까지 기다린다 (그 전까지는 DB 에서 읽는다)
+        assertThat(userReadModel.awaitRefreshed(Duration.ofSeconds(5))).isTrue();
+
+        statistics.clear();
+        JsonNode first = list(get("/api/users"));
+        JsonNode second = list(get("/api/users"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(first).isEqualTo(second);
+        assertThat(first).hasSize(2);
+        assertThat(first.get(0).get("id").asLong()).isEqualTo(id);
+        assertThat(first.get(0).get("name").asText()).isEqualTo("kim");
+    }
+
+    @Test
+    void usersPageIsServedFromSnapshotWithoutQueries() throws Exception {
+        create("kim", "kim@example.com");
+        assertThat(userReadModel.awaitRefreshed(Duration.ofSeconds(5))).isTrue();
+
+        statistics.clear();
+        String html = mockMvc.perform(get("/users")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(html).contains("kim@example.com");
+    }
+
+    @Test
+    void writesAreVisibleAfterCommit() throws Exception {
+        long kim = create("kim", "kim@example.com");
+        long lee = create("lee", "lee@example.com");
+
+        mockMvc.perform(put("/api/users/{id}", kim).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"kim2\",\"email\":\"kim2@example.com\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/users/{id}", lee)).andExpect(status().isOk());
+
+        JsonNode users = list(get("/api/users"));
+        assertThat(users).hasSize(1);
+        assertThat(users.get(0).get("name").asText()).isEqualTo("kim2");
+    }
+
+    @Test
+    void bulkWritesRefreshTheSnapshot() throws Exception {
+        mockMvc.perform(post("/api/users/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\",\"email\":\"a@x.com\"},{\"name\":\"b\",\"email\":\"b@x.com\"}]"))
+                .andExpect(status().isOk());
+
+        assertThat(list(get("/api/users"))).extracting(u -> u.get("name").asText()).containsExactly("a", "b");
+    }
+
+    @Test
+    void servesPreGzippedBytesWhenAccepted() throws Exception {
+        create("kim", "kim@example.com");
+        String plain = mockMvc.perform(get("/api/users")).andReturn().getResponse().getContentAsString();
+
+        MvcResult gzipped = mockMvc.perform(get("/api/users").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        byte[] body = gzipped.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes())).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    void filteredListsStillQueryTheDatabase() throws Exception {
+        create("kim", "kim@example.com");
+
+        statistics.clear();
+        JsonNode users = list(get("/api/users").param("name", "ki"));
+
+        assertThat(users).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    private long create(String name, String email) throws Exception {
+        String body = mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private JsonNode list(RequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.BulkResult;
+import com.example.demo.dto.UserDTO;
+import com.example.demo.service.UserBulkService;
+import com.example.demo.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회원 생성 처리량 비교: 지금까지의 야간 동기화처럼 한 건씩 createUser 를 호출하는 경우와
+ * 일괄 생성(시퀀스 id + JDBC 배치 + 청크 flush/clear). 수정/삭제도 일괄 경로의 처리량을 함께 출력한다.
+ * 실행: gradle benchmark -Dbench.bulk.users=10000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-bench",
+        "spring.jpa.show-sql=false"
+})
+class UserBulkBenchmark {
+
+    private static final int USERS = Integer.getInteger("bench.bulk.users", 10_000);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserBulkService userBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bulkCreateOutrunsPerRowCreate() {
+        // 워밍업
+        userBulkService.createUsers(users("warm", 1000));
+        for (int i = 0; i < 1000; i++) {
+            userService.createUser("warm" + i, "warm" + i + "@example.com");
+        }
+        jdbcTemplate.update("delete from users");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < USERS; i++) {
+            userService.createUser("row" + i, "row" + i + "@example.com");
+        }
+        long perRow = System.nanoTime() - start;
+
+        List<UserDTO> batch = users("bulk", USERS);
+        start = System.nanoTime();
+        BulkResult created = userBulkService.createUsers(batch);
+        long bulk = System.nanoTime() - start;
+
+        List<UserDTO> updates = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        created.getItems().forEach(item -> {
+            updates.add(new UserDTO(item.getId(), "renamed" + item.getIndex(), "renamed" + item.getIndex() + "@example.com"));
+            ids.add(item.getId());
+        });
+        start = System.nanoTime();
+        BulkResult updated = userBulkService.updateUsers(updates);
+        long bulkUpdate = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        BulkResult deleted = userBulkService.deleteUsers(ids);
+        long bulkDelete = System.nanoTime() - start;
+
+        assertThat(created.getFailed()).isZero();
+        assertThat(updated.getFailed()).isZero();
+        assertThat(deleted.getFailed()).isZero();
+        System.out.printf("%-16s %10s %12s%n", "path", "elapsed", "rows/s");
+        print("per-row create", perRow);
+        print("bulk create", bulk);
+        print("bulk update", bulkUpdate);
+        print("bulk delete", bulkDelete);
+
+        assertThat(bulk).isLessThan(perRow);
+    }
+
+    private static void print(String name, long nanos) {
+        System.out.printf("%-16s %8.1fms %12.0f%n", name, nanos / 1e6, USERS / (nanos / 1e9));
+    }
+
+    private static List<UserDTO> users(String prefix, int count) {
+        List<UserDTO> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new UserDTO(null, prefix + i, prefix + i + "@example.com"));
+        }
+        return users;
+    }
+}
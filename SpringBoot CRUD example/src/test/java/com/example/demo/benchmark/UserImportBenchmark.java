@@ -0,0 +1,105 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.UserImportStatus;
+import com.example.demo.entity.UserImportJob;
+import com.example.demo.importer.CsvChunker;
+import com.example.demo.importer.UserCsvChunkParser;
+import com.example.demo.service.UserImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV 가져오기 처리량. 같은 파일로 (1) 매핑 + 병렬 파싱만 한 경우와 (2) DB insert 까지 포함한 전체 파이프라인의
+ * MB/s, rows/s 를 출력한다. 파싱이 쓰기보다 충분히 빨라야 쓰기 스레드가 쉬지 않는다.
+ * 실행: gradle benchmark -Dbench.import.rows=1000000 -Dbench.import.chunk-size=4MB
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-bench",
+        "spring.jpa.show-sql=false",
+        "app.import.dir=build/tmp/import-bench",
+        "app.import.chunk-size=${bench.import.chunk-size:4MB}"
+})
+class UserImportBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.import.rows", 1_000_000);
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Test
+    void reportsParseAndEndToEndThroughput() throws Exception {
+        Path dir = Files.createDirectories(Path.of("build/tmp/import-bench"));
+        Path file = dir.resolve("bench-users.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,email\r\n");
+            for (int i = 1; i <= ROWS; i++) {
+                writer.write(i + ",user" + i + ",user" + i + "@example.com\r\n");
+            }
+        }
+        double megabytes = Files.size(file) / (1024.0 * 1024.0);
+
+        long start = System.nanoTime();
+        long parsed = parseOnly(file);
+        long parseNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        UserImportStatus status = userImportService.startLocal(file.getFileName().toString());
+        while (status.getStatus() == UserImportJob.Status.PENDING || status.getStatus() == UserImportJob.Status.RUNNING) {
+            Thread.sleep(20);
+            status = userImportService.getStatus(status.getId());
+        }
+        long importNanos = System.nanoTime() - start;
+
+        assertThat(parsed).isEqualTo(ROWS);
+        assertThat(status.getStatus()).isEqualTo(UserImportJob.Status.COMPLETED);
+        assertThat(status.getRowsImported()).isEqualTo(ROWS);
+        System.out.printf("file %.1fMB, %d rows, %d chunks, %d cores%n", megabytes, ROWS, status.getTotalChunks(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s %10s %10s %12s%n", "stage", "elapsed", "MB/s", "rows/s");
+        print("parse-only", parseNanos, megabytes);
+        print("end-to-end", importNanos, megabytes);
+    }
+
+    private static long parseOnly(Path file) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvChunker.Layout layout = CsvChunker.split(channel, 4 * 1024 * 1024);
+            int name = layout.columnIndex("name");
+            int email = layout.columnIndex("email");
+            ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            try {
+                List<CsvChunker.Chunk> chunks = layout.chunks();
+                return pool.submit(() -> chunks.parallelStream()
+                        .mapToLong(chunk -> {
+                            try {
+                                return new UserCsvChunkParser(name, email, layout.header().size())
+                                        .parse(channel, chunk).users().size();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        })
+                        .sum()).get();
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void print(String stage, long nanos, double megabytes) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-12s %8.1fms %10.1f %12.0f%n", stage, nanos / 1e6, megabytes / seconds, ROWS / seconds);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.UserDTO;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회 경로 비교: 예전 방식(읽기/쓰기 트랜잭션에서 엔티티를 읽어 손으로 DTO 복사)과
+ * 지금 방식(readOnly 트랜잭션 + 생성자 프로젝션). 단건 조회와 한 페이지 조회의 지연 시간 중앙값과
+ * 호출당 할당 바이트를 출력한다.
+ * 실행: gradle benchmark -Dbench.read.users=100000 -Dbench.read.page-size=100
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        // 같은 쿼리의 결과 재사용을 끄고 매번 실제로 실행
+        "spring.datasource.url=jdbc:h2:mem:read-path-bench;OPTIMIZE_REUSE_RESULTS=FALSE",
+        "spring.jpa.show-sql=false"
+})
+class UserReadPathBenchmark {
+
+    private static final int USERS = Integer.getInteger("bench.read.users", 100_000);
+    private static final int PAGE_SIZE = Integer.getInteger("bench.read.page-size", UserService.MAX_PAGE_LIMIT);
+    private static final int REPEAT = Integer.getInteger("bench.read.repeat", 500);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void projectionPathAllocatesLessThanEntityPath() {
+        seed();
+        long id = jdbcTemplate.queryForObject("select id from users order by id offset ? rows fetch next 1 row only",
+                Long.class, USERS / 2);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // 예전 경로: 엔티티 로딩(영속성 컨텍스트 + 스냅샷) -> 커밋 시 flush/더티 체킹 -> 손으로 복사
+        Result entityById = measure(() -> readWrite.execute(status -> {
+            User u = userRepository.findById(id).orElseThrow();
+            return new UserDTO(u.getId(), u.getName(), u.getEmail());
+        }));
+        Result entityPage = measure(() -> readWrite.execute(status -> entityManager
+                .createQuery("select u from User u where u.id > :afterId order by u.id", User.class)
+                .setParameter("afterId", id)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultList()
+                .stream()
+                .map(u -> new UserDTO(u.getId(), u.getName(), u.getEmail()))
+                .toList()));
+
+        // 지금 경로: readOnly 트랜잭션 + 생성자 프로젝션
+        Result projectionById = measure(() -> userService.getUserById(id));
+        Result projectionPage = measure(() -> userService.getUsers(null, PAGE_SIZE, null, null));
+
+        assertThat(userService.getUsers(null, PAGE_SIZE, null, null).getUsers()).hasSize(PAGE_SIZE);
+        System.out.printf("%-22s %12s %14s%n", "path", "median", "alloc/call");
+        print("entity by id", entityById);
+        print("projection by id", projectionById);
+        print("entity page(" + PAGE_SIZE + ")", entityPage);
+        print("projection page(" + PAGE_SIZE + ")", projectionPage);
+
+        assertThat(projectionPage.bytesPerCall).isLessThan(entityPage.bytesPerCall);
+    }
+
+    private Result measure(Supplier<?> call) {
+        for (int i = 0; i < REPEAT; i++) {
+            call.get();
+        }
+        long[] samples = new long[REPEAT];
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < REPEAT; i++) {
+            long start = System.nanoTime();
+            call.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Arrays.sort(samples);
+        return new Result(samples[REPEAT / 2], allocated / REPEAT);
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("%-22s %10.3fms %12dB%n", name, result.medianNanos / 1e6, result.bytesPerCall);
+    }
+
+    private void seed() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            rows.add(new Object[]{"bench-" + i, "bench-" + i + "@example.com"});
+            if (rows.size() == 5000 || i == USERS - 1) {
+                jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private record Result(long medianNanos, long bytesPerCall) {
+    }
+}
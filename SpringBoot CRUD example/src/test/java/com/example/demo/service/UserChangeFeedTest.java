@@ -0,0 +1,213 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserChangeFeedTest {
+
+    private UserChangeFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void slowSubscriberKeepsOnlyTheNewestEventsWhenDroppingOldest() throws Exception {
+        feed = feed(100, 4, UserChangeFeed.Overflow.DROP_OLDEST);
+        RecordingEmitter emitter = new RecordingEmitter(true);
+        feed.subscribe(emitter, null);
+
+        deleted(1);
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // 첫 이벤트를 보내는 중(막힘)에 9건 더: 버퍼 4 건만 남는다
+        LongStream.rangeClosed(2, 10).forEach(this::deleted);
+        emitter.release.countDown();
+
+        assertThat(emitter.awaitEvents(5)).containsExactly(
+                feed.eventId(1), feed.eventId(7), feed.eventId(8), feed.eventId(9), feed.eventId(10));
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWhenConfigured() throws Exception {
+        feed = feed(100, 4, UserChangeFeed.Overflow.DISCONNECT);
+        RecordingEmitter slow = new RecordingEmitter(true);
+        RecordingEmitter fast = new RecordingEmitter(false);
+        feed.subscribe(slow, null);
+        feed.subscribe(fast, null);
+
+        deleted(1);
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // 제때 받아 가는 구독자 속도에 맞춰 발행: 느린 구독자만 버퍼(4)를 넘긴다
+        for (int id = 2; id <= 6; id++) {
+            deleted(id);
+            assertThat(fast.awaitEvents(id)).hasSize(id);
+        }
+
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+        // 보내던 이벤트가 끝나면 연결을 닫는다
+        slow.release.countDown();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void stalledSubscribersBeyondSenderThreadsDoNotStopDelivery() throws Exception {
+        // 발송 스레드 2개보다 많은 3개 구독자가 받지 않는다
+        feed = feed(100, 4, UserChangeFeed.Overflow.DROP_OLDEST, 2, Duration.ofMillis(200));
+        List<RecordingEmitter> stalled = List.of(new RecordingEmitter(true), new RecordingEmitter(true), new RecordingEmitter(true));
+        stalled.forEach(emitter -> feed.subscribe(emitter, null));
+        RecordingEmitter fast = new RecordingEmitter(false);
+        feed.subscribe(fast, null);
+
+        deleted(1);
+
+        assertThat(fast.awaitEvents(1)).containsExactly(feed.eventId(1));
+        deleted(2);
+        assertThat(fast.awaitEvents(2)).containsExactly(feed.eventId(1), feed.eventId(2));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.subscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+
+        // 멈췄던 send 가 끝나면 그 연결은 닫힌다
+        for (RecordingEmitter emitter : stalled) {
+            emitter.release.countDown();
+            assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void backlogOfOneSubscriberDoesNotDelayOthers() throws Exception {
+        feed = feed(1000, 1000, UserChangeFeed.Overflow.DROP_OLDEST, 1, Duration.ofMinutes(1));
+        LongStream.rangeClosed(1, 300).forEach(this::deleted);
+        // 300 건을 이어받는 구독자 (건당 2ms)
+        RecordingEmitter behind = new RecordingEmitter(false);
+        behind.delayMillis = 2;
+        feed.subscribe(behind, feed.eventId(0));
+        RecordingEmitter live = new RecordingEmitter(false);
+        feed.subscribe(live, null);
+
+        deleted(301);
+
+        // 발송 스레드가 하나뿐이어도 밀린 구독자가 다 받을 때까지 기다리지 않는다
+        assertThat(live.awaitEvents(1)).containsExactly(feed.eventId(301));
+        assertThat(behind.ids.size()).isLessThan(300);
+        assertThat(behind.awaitEvents(301)).hasSize(301);
+    }
+
+    @Test
+    void resumesFromTheRingOrAsksForReset() throws Exception {
+        feed = feed(5, 100, UserChangeFeed.Overflow.DROP_OLDEST);
+        LongStream.rangeClosed(1, 8).forEach(this::deleted);
+
+        RecordingEmitter resumed = new RecordingEmitter(false);
+        feed.subscribe(resumed, feed.eventId(5));
+        assertThat(resumed.awaitEvents(3)).containsExactly(feed.eventId(6), feed.eventId(7), feed.eventId(8));
+
+        // 링에는 4~8 만 남아 있다: 3 까지 본 클라이언트는 이어받을 수 있고 2 까지 본 클라이언트는 reset
+        RecordingEmitter edge = new RecordingEmitter(false);
+        feed.subscribe(edge, feed.eventId(3));
+        assertThat(edge.awaitEvents(5)).hasSize(5).startsWith(feed.eventId(4));
+
+        RecordingEmitter tooOld = new RecordingEmitter(false);
+        feed.subscribe(tooOld, feed.eventId(2));
+        assertThat(tooOld.awaitEvents(1)).containsExactly(feed.eventId(8));
+        assertThat(tooOld.names).containsExactly("reset");
+
+        RecordingEmitter otherEpoch = new RecordingEmitter(false);
+        feed.subscribe(otherEpoch, "zzz-3");
+        otherEpoch.awaitEvents(1);
+        assertThat(otherEpoch.names).containsExactly("reset");
+    }
+
+    private void deleted(long id) {
+        feed.publish(List.of(new UserChangeEvent(UserChangeEvent.Type.DELETED, id, null)));
+    }
+
+    private static UserChangeFeed feed(int history, int buffer, UserChangeFeed.Overflow overflow) {
+        return feed(history, buffer, overflow, 2, Duration.ofMinutes(1));
+    }
+
+    private static UserChangeFeed feed(int history, int buffer, UserChangeFeed.Overflow overflow,
+                                       int senderThreads, Duration sendTimeout) {
+        return new UserChangeFeed(new ObjectMapper(), history, buffer, overflow,
+                Duration.ofMinutes(1), Duration.ZERO, senderThreads, sendTimeout);
+    }
+
+    /**
+     * 보낸 이벤트의 id 를 기록하는 emitter. blocking 이면 release 될 때까지 send 가 막힌다 (느린 클라이언트)
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final List<String> ids = Collections.synchronizedList(new ArrayList<>());
+        final List<String> names = Collections.synchronizedList(new ArrayList<>());
+        private final boolean blocking;
+        volatile long delayMillis;
+
+        RecordingEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                if (blocking) {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("event:")) {
+                    names.add(line.substring(6));
+                }
+            }
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("id:")) {
+                    ids.add(line.substring(3));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        List<String> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (ids.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            synchronized (ids) {
+                return List.copyOf(ids);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 창은 사실상 닫히지 않게(1시간) 두고 flush() 로 직접 닫아, 스레드가 언제 도착하든 결과가 같게 한다
+class UserLoaderBatchingTest {
+
+    private static final int THREADS = 24;
+
+    private final List<List<Long>> queries = Collections.synchronizedList(new ArrayList<>());
+    // 열려 있지 않으면 첫 조회가 여기서 멈춘다 (이미 보낸 조회가 진행 중인 상황)
+    private final CountDownLatch firstQueryGate = new CountDownLatch(1);
+    private boolean blockFirstQuery;
+    private Duration timeout = Duration.ofSeconds(5);
+    private UserLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        firstQueryGate.countDown();
+        loader.shutdown();
+    }
+
+    @Test
+    void concurrentLoadsOfTheSameIdShareOneQuery() throws Exception {
+        loader = loader(Duration.ofHours(1), 500);
+
+        List<CompletableFuture<UserDTO>> futures = concurrently(i -> 7L);
+        loader.flush();
+
+        for (CompletableFuture<UserDTO> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS).getName()).isEqualTo("user7");
+        }
+        assertThat(queries).containsExactly(List.of(7L));
+    }
+
+    @Test
+    void distinctIdsInOneWindowShareOneQuery() throws Exception {
+        loader = loader(Duration.ofHours(1), 500);
+
+        List<CompletableFuture<UserDTO>> futures = concurrently(i -> i + 1L);
+        loader.flush();
+
+        for (int i = 0; i < THREADS; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS).getId()).isEqualTo(i + 1L);
+        }
+        assertThat(queries).singleElement()
+                .satisfies(ids -> assertThat(ids).containsExactlyInAnyOrderElementsOf(
+                        LongStream.rangeClosed(1, THREADS).boxed().toList()));
+    }
+
+    @Test
+    void fullBatchesAreSentWithoutWaitingForTheWindow() throws Exception {
+        loader = loader(Duration.ofHours(1), 8);
+
+        List<CompletableFuture<UserDTO>> futures = concurrently(i -> i + 1L);
+
+        // 8개씩 가득 찬 묶음 3개는 flush 없이 바로 조회된다
+        for (CompletableFuture<UserDTO> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isNotNull();
+        }
+        assertThat(queries).hasSize(THREADS / 8).allSatisfy(ids -> assertThat(ids).hasSize(8));
+    }
+
+    @Test
+    void windowClosesByItself() {
+        loader = loader(Duration.ofMillis(20), 500);
+
+        assertThat(loader.get(3).getName()).isEqualTo("user3");
+        assertThat(loader.get(999)).isNull();
+        assertThat(queries).hasSize(2);
+    }
+
+    @Test
+    void loadsAfterDispatchDoNotJoinTheRunningQuery() throws Exception {
+        blockFirstQuery = true;
+        loader = loader(Duration.ofHours(1), 500);
+
+        CompletableFuture<UserDTO> before = loader.load(7);
+        loader.flush();
+        awaitQueries(1);
+
+        // 첫 조회가 진행 중이어도(그 전에 시작됐으므로 이후 커밋을 못 봤을 수 있다) 붙지 않고 새로 조회한다
+        CompletableFuture<UserDTO> after = loader.load(7);
+        loader.flush();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.get(5, TimeUnit.SECONDS).getName()).isEqualTo("user7");
+        assertThat(before).isNotDone();
+        firstQueryGate.countDown();
+        assertThat(before.get(5, TimeUnit.SECONDS).getName()).isEqualTo("user7");
+        assertThat(queries).containsExactly(List.of(7L), List.of(7L));
+    }
+
+    @Test
+    void stuckQueryTimesOutWith503() {
+        blockFirstQuery = true;
+        timeout = Duration.ofMillis(100);
+        loader = loader(Duration.ZERO, 500);
+
+        assertThatThrownBy(() -> loader.get(3))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private UserLoader loader(Duration window, int maxBatchSize) {
+        return new UserLoader(ids -> {
+            boolean first;
+            synchronized (queries) {
+                first = queries.isEmpty();
+                queries.add(List.copyOf(ids));
+            }
+            if (first && blockFirstQuery) {
+                try {
+                    firstQueryGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return ids.stream()
+                    .filter(id -> id < 100)
+                    .map(id -> new UserDTO(id, "user" + id, "user" + id + "@example.com", 0L))
+                    .toList();
+        }, window, maxBatchSize, 2, timeout);
+    }
+
+    private void awaitQueries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queries.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(queries).hasSize(count);
+    }
+
+    // THREADS 개 스레드가 동시에 load 를 호출하고, 모두 예약을 마칠 때까지 기다린다
+    private List<CompletableFuture<UserDTO>> concurrently(IntToLongFunction idOf) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CompletableFuture<UserDTO>>> submitted = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                long id = idOf.applyAsLong(i);
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return loader.load(id);
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<UserDTO>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<UserDTO>> future : submitted) {
+                futures.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return futures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
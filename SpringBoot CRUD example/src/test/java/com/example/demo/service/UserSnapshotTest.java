@@ -0,0 +1,99 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSnapshotTest {
+
+    private static final int SEGMENT = UserSnapshot.SEGMENT_SIZE;
+
+    @Test
+    void singleUpdateCopiesOnlyTheTouchedSegment() {
+        UserSnapshot before = snapshot(1, SEGMENT * 4);
+        TreeMap<Long, UserSnapshot.Entry> changes = new TreeMap<>();
+        changes.put((long) SEGMENT + 10, entry(SEGMENT + 10, "renamed"));
+
+        UserSnapshot after = before.apply(changes);
+
+        assertThat(after.size()).isEqualTo(before.size());
+        assertThat(after.segments()).hasSize(4);
+        for (int i = 0; i < 4; i++) {
+            if (i == 1) {
+                assertThat(after.segments().get(i)).isNotSameAs(before.segments().get(i));
+            } else {
+                assertThat(after.segments().get(i)).isSameAs(before.segments().get(i));
+            }
+        }
+        assertThat(after.page(SEGMENT + 9, 1).get(0).user().getName()).isEqualTo("renamed");
+        // 이전 스냅샷은 그대로
+        assertThat(before.page(SEGMENT + 9, 1).get(0).user().getName()).isEqualTo("user" + (SEGMENT + 10));
+    }
+
+    @Test
+    void appendsSplitTheLastSegmentAndDeletesDropEmptySegments() {
+        UserSnapshot snapshot = snapshot(1, SEGMENT * 2);
+        TreeMap<Long, UserSnapshot.Entry> changes = new TreeMap<>();
+        LongStream.rangeClosed(SEGMENT * 2L + 1, SEGMENT * 5L).forEach(id -> changes.put(id, entry(id, "user" + id)));
+        // 첫 세그먼트 전체 삭제
+        LongStream.rangeClosed(1, SEGMENT).forEach(id -> changes.put(id, null));
+
+        UserSnapshot after = snapshot.apply(changes);
+
+        assertThat(after.size()).isEqualTo(SEGMENT * 4);
+        assertThat(after.segments()).allMatch(segment -> segment.entries.length < SEGMENT * 2);
+        assertThat(after.segments().get(0).firstId()).isEqualTo(SEGMENT + 1);
+        assertThat(ids(after.page(0, Integer.MAX_VALUE)))
+                .containsExactlyElementsOf(LongStream.rangeClosed(SEGMENT + 1, SEGMENT * 5L).boxed().toList());
+    }
+
+    @Test
+    void pagesCrossSegmentBoundariesAndSkipGaps() {
+        List<UserSnapshot.Entry> entries = new ArrayList<>();
+        for (long id = 2; id <= SEGMENT * 6L; id += 2) {
+            entries.add(entry(id, "user" + id));
+        }
+        UserSnapshot snapshot = UserSnapshot.of(entries);
+
+        assertThat(ids(snapshot.page(SEGMENT * 2L - 3, 4)))
+                .containsExactly(SEGMENT * 2L - 2, SEGMENT * 2L, SEGMENT * 2L + 2, SEGMENT * 2L + 4);
+        assertThat(ids(snapshot.page(0, 2))).containsExactly(2L, 4L);
+        assertThat(snapshot.page(SEGMENT * 6L, 10)).isEmpty();
+        assertThat(UserSnapshot.EMPTY.page(0, 10)).isEmpty();
+    }
+
+    @Test
+    void getFindsEntriesAcrossSegments() {
+        UserSnapshot snapshot = snapshot(10, SEGMENT * 3L);
+
+        assertThat(snapshot.get(10).id()).isEqualTo(10);
+        assertThat(snapshot.get(SEGMENT * 2L).id()).isEqualTo(SEGMENT * 2L);
+        assertThat(snapshot.get(5)).isNull();
+        assertThat(snapshot.get(SEGMENT * 3L + 1)).isNull();
+        assertThat(UserSnapshot.EMPTY.get(1)).isNull();
+    }
+
+    private static UserSnapshot snapshot(long from, long to) {
+        List<UserSnapshot.Entry> entries = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            entries.add(entry(id, "user" + id));
+        }
+        return UserSnapshot.of(entries);
+    }
+
+    private static UserSnapshot.Entry entry(long id, String name) {
+        UserDTO user = new UserDTO(id, name, name + "@example.com");
+        return new UserSnapshot.Entry(user, ("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> ids(List<UserSnapshot.Entry> entries) {
+        return entries.stream().map(UserSnapshot.Entry::id).toList();
+    }
+}
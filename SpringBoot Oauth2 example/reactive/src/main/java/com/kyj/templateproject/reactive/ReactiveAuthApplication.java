@@ -0,0 +1,17 @@
+package com.kyj.templateproject.reactive;
+
+import com.kyj.templateproject.auth.security.JwtTokenProvider;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+// 서블릿 모듈과 같은 JWT 발급/검증 로직을 그대로 사용
+@SpringBootApplication
+@Import(JwtTokenProvider.class)
+public class ReactiveAuthApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAuthApplication.class, args);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.kyj.templateproject.reactive.controller;
+
+import com.kyj.templateproject.auth.dto.LoginRequest;
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.dto.TokenResponse;
+import com.kyj.templateproject.auth.dto.UserDto;
+import com.kyj.templateproject.auth.security.CustomUserDetails;
+import com.kyj.templateproject.reactive.service.ReactiveAuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// 서블릿 모듈의 AuthController 와 같은 경로/응답 계약
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    // 로그인
+    @PostMapping("/auth/login")
+    public Mono<ResponseEntity<TokenResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        return authService.login(loginRequest).map(ResponseEntity::ok);
+    }
+
+    // 회원가입
+    @PostMapping("/auth/signup")
+    public Mono<ResponseEntity<String>> signup(@Valid @RequestBody SignupRequest signupRequest) {
+        return authService.signup(signupRequest)
+                .thenReturn(ResponseEntity.ok("회원가입이 완료되었습니다."));
+    }
+
+    // 토큰 갱신
+    @PostMapping("/auth/refresh")
+    public Mono<ResponseEntity<TokenResponse>> refreshToken(@RequestParam String refreshToken) {
+        return authService.refreshToken(refreshToken).map(ResponseEntity::ok);
+    }
+
+    // 로그아웃
+    @PostMapping("/auth/logout")
+    public Mono<ResponseEntity<Void>> logout(@RequestParam String refreshToken) {
+        return authService.logout(refreshToken)
+                .thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    // 내 정보 조회
+    @GetMapping("/users/me")
+    public Mono<ResponseEntity<UserDto.UserInfoResponse>> getMyInfo(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        return authService.getUserInfo(userDetails.getId()).map(ResponseEntity::ok);
+    }
+
+    // 비밀번호 변경
+    @PostMapping("/users/password")
+    public Mono<ResponseEntity<String>> changePassword(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestBody UserDto.PasswordChangeRequest request) {
+        return authService.changePassword(userDetails.getId(), request)
+                .thenReturn(ResponseEntity.ok("비밀번호가 변경되었습니다."));
+    }
+
+    // 프로필 업데이트
+    @PutMapping("/users/profile")
+    public Mono<ResponseEntity<UserDto.UserInfoResponse>> updateProfile(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestBody UserDto.ProfileUpdateRequest request) {
+        return authService.updateProfile(userDetails.getId(), request).map(ResponseEntity::ok);
+    }
+
+    // 회원 탈퇴 (계정 비활성화)
+    @DeleteMapping("/users/me")
+    public Mono<ResponseEntity<String>> deactivateAccount(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        return authService.deactivateAccount(userDetails.getId())
+                .thenReturn(ResponseEntity.ok("회원 탈퇴가 완료되었습니다."));
+    }
+}
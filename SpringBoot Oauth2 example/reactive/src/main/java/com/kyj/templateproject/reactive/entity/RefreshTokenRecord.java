@@ -0,0 +1,27 @@
+package com.kyj.templateproject.reactive.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshTokenRecord {
+
+    @Id
+    private Long id;
+
+    private String token;
+
+    private Long userId;
+
+    private LocalDateTime expiryDate;
+
+    private LocalDateTime createdAt;
+}
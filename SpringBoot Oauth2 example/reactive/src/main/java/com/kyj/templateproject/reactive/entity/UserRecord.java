@@ -0,0 +1,59 @@
+package com.kyj.templateproject.reactive.entity;
+
+import com.kyj.templateproject.auth.dto.UserDto;
+import com.kyj.templateproject.auth.entity.User;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("users")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserRecord {
+
+    @Id
+    private Long id;
+
+    private String email;
+
+    private String password;
+
+    private String username;
+
+    private String profileImage;
+
+    private User.UserRole role;
+
+    private User.AuthProvider provider;
+
+    private String providerId;
+
+    private boolean active;
+
+    private boolean emailVerified;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    public UserDto.UserInfoResponse toUserInfo() {
+        return UserDto.UserInfoResponse.builder()
+                .id(id)
+                .email(email)
+                .username(username)
+                .profileImage(profileImage)
+                .role(role)
+                .provider(provider)
+                .emailVerified(emailVerified)
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.kyj.templateproject.reactive.repository;
+
+import com.kyj.templateproject.reactive.entity.RefreshTokenRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenRecordRepository extends ReactiveCrudRepository<RefreshTokenRecord, Long> {
+
+    Mono<RefreshTokenRecord> findByUserId(Long userId);
+
+    // user_id 유니크 제약 위에서 조회 없이 한 번에 발급/교체
+    @Modifying
+    @Query("""
+            merge into refresh_tokens t
+            using (values (cast(:userId as bigint), cast(:token as varchar), cast(:expiryDate as timestamp))) s(user_id, token, expiry_date)
+            on t.user_id = s.user_id
+            when matched then update set token = s.token, expiry_date = s.expiry_date
+            when not matched then insert (user_id, token, expiry_date, created_at)
+                values (s.user_id, s.token, s.expiry_date, current_timestamp)
+            """)
+    Mono<Integer> upsert(@Param("userId") Long userId, @Param("token") String token,
+                         @Param("expiryDate") LocalDateTime expiryDate);
+
+    // 저장된 토큰이 요청 토큰과 같을 때만 교체 (동시 갱신 시 하나만 성공)
+    @Modifying
+    @Query("update refresh_tokens set token = :newToken, expiry_date = :expiryDate where user_id = :userId and token = :oldToken")
+    Mono<Integer> rotate(@Param("userId") Long userId, @Param("oldToken") String oldToken,
+                         @Param("newToken") String newToken, @Param("expiryDate") LocalDateTime expiryDate);
+
+    @Modifying
+    @Query("delete from refresh_tokens where user_id = :userId")
+    Mono<Integer> deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,14 @@
+package com.kyj.templateproject.reactive.repository;
+
+import com.kyj.templateproject.reactive.entity.UserRecord;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface UserRecordRepository extends ReactiveCrudRepository<UserRecord, Long> {
+
+    Mono<UserRecord> findByEmail(String email);
+
+    Mono<Boolean> existsByEmail(String email);
+
+    Mono<Boolean> existsByUsername(String username);
+}
@@ -0,0 +1,69 @@
+package com.kyj.templateproject.reactive.security;
+
+import com.kyj.templateproject.auth.security.CustomUserDetails;
+import com.kyj.templateproject.auth.security.JwtTokenProvider;
+import com.kyj.templateproject.reactive.entity.UserRecord;
+import com.kyj.templateproject.reactive.repository.UserRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+// WebFilter 빈으로 등록하면 보안 체인 밖에서도 한 번 더 실행되므로 SecurityConfig 에서 직접 생성한다
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserRecordRepository userRepository;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange.getRequest());
+
+        if (!StringUtils.hasText(jwt) || !tokenProvider.validateToken(jwt)) {
+            return chain.filter(exchange);
+        }
+
+        Long userId = tokenProvider.getUserIdFromToken(jwt);
+        return userRepository.findById(userId)
+                .filter(UserRecord::isActive)
+                .map(this::toAuthentication)
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                        .thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.TRUE)))
+                .then();
+    }
+
+    private Authentication toAuthentication(UserRecord user) {
+        CustomUserDetails userDetails = new CustomUserDetails(
+                user.getId(),
+                user.getEmail(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getProvider(),
+                user.isActive(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())),
+                null
+        );
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private String getJwtFromRequest(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
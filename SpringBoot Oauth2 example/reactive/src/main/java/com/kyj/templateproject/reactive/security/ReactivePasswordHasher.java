@@ -0,0 +1,46 @@
+package com.kyj.templateproject.reactive.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * BCrypt 는 요청당 수십 ms 를 쓰는 CPU 작업이라 이벤트 루프에서 돌리면 다른 요청이 모두 멈춘다.
+ * 전용 bounded-elastic 스케줄러로 넘기고, 대기열이 가득 차면 RejectedExecutionException 으로 거절한다.
+ */
+@Component
+public class ReactivePasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final Scheduler scheduler;
+
+    public ReactivePasswordHasher(@Value("${app.security.bcrypt.max-concurrency:0}") int maxConcurrency,
+                                  @Value("${app.security.bcrypt.queue-capacity:1000}") int queueCapacity) {
+        // 0 이하이면 코어 수만큼 동시 해시를 허용
+        int threads = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        this.scheduler = Schedulers.newBoundedElastic(threads, queueCapacity, "bcrypt");
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(scheduler);
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,26 @@
+package com.kyj.templateproject.reactive.service;
+
+import com.kyj.templateproject.auth.dto.LoginRequest;
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.dto.TokenResponse;
+import com.kyj.templateproject.auth.dto.UserDto;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAuthService {
+
+    Mono<Void> signup(SignupRequest request);
+
+    Mono<TokenResponse> login(LoginRequest request);
+
+    Mono<TokenResponse> refreshToken(String refreshToken);
+
+    Mono<Void> logout(String refreshToken);
+
+    Mono<UserDto.UserInfoResponse> getUserInfo(Long userId);
+
+    Mono<Void> changePassword(Long userId, UserDto.PasswordChangeRequest request);
+
+    Mono<UserDto.UserInfoResponse> updateProfile(Long userId, UserDto.ProfileUpdateRequest request);
+
+    Mono<Void> deactivateAccount(Long userId);
+}
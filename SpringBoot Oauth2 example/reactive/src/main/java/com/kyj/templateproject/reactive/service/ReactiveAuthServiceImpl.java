@@ -0,0 +1,173 @@
+package com.kyj.templateproject.reactive.service;
+
+import com.kyj.templateproject.auth.dto.LoginRequest;
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.dto.TokenResponse;
+import com.kyj.templateproject.auth.dto.UserDto;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.security.JwtTokenProvider;
+import com.kyj.templateproject.reactive.entity.UserRecord;
+import com.kyj.templateproject.reactive.repository.RefreshTokenRecordRepository;
+import com.kyj.templateproject.reactive.repository.UserRecordRepository;
+import com.kyj.templateproject.reactive.security.ReactivePasswordHasher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveAuthServiceImpl implements ReactiveAuthService {
+
+    private final UserRecordRepository userRepository;
+    private final RefreshTokenRecordRepository refreshTokenRepository;
+    private final ReactivePasswordHasher passwordHasher;
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    public Mono<Void> signup(SignupRequest request) {
+        return userRepository.existsByEmail(request.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.error(new RuntimeException("이미 가입된 이메일입니다."))
+                        : userRepository.existsByUsername(request.getUsername()))
+                .flatMap(exists -> exists
+                        ? Mono.error(new RuntimeException("이미 사용 중인 사용자 이름입니다."))
+                        : passwordHasher.encode(request.getPassword()))
+                .map(encodedPassword -> UserRecord.builder()
+                        .email(request.getEmail())
+                        .password(encodedPassword)
+                        .username(request.getUsername())
+                        .role(User.UserRole.USER)
+                        .provider(User.AuthProvider.LOCAL)
+                        .active(true)
+                        .emailVerified(false)
+                        .build())
+                .flatMap(userRepository::save)
+                .then();
+    }
+
+    // 해시 검증은 전용 스케줄러에서, 토큰 저장은 조회 없이 upsert 한 번으로 처리
+    @Override
+    public Mono<TokenResponse> login(LoginRequest request) {
+        return userRepository.findByEmail(request.getEmail())
+                .filterWhen(user -> passwordHasher.matches(request.getPassword(), user.getPassword()))
+                .filter(UserRecord::isActive)
+                .switchIfEmpty(Mono.error(new BadCredentialsException("Bad credentials")))
+                .flatMap(user -> issueTokens(user.getId()));
+    }
+
+    @Override
+    public Mono<TokenResponse> refreshToken(String refreshToken) {
+        if (!tokenProvider.validateToken(refreshToken)) {
+            return Mono.error(new RuntimeException("유효하지 않은 리프레시 토큰입니다."));
+        }
+
+        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
+        String newAccessToken = tokenProvider.generateTokenFromUserId(userId);
+        String newRefreshToken = tokenProvider.generateRefreshToken(userId);
+
+        return refreshTokenRepository.rotate(userId, refreshToken, newRefreshToken, LocalDateTime.now().plusDays(7))
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(tokenResponse(newAccessToken, newRefreshToken))
+                        : refreshFailure(userId));
+    }
+
+    @Override
+    public Mono<Void> logout(String refreshToken) {
+        if (!tokenProvider.validateToken(refreshToken)) {
+            return Mono.error(new RuntimeException("유효하지 않은 리프레시 토큰입니다."));
+        }
+
+        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
+        return refreshTokenRepository.deleteByUserId(userId).then();
+    }
+
+    @Override
+    public Mono<UserDto.UserInfoResponse> getUserInfo(Long userId) {
+        return findUser(userId, "사용자를 찾을 수 없습니다: " + userId)
+                .map(UserRecord::toUserInfo);
+    }
+
+    @Override
+    public Mono<Void> changePassword(Long userId, UserDto.PasswordChangeRequest request) {
+        return findUser(userId, "사용자를 찾을 수 없습니다.")
+                .filterWhen(user -> passwordHasher.matches(request.getCurrentPassword(), user.getPassword()))
+                .switchIfEmpty(Mono.error(new RuntimeException("현재 비밀번호가 올바르지 않습니다.")))
+                .flatMap(user -> passwordHasher.encode(request.getNewPassword())
+                        .flatMap(encodedPassword -> {
+                            user.setPassword(encodedPassword);
+                            return userRepository.save(user);
+                        }))
+                .then();
+    }
+
+    @Override
+    public Mono<UserDto.UserInfoResponse> updateProfile(Long userId, UserDto.ProfileUpdateRequest request) {
+        return findUser(userId, "사용자를 찾을 수 없습니다.")
+                .flatMap(user -> {
+                    if (request.getUsername() == null || request.getUsername().equals(user.getUsername())) {
+                        return Mono.just(user);
+                    }
+                    return userRepository.existsByUsername(request.getUsername())
+                            .flatMap(exists -> {
+                                if (exists) {
+                                    return Mono.error(new RuntimeException("이미 사용 중인 사용자 이름입니다."));
+                                }
+                                user.setUsername(request.getUsername());
+                                return Mono.just(user);
+                            });
+                })
+                .flatMap(user -> {
+                    if (request.getProfileImage() != null) {
+                        user.setProfileImage(request.getProfileImage());
+                    }
+                    return userRepository.save(user);
+                })
+                .map(UserRecord::toUserInfo);
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deactivateAccount(Long userId) {
+        return findUser(userId, "사용자를 찾을 수 없습니다.")
+                .filter(UserRecord::isActive)
+                .flatMap(user -> {
+                    user.setActive(false);
+                    return userRepository.save(user)
+                            .then(refreshTokenRepository.deleteByUserId(userId));
+                })
+                .then();
+    }
+
+    private Mono<UserRecord> findUser(Long userId, String notFoundMessage) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(new RuntimeException(notFoundMessage)));
+    }
+
+    private Mono<TokenResponse> issueTokens(Long userId) {
+        String accessToken = tokenProvider.generateTokenFromUserId(userId);
+        String refreshToken = tokenProvider.generateRefreshToken(userId);
+
+        return refreshTokenRepository.upsert(userId, refreshToken, LocalDateTime.now().plusDays(7)) // 7일 유효기간
+                .thenReturn(tokenResponse(accessToken, refreshToken));
+    }
+
+    // 갱신된 행이 없으면 저장된 토큰 상태로 실패 사유를 구분
+    private Mono<TokenResponse> refreshFailure(Long userId) {
+        return refreshTokenRepository.findByUserId(userId)
+                .flatMap(stored -> Mono.<TokenResponse>error(new RuntimeException("토큰이 일치하지 않습니다.")))
+                .switchIfEmpty(Mono.error(new RuntimeException("로그아웃된 사용자입니다.")));
+    }
+
+    private TokenResponse tokenResponse(String accessToken, String refreshToken) {
+        return TokenResponse.builder()
+                .tokenType("Bearer")
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .expiresIn(900000L)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255),
+    username VARCHAR(255) NOT NULL,
+    profile_image VARCHAR(255),
+    role VARCHAR(20) NOT NULL,
+    provider VARCHAR(20) NOT NULL,
+    provider_id VARCHAR(255),
+    active BOOLEAN NOT NULL,
+    email_verified BOOLEAN NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token VARCHAR(512) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL UNIQUE,
+    expiry_date TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- findByUsername / existsByUsername, findByProviderAndProviderId (메인 앱 db/migration V2 와 같은 인덱스)
+CREATE INDEX IF NOT EXISTS idx_users_username ON users (username);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_provider_provider_id ON users (provider, provider_id);
@@ -0,0 +1,14 @@
+package com.kyj.templateproject.benchmark;
+
+import com.kyj.templateproject.reactive.ReactiveAuthApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 서블릿 모듈의 PlatformThreadLoadBenchmark / VirtualThreadLoadBenchmark 와 같은 시나리오
+@SpringBootTest(classes = ReactiveAuthApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveLoadBenchmark extends AuthLoadBenchmarkSupport {
+
+    @Override
+    protected String threadModel() {
+        return "webflux + r2dbc";
+    }
+}
@@ -0,0 +1,79 @@
+package com.kyj.templateproject.reactive;
+
+import com.kyj.templateproject.auth.dto.TokenResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveAuthApplicationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void signupLoginRefreshAndLogout() {
+        webTestClient.post().uri("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"reactive@example.com\",\"password\":\"password1!\",\"username\":\"reactive\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"reactive@example.com\",\"password\":\"wrong-password1!\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        login();
+        TokenResponse relogin = login();
+
+        webTestClient.get().uri("/api/users/me")
+                .header("Authorization", "Bearer " + relogin.getAccessToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("reactive@example.com")
+                .jsonPath("$.role").isEqualTo("USER");
+
+        webTestClient.get().uri("/api/users/me")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        TokenResponse refreshed = webTestClient.post()
+                .uri(uri -> uri.path("/api/auth/refresh").queryParam("refreshToken", relogin.getRefreshToken()).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TokenResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(refreshed).isNotNull();
+
+        webTestClient.post().uri(uri -> uri.path("/api/auth/logout").queryParam("refreshToken", refreshed.getRefreshToken()).build())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri(uri -> uri.path("/api/auth/refresh").queryParam("refreshToken", refreshed.getRefreshToken()).build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("로그아웃된 사용자입니다.");
+    }
+
+    private TokenResponse login() {
+        TokenResponse tokens = webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"reactive@example.com\",\"password\":\"password1!\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TokenResponse.class)
+                .returnResult().getResponseBody();
+        assertThat(tokens).isNotNull();
+        return tokens;
+    }
+}
@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+# 기동 벤치마크: 프로세스 시작부터 첫 /api/auth/login 성공까지 걸린 시간을 모드별로 측정한다.
+#
+#   default        java -jar (기본 설정)
+#   faststart      faststart 프로필 (지연 초기화, SQL 로그 끔)
+#   faststart+cds  faststart + AppCDS 아카이브
+#   faststart+aot  faststart + AppCDS + Spring AOT (processAot 결과 사용)
+#
+# 사용법: scripts/startup-benchmark.sh [반복 횟수]   (기본 5회, PORT 환경변수로 포트 지정)
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TIMEOUT_MS="${TIMEOUT_MS:-120000}"
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+echo "==> bootJar 빌드 (processAot 포함)"
+(cd "$PROJECT_DIR" && gradle -q bootJar)
+JAR="$(ls "$PROJECT_DIR"/build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+
+# CDS 는 압축 해제된 레이아웃에서만 동작하므로 tools jarmode 로 추출
+echo "==> jar 추출"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR/app" > /dev/null
+APP_JAR="$WORK_DIR/app/$(basename "$JAR")"
+
+# 학습 실행: 컨텍스트 refresh 직후 종료하며 로드된 클래스를 아카이브에 기록
+# 지연 초기화를 끄고 학습해야 요청 처리 때 쓰는 클래스까지 아카이브에 들어간다
+train() {
+    local archive="$1"; shift
+    (cd "$WORK_DIR" && java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" \
+        -jar "$APP_JAR" --spring.profiles.active=faststart --spring.main.lazy-initialization=false \
+        --server.port=0 > "$WORK_DIR/train.log" 2>&1)
+}
+
+echo "==> AppCDS 아카이브 생성"
+train "$WORK_DIR/app.jsa"
+train "$WORK_DIR/app-aot.jsa" -Dspring.aot.enabled=true
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# 서버가 죽었거나 제한 시간을 넘기면 로그를 남기고 중단
+check_alive() {
+    local pid="$1" started="$2"
+    if ! kill -0 "$pid" 2> /dev/null || (( $(now_ms) - started > TIMEOUT_MS )); then
+        kill "$pid" 2> /dev/null || true
+        echo "첫 로그인에 실패했습니다. 서버 로그:" >&2
+        tail -n 50 "$WORK_DIR/run.log" >&2
+        exit 1
+    fi
+}
+
+# 서버를 띄우고 회원가입 -> 로그인이 성공할 때까지 폴링, 경과 시간(ms)을 출력
+measure() {
+    local started pid email code
+    started="$(now_ms)"
+    (cd "$WORK_DIR" && exec java "$@" --server.port="$PORT" > "$WORK_DIR/run.log" 2>&1) &
+    pid=$!
+    email="startup-$RANDOM@example.com"
+
+    until code="$(curl -s -o /dev/null -w '%{http_code}' --max-time 5 -H 'Content-Type: application/json' \
+            -d "{\"email\":\"$email\",\"password\":\"password1!\",\"username\":\"${email%@*}\"}" \
+            "http://localhost:$PORT/api/auth/signup")" && [ "$code" = "200" ]; do
+        check_alive "$pid" "$started"
+        sleep 0.02
+    done
+    until code="$(curl -s -o /dev/null -w '%{http_code}' --max-time 5 -H 'Content-Type: application/json' \
+            -d "{\"email\":\"$email\",\"password\":\"password1!\"}" \
+            "http://localhost:$PORT/api/auth/login")" && [ "$code" = "200" ]; do
+        check_alive "$pid" "$started"
+        sleep 0.02
+    done
+    echo $(( $(now_ms) - started ))
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+}
+
+report() {
+    local name="$1"; shift
+    local samples=()
+    for ((i = 0; i < RUNS; i++)); do
+        samples+=("$(measure "$@")")
+    done
+    local sorted
+    sorted="$(printf '%s\n' "${samples[@]}" | sort -n)"
+    printf '%-16s min=%6sms  median=%6sms  max=%6sms  (%s)\n' "$name" \
+        "$(echo "$sorted" | head -n 1)" \
+        "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "$(echo "$sorted" | tail -n 1)" \
+        "$(echo "${samples[@]}")"
+}
+
+echo "==> 측정 (모드별 ${RUNS}회, 첫 로그인 성공까지)"
+report "default"        -jar "$APP_JAR"
+report "faststart"      -jar "$APP_JAR" --spring.profiles.active=faststart
+report "faststart+cds"  -XX:SharedArchiveFile="$WORK_DIR/app.jsa" -jar "$APP_JAR" --spring.profiles.active=faststart
+report "faststart+aot"  -XX:SharedArchiveFile="$WORK_DIR/app-aot.jsa" -Dspring.aot.enabled=true -jar "$APP_JAR" --spring.profiles.active=faststart
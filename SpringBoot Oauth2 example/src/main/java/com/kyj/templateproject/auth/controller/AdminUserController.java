@@ -0,0 +1,32 @@
+package com.kyj.templateproject.auth.controller;
+
+import com.kyj.templateproject.auth.dto.AdminUserDto;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.service.AdminUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final AdminUserService adminUserService;
+
+    // 사용자 목록 조회 (관리자, 가입일 최신순 키셋 페이지네이션)
+    @GetMapping
+    public ResponseEntity<AdminUserDto.PageResponse> getUsers(
+            @RequestParam(required = false) User.AuthProvider provider,
+            @RequestParam(required = false) User.UserRole role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Boolean emailVerified,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        AdminUserDto.SearchCondition condition = new AdminUserDto.SearchCondition(provider, role, active, emailVerified);
+        return ResponseEntity.ok(adminUserService.findUsers(condition, cursor, size));
+    }
+}
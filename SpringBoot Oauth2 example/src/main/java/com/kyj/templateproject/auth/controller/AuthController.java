@@ -72,6 +72,13 @@ public class AuthController {
         UserDto.UserInfoResponse updatedInfo = authService.updateProfile(userDetails.getId(), request);
         return ResponseEntity.ok(updatedInfo);
     }
+
+    // 회원 탈퇴 (계정 비활성화)
+    @DeleteMapping("/users/me")
+    public ResponseEntity<String> deactivateAccount(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        authService.deactivateAccount(userDetails.getId());
+        return ResponseEntity.ok("회원 탈퇴가 완료되었습니다.");
+    }
     
     // OAuth2 상태 확인
     @GetMapping("/oauth2/status")
@@ -0,0 +1,50 @@
+package com.kyj.templateproject.auth.dto;
+
+import com.kyj.templateproject.auth.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AdminUserDto {
+
+    // 사용자 목록 필터 (null 이면 조건 없음)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchCondition {
+        private User.AuthProvider provider;
+        private User.UserRole role;
+        private Boolean active;
+        private Boolean emailVerified;
+    }
+
+    // 목록 한 행. JPQL 생성자 표현식으로 엔티티를 거치지 않고 바로 만든다.
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserSummary {
+        private Long id;
+        private String email;
+        private String username;
+        private User.UserRole role;
+        private User.AuthProvider provider;
+        private boolean active;
+        private boolean emailVerified;
+        private LocalDateTime createdAt;
+    }
+
+    // 사용자 목록 응답. nextCursor 가 null 이면 마지막 페이지
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PageResponse {
+        private List<UserSummary> users;
+        private String nextCursor;
+    }
+}
@@ -8,7 +8,17 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+// 스키마는 db/migration 이 관리하며 인덱스 선언은 문서 용도 (created_at, id 인덱스는 관리자 목록 키셋 페이지네이션용)
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_users_provider_provider_id", columnNames = {"provider", "provider_id"})
+}, indexes = {
+        @Index(name = "idx_users_username", columnList = "username"),
+        @Index(name = "idx_users_created_at_id", columnList = "created_at desc, id desc"),
+        @Index(name = "idx_users_provider_created_at_id", columnList = "provider, created_at desc, id desc"),
+        @Index(name = "idx_users_role_created_at_id", columnList = "role, created_at desc, id desc"),
+        @Index(name = "idx_users_active_verified_created_at_id", columnList = "active, email_verified, created_at desc, id desc")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +30,7 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     private String password;
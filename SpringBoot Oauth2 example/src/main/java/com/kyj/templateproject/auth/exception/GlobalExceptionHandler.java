@@ -1,9 +1,14 @@
 package com.kyj.templateproject.auth.exception;
 
+import com.kyj.templateproject.datasource.ConnectionWaits;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -14,6 +19,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(value = {Exception.class})
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, WebRequest request) {
+        if (ConnectionWaits.isWaitExceeded(ex)) {
+            return serviceUnavailable();
+        }
         log.error("Unhandled exception occurred", ex);
         
         ErrorResponse errorResponse = ErrorResponse.builder()
@@ -27,6 +35,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(value = {RuntimeException.class})
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex, WebRequest request) {
+        if (ConnectionWaits.isWaitExceeded(ex)) {
+            return serviceUnavailable();
+        }
         log.error("Runtime exception occurred", ex);
         
         ErrorResponse errorResponse = ErrorResponse.builder()
@@ -38,6 +49,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    // @Valid 요청 본문 검증 실패 (첫 필드 오류 메시지를 돌려준다)
+    @ExceptionHandler(value = {MethodArgumentNotValidException.class})
+    public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex, WebRequest request) {
+        FieldError fieldError = ex.getBindingResult().getFieldError();
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .message(fieldError != null ? fieldError.getDefaultMessage() : "요청 값이 올바르지 않습니다.")
+                .code("INVALID_REQUEST")
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(value = {BadCredentialsException.class})
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex, WebRequest request) {
         log.error("Bad credentials exception occurred", ex);
@@ -50,4 +75,31 @@ public class GlobalExceptionHandler {
         
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
-} 
\ No newline at end of file
+
+    // 인증은 됐지만 권한이 없는 자원 (예: 참여하지 않은 채팅방의 기록)
+    @ExceptionHandler(value = {AccessDeniedException.class})
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.FORBIDDEN)
+                .message(ex.getMessage())
+                .code("FORBIDDEN")
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
+    }
+
+    // 커넥션 풀 대기 예산(connection-timeout)을 넘긴 경우: 더 기다리게 하지 않고 바로 503 으로 돌려보내 클라이언트가 재시도하게 한다
+    private ResponseEntity<ErrorResponse> serviceUnavailable() {
+        log.warn("Connection pool wait budget exceeded, rejecting request");
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .message("요청이 많아 잠시 처리할 수 없습니다. 잠시 후 다시 시도해주세요.")
+                .code("DB_POOL_EXHAUSTED")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+}
@@ -1,6 +1,5 @@
 package com.kyj.templateproject.auth.oauth2.handler;
 
-import com.kyj.templateproject.auth.entity.RefreshToken;
 import com.kyj.templateproject.auth.repository.RefreshTokenRepository;
 import com.kyj.templateproject.auth.security.JwtTokenProvider;
 import com.kyj.templateproject.auth.security.CustomUserDetails;
@@ -16,7 +15,6 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 @Slf4j
 @Component
@@ -57,22 +55,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     
     // 리프레시 토큰 저장
     private void saveRefreshToken(Long userId, String refreshToken) {
-        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByUserId(userId);
-        
-        if (tokenOpt.isPresent()) {
-            // 기존 토큰 업데이트
-            RefreshToken token = tokenOpt.get();
-            token.updateToken(refreshToken);
-            refreshTokenRepository.save(token);
-        } else {
-            // 새 토큰 저장
-            RefreshToken token = RefreshToken.builder()
-                    .userId(userId)
-                    .token(refreshToken)
-                    .expiryDate(LocalDateTime.now().plusDays(7)) // 7일 유효기간
-                    .build();
-            refreshTokenRepository.save(token);
-        }
+        refreshTokenRepository.upsert(userId, refreshToken, LocalDateTime.now().plusDays(7)); // 7일 유효기간
         log.info("소셜 로그인 사용자 리프레시 토큰 저장 완료: userId={}", userId);
     }
 } 
\ No newline at end of file
@@ -5,16 +5,24 @@ import com.kyj.templateproject.auth.oauth2.user.OAuth2UserInfo;
 import com.kyj.templateproject.auth.oauth2.user.OAuth2UserInfoFactory;
 import com.kyj.templateproject.auth.repository.UserRepository;
 import com.kyj.templateproject.auth.security.CustomUserDetails;
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+import com.kyj.templateproject.outbox.service.OutboxEventPublisher;
+import com.kyj.templateproject.tracing.TracingClientHttpRequestInterceptor;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
 
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -22,13 +30,26 @@ import java.util.Optional;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TracingClientHttpRequestInterceptor tracingClientHttpRequestInterceptor;
+
+    // 사용자 정보 엔드포인트 호출. 기본 RestTemplate 설정에 추적 인터셉터만 더한다.
+    @PostConstruct
+    void configureRestOperations() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        restTemplate.getInterceptors().add(tracingClientHttpRequestInterceptor);
+        setRestOperations(restTemplate);
+    }
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         OAuth2User oAuth2User = super.loadUser(userRequest);
 
         try {
-            return processOAuth2User(userRequest, oAuth2User);
+            // 제공자 HTTP 호출은 트랜잭션 밖에서, 사용자 저장과 아웃박스 기록은 한 트랜잭션에서 처리
+            return transactionTemplate.execute(status -> processOAuth2User(userRequest, oAuth2User));
         } catch (AuthenticationException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -88,16 +109,24 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
                 .emailVerified(true)
                 .build();
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        outboxEventPublisher.publishUserEvent(OutboxEvent.EventType.USER_SIGNED_UP, savedUser);
+        return savedUser;
     }
 
     private User updateExistingUser(User existingUser, OAuth2UserInfo oAuth2UserInfo) {
         // 필요한 정보만 업데이트
+        boolean changed = !Objects.equals(existingUser.getUsername(), oAuth2UserInfo.getName());
         existingUser.setUsername(oAuth2UserInfo.getName());
         if (StringUtils.hasText(oAuth2UserInfo.getImageUrl())) {
+            changed |= !oAuth2UserInfo.getImageUrl().equals(existingUser.getProfileImage());
             existingUser.setProfileImage(oAuth2UserInfo.getImageUrl());
         }
         
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        if (changed) {
+            outboxEventPublisher.publishUserEvent(OutboxEvent.EventType.USER_PROFILE_UPDATED, savedUser);
+        }
+        return savedUser;
     }
 } 
\ No newline at end of file
@@ -2,8 +2,13 @@ package com.kyj.templateproject.auth.repository;
 
 import com.kyj.templateproject.auth.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -12,6 +17,34 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     Optional<RefreshToken> findByToken(String token);
     
     Optional<RefreshToken> findByUserId(Long userId);
-    
-    void deleteByUserId(Long userId);
-} 
\ No newline at end of file
+
+    boolean existsByUserId(Long userId);
+
+    // user_id 유니크 제약 위에서 조회 없이 한 문장으로 발급/교체
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            merge into refresh_tokens t
+            using (values (cast(:userId as bigint), cast(:token as varchar), cast(:expiryDate as timestamp))) s(user_id, token, expiry_date)
+            on t.user_id = s.user_id
+            when matched then update set token = s.token, expiry_date = s.expiry_date
+            when not matched then insert (user_id, token, expiry_date, created_at)
+                values (s.user_id, s.token, s.expiry_date, current_timestamp)
+            """)
+    int upsert(@Param("userId") Long userId, @Param("token") String token,
+               @Param("expiryDate") LocalDateTime expiryDate);
+
+    // 저장된 토큰이 요청 토큰과 같을 때만 교체 (동시 갱신 시 하나만 성공)
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.token = :newToken, r.expiryDate = :expiryDate "
+            + "where r.userId = :userId and r.token = :oldToken")
+    int rotate(@Param("userId") Long userId, @Param("oldToken") String oldToken,
+               @Param("newToken") String newToken, @Param("expiryDate") LocalDateTime expiryDate);
+
+    // 파생 delete 는 조회 후 엔티티마다 삭제하므로 벌크 delete 로 처리
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
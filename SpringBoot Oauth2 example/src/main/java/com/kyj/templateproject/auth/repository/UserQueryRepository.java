@@ -0,0 +1,15 @@
+package com.kyj.templateproject.auth.repository;
+
+import com.kyj.templateproject.auth.dto.AdminUserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserQueryRepository {
+
+    /**
+     * (createdAt, id) 내림차순 키셋 페이지 조회. afterCreatedAt/afterId 가 null 이면 첫 페이지.
+     */
+    List<AdminUserDto.UserSummary> findSummaries(AdminUserDto.SearchCondition condition,
+                                                 LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
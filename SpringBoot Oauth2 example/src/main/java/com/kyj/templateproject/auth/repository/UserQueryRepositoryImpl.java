@@ -0,0 +1,60 @@
+package com.kyj.templateproject.auth.repository;
+
+import com.kyj.templateproject.auth.dto.AdminUserDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserQueryRepositoryImpl implements UserQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AdminUserDto.UserSummary> findSummaries(AdminUserDto.SearchCondition condition,
+                                                        LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        // 주어진 필터만 where 에 넣어야 (필터, created_at, id) 인덱스를 탈 수 있으므로 JPQL 을 조건별로 조립
+        StringBuilder jpql = new StringBuilder("""
+                select new com.kyj.templateproject.auth.dto.AdminUserDto$UserSummary(
+                    u.id, u.email, u.username, u.role, u.provider, u.active, u.emailVerified, u.createdAt)
+                from User u
+                where 1 = 1""");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (condition.getProvider() != null) {
+            jpql.append(" and u.provider = :provider");
+            params.put("provider", condition.getProvider());
+        }
+        if (condition.getRole() != null) {
+            jpql.append(" and u.role = :role");
+            params.put("role", condition.getRole());
+        }
+        if (condition.getActive() != null) {
+            jpql.append(" and u.active = :active");
+            params.put("active", condition.getActive());
+        }
+        if (condition.getEmailVerified() != null) {
+            jpql.append(" and u.emailVerified = :emailVerified");
+            params.put("emailVerified", condition.getEmailVerified());
+        }
+        if (afterCreatedAt != null) {
+            // 마지막으로 본 행 다음부터 (offset 없이 인덱스에서 바로 시작 위치를 찾는다).
+            // (createdAt, id) < (c, id) 와 같지만 createdAt <= c 를 따로 두어야 인덱스 범위 조건으로 쓰인다.
+            jpql.append(" and u.createdAt <= :afterCreatedAt"
+                    + " and (u.createdAt < :afterCreatedAt or u.id < :afterId)");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" order by u.createdAt desc, u.id desc");
+
+        TypedQuery<AdminUserDto.UserSummary> query =
+                entityManager.createQuery(jpql.toString(), AdminUserDto.UserSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.kyj.templateproject.auth.security;
+
+import com.kyj.templateproject.tracing.Span;
+import com.kyj.templateproject.tracing.Tracer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * BCrypt 처럼 CPU 를 오래 점유하는 해시 연산의 동시 실행 수를 제한하는 PasswordEncoder.
+ * 가상 스레드 모드에서는 요청마다 스레드가 생기므로 제한이 없으면 로그인 폭주 시 모든 코어가 해시 계산에 묶인다.
+ * 대기는 Semaphore 로 하므로 가상 스레드가 캐리어 스레드를 붙잡지 않는다.
+ * 추적 구간에는 허가 대기 시간(bcrypt.wait_ns)을 따로 남겨 해시 계산과 줄 서기를 구분한다.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+    private final Tracer tracer;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrency, Tracer tracer) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        try (Span span = tracer.startSpan("bcrypt.encode")) {
+            acquire(span);
+            try {
+                return delegate.encode(rawPassword);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        try (Span span = tracer.startSpan("bcrypt.matches")) {
+            acquire(span);
+            try {
+                return delegate.matches(rawPassword, encodedPassword);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void acquire(Span span) {
+        if (!span.isRecording()) {
+            permits.acquireUninterruptibly();
+            return;
+        }
+        long start = System.nanoTime();
+        permits.acquireUninterruptibly();
+        span.tag("bcrypt.wait_ns", System.nanoTime() - start);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -19,8 +19,11 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
     
     private Long id;
     private String email;
+    // 표시 이름 (User.username - UserDetails.getUsername() 은 이메일을 반환)
+    private String nickname;
     private String password;
     private User.AuthProvider provider;
+    private boolean active;
     private Collection<? extends GrantedAuthority> authorities;
     private Map<String, Object> attributes;
 
@@ -32,8 +35,10 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
         return new CustomUserDetails(
                 user.getId(),
                 user.getEmail(),
+                user.getUsername(),
                 user.getPassword(),
                 user.getProvider(),
+                user.isActive(),
                 authorities,
                 null
         );
@@ -72,7 +77,7 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return active;
     }
     
     @Override
@@ -0,0 +1,75 @@
+package com.kyj.templateproject.auth.service;
+
+import com.kyj.templateproject.auth.dto.AdminUserDto;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 관리자용 사용자 목록. offset 대신 마지막 행의 (createdAt, id) 를 커서로 넘겨 깊은 페이지도 같은 비용으로 조회한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdminUserService {
+
+    private final UserRepository userRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public AdminUserService(UserRepository userRepository,
+                            @Value("${app.admin.users.page-size:20}") int defaultPageSize,
+                            @Value("${app.admin.users.max-page-size:100}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public AdminUserDto.PageResponse findUsers(AdminUserDto.SearchCondition condition, String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            afterCreatedAt = LocalDateTime.parse(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        // 다음 페이지 존재 여부를 count 없이 알기 위해 한 행 더 조회
+        List<AdminUserDto.UserSummary> rows =
+                userRepository.findSummaries(condition, afterCreatedAt, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new AdminUserDto.PageResponse(rows, null);
+        }
+        List<AdminUserDto.UserSummary> page = rows.subList(0, pageSize);
+        AdminUserDto.UserSummary last = page.get(pageSize - 1);
+        return new AdminUserDto.PageResponse(page, encodeCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("잘못된 커서입니다.");
+        }
+    }
+}
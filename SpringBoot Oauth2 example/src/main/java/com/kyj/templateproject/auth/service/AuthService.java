@@ -20,4 +20,6 @@ public interface AuthService {
     void changePassword(Long userId, UserDto.PasswordChangeRequest request);
     
     UserDto.UserInfoResponse updateProfile(Long userId, UserDto.ProfileUpdateRequest request);
+
+    void deactivateAccount(Long userId);
 }
\ No newline at end of file
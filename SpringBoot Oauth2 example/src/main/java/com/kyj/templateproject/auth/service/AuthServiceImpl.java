@@ -4,12 +4,14 @@ import com.kyj.templateproject.auth.dto.LoginRequest;
 import com.kyj.templateproject.auth.dto.SignupRequest;
 import com.kyj.templateproject.auth.dto.TokenResponse;
 import com.kyj.templateproject.auth.dto.UserDto;
-import com.kyj.templateproject.auth.entity.RefreshToken;
 import com.kyj.templateproject.auth.entity.User;
 import com.kyj.templateproject.auth.repository.RefreshTokenRepository;
 import com.kyj.templateproject.auth.repository.UserRepository;
 import com.kyj.templateproject.auth.security.CustomUserDetails;
 import com.kyj.templateproject.auth.security.JwtTokenProvider;
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+import com.kyj.templateproject.outbox.service.OutboxEventPublisher;
+import com.kyj.templateproject.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,9 +19,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -31,103 +34,105 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final Tracer tracer;
 
     @Override
     public void signup(SignupRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("이미 가입된 이메일입니다.");
-        }
+        tracer.traced("auth.signup", () -> {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new RuntimeException("이미 가입된 이메일입니다.");
+            }
 
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("이미 사용 중인 사용자 이름입니다.");
-        }
+            if (userRepository.existsByUsername(request.getUsername())) {
+                throw new RuntimeException("이미 사용 중인 사용자 이름입니다.");
+            }
 
-        User user = User.builder()
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .username(request.getUsername())
-                .role(User.UserRole.USER)
-                .provider(User.AuthProvider.LOCAL)
-                .active(true)
-                .emailVerified(false)
-                .build();
+            User user = User.builder()
+                    .email(request.getEmail())
+                    .password(passwordEncoder.encode(request.getPassword()))
+                    .username(request.getUsername())
+                    .role(User.UserRole.USER)
+                    .provider(User.AuthProvider.LOCAL)
+                    .active(true)
+                    .emailVerified(false)
+                    .build();
 
-        userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            outboxEventPublisher.publishUserEvent(OutboxEvent.EventType.USER_SIGNED_UP, savedUser);
+        });
     }
 
+    // BCrypt 검증 동안 DB 커넥션을 붙잡지 않도록 로그인 전체를 트랜잭션으로 감싸지 않는다
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TokenResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        String accessToken = tokenProvider.generateToken(authentication);
-        String refreshToken = tokenProvider.generateRefreshToken(userDetails.getId());
-
-        saveRefreshToken(userDetails.getId(), refreshToken);
-
-        return TokenResponse.builder()
-                .tokenType("Bearer")
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .expiresIn(900000L)
-                .build();
+        return tracer.traced("auth.login", () -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+            );
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+            String accessToken = tokenProvider.generateToken(authentication);
+            String refreshToken = tokenProvider.generateRefreshToken(userDetails.getId());
+
+            saveRefreshToken(userDetails.getId(), refreshToken);
+
+            return TokenResponse.builder()
+                    .tokenType("Bearer")
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken)
+                    .expiresIn(900000L)
+                    .build();
+        });
     }
 
     @Override
     public TokenResponse refreshToken(String refreshToken) {
-        if (!tokenProvider.validateToken(refreshToken)) {
-            throw new RuntimeException("유효하지 않은 리프레시 토큰입니다.");
-        }
-
-        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
-        RefreshToken storedToken = refreshTokenRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("로그아웃된 사용자입니다."));
-
-        if (!storedToken.getToken().equals(refreshToken)) {
-            throw new RuntimeException("토큰이 일치하지 않습니다.");
-        }
-
-        String newAccessToken = tokenProvider.generateTokenFromUserId(userId);
-        String newRefreshToken = tokenProvider.generateRefreshToken(userId);
+        return tracer.traced("auth.refresh", () -> {
+            if (!tokenProvider.validateToken(refreshToken)) {
+                throw new RuntimeException("유효하지 않은 리프레시 토큰입니다.");
+            }
 
-        storedToken.updateToken(newRefreshToken);
-        refreshTokenRepository.save(storedToken);
+            Long userId = tokenProvider.getUserIdFromToken(refreshToken);
+            String newAccessToken = tokenProvider.generateTokenFromUserId(userId);
+            String newRefreshToken = tokenProvider.generateRefreshToken(userId);
+
+            // 조회 후 비교하지 않고 조건부 UPDATE 한 번으로 교체, 실패한 경우에만 사유를 조회
+            int updated = refreshTokenRepository.rotate(userId, refreshToken, newRefreshToken,
+                    LocalDateTime.now().plusDays(7)); // 7일 유효기간
+            if (updated == 0) {
+                if (refreshTokenRepository.existsByUserId(userId)) {
+                    throw new RuntimeException("토큰이 일치하지 않습니다.");
+                }
+                throw new RuntimeException("로그아웃된 사용자입니다.");
+            }
 
-        return TokenResponse.builder()
-                .tokenType("Bearer")
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken)
-                .expiresIn(900000L)
-                .build();
+            return TokenResponse.builder()
+                    .tokenType("Bearer")
+                    .accessToken(newAccessToken)
+                    .refreshToken(newRefreshToken)
+                    .expiresIn(900000L)
+                    .build();
+        });
     }
 
     @Override
     public void logout(String refreshToken) {
-        if (!tokenProvider.validateToken(refreshToken)) {
-            throw new RuntimeException("유효하지 않은 리프레시 토큰입니다.");
-        }
+        tracer.traced("auth.logout", () -> {
+            if (!tokenProvider.validateToken(refreshToken)) {
+                throw new RuntimeException("유효하지 않은 리프레시 토큰입니다.");
+            }
 
-        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
-        refreshTokenRepository.deleteByUserId(userId);
+            Long userId = tokenProvider.getUserIdFromToken(refreshToken);
+            refreshTokenRepository.deleteByUserId(userId);
+        });
     }
 
+    // 기존 토큰 조회 없이 upsert 한 문장으로 저장
     private void saveRefreshToken(Long userId, String refreshToken) {
-        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByUserId(userId);
-        
-        if (tokenOpt.isPresent()) {
-            RefreshToken token = tokenOpt.get();
-            token.updateToken(refreshToken);
-            refreshTokenRepository.save(token);
-        } else {
-            RefreshToken token = RefreshToken.builder()
-                    .userId(userId)
-                    .token(refreshToken)
-                    .build();
-            refreshTokenRepository.save(token);
-        }
+        refreshTokenRepository.upsert(userId, refreshToken, LocalDateTime.now().plusDays(7)); // 7일 유효기간
     }
 
     @Override
@@ -168,6 +173,21 @@ public class AuthServiceImpl implements AuthService {
         }
         
         User updatedUser = userRepository.save(user);
+        outboxEventPublisher.publishUserEvent(OutboxEvent.EventType.USER_PROFILE_UPDATED, updatedUser);
         return UserDto.UserInfoResponse.fromEntity(updatedUser);
     }
+
+    @Override
+    public void deactivateAccount(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        if (!user.isActive()) {
+            return;
+        }
+
+        user.setActive(false);
+        refreshTokenRepository.deleteByUserId(userId);
+        outboxEventPublisher.publishUserEvent(OutboxEvent.EventType.USER_DEACTIVATED, user);
+    }
 } 
\ No newline at end of file
@@ -115,13 +115,54 @@ public class StringUtils {
     }
     
     /**
-     * 문자열에서 HTML 태그 제거
+     * 문자열에서 HTML 태그 제거 ("<" 부터 다음 ">" 까지, 닫히지 않은 "<" 는 그대로 둔다)
+     * 태그가 없으면 입력을 그대로 반환한다.
      */
     public static String removeHtmlTags(String html) {
-        if (isEmpty(html)) {
+        if (isEmpty(html) || html.indexOf('<') < 0) {
             return html;
         }
-        return html.replaceAll("<[^>]*>", "");
+        StringBuilder sb = new StringBuilder(html.length());
+        removeHtmlTags(html, sb);
+        return sb.toString();
+    }
+
+    /**
+     * removeHtmlTags 의 할당 없는 버전 - 태그를 제거한 결과를 out 에 이어 붙이고 제거한 문자 수를 반환한다.
+     * 정규식/중간 문자열을 만들지 않으므로 out 을 재사용하면 메시지마다 할당이 생기지 않는다.
+     */
+    public static int removeHtmlTags(CharSequence html, StringBuilder out) {
+        if (html == null) {
+            return 0;
+        }
+        int length = html.length();
+        int removed = 0;
+        int i = 0;
+        while (i < length) {
+            char ch = html.charAt(i);
+            if (ch == '<') {
+                int close = indexOf(html, '>', i + 1);
+                if (close < 0) {
+                    out.append(html, i, length);
+                    break;
+                }
+                removed += close + 1 - i;
+                i = close + 1;
+            } else {
+                out.append(ch);
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    private static int indexOf(CharSequence str, char ch, int from) {
+        for (int i = from; i < str.length(); i++) {
+            if (str.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
     }
     
     /**
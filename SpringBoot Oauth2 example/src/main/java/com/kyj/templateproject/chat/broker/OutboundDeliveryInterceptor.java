@@ -0,0 +1,19 @@
+package com.kyj.templateproject.chat.broker;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+/**
+ * clientOutboundChannel 에서 메시지 처리(소켓 쓰기)가 끝나면 해당 세션 송신 큐에 알려 다음 메시지를 보내게 한다.
+ */
+public class OutboundDeliveryInterceptor implements ExecutorChannelInterceptor {
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (message.getHeaders().get(SessionOutbox.HEADER) instanceof SessionOutbox outbox) {
+            outbox.onDelivered();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.kyj.templateproject.chat.broker;
+
+// 구독자 송신 큐가 가득 찼을 때의 처리 방식
+public enum OverflowPolicy {
+    // 가장 오래된 메시지를 버리고 새 메시지를 넣는다
+    DROP_OLDEST,
+    // ERROR 프레임을 보내고 세션을 끊는다
+    DISCONNECT
+}
@@ -0,0 +1,96 @@
+package com.kyj.templateproject.chat.broker;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 세션별 송신 큐. clientOutboundChannel 에는 세션당 한 번에 한 메시지만 넘기고,
+ * 소켓 쓰기가 끝났다는 신호(OutboundDeliveryInterceptor)를 받으면 다음 메시지를 넘긴다.
+ * 그래서 느린 구독자의 밀린 메시지는 공유 스레드 풀이 아니라 이 제한된 큐에 쌓이고, 넘치면 정책에 따라 버리거나 끊는다.
+ */
+@Slf4j
+final class SessionOutbox {
+
+    // 메시지 헤더에 자신을 실어 보내 전송 완료 시점에 되돌아온다
+    static final String HEADER = "chatSessionOutbox";
+
+    private final String sessionId;
+    private final BlockingQueue<Message<?>> queue;
+    private final MessageChannel outboundChannel;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<SessionOutbox> slowConsumerHandler;
+    private final Counter droppedCounter;
+
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private volatile boolean closed;
+
+    SessionOutbox(String sessionId, int capacity, MessageChannel outboundChannel, OverflowPolicy overflowPolicy,
+                  Consumer<SessionOutbox> slowConsumerHandler, Counter droppedCounter) {
+        this.sessionId = sessionId;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.outboundChannel = outboundChannel;
+        this.overflowPolicy = overflowPolicy;
+        this.slowConsumerHandler = slowConsumerHandler;
+        this.droppedCounter = droppedCounter;
+    }
+
+    String getSessionId() {
+        return sessionId;
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    // 샤드 스레드에서 호출되며 절대 블로킹하지 않는다
+    void offer(Message<?> message) {
+        if (closed) {
+            return;
+        }
+        while (!queue.offer(message)) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                close();
+                slowConsumerHandler.accept(this);
+                return;
+            }
+            if (queue.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+        drain();
+    }
+
+    void onDelivered() {
+        inFlight.set(false);
+        drain();
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    private void drain() {
+        while (!closed && !queue.isEmpty() && inFlight.compareAndSet(false, true)) {
+            Message<?> next = queue.poll();
+            if (next == null) {
+                inFlight.set(false);
+                continue;
+            }
+            try {
+                outboundChannel.send(next);
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("채팅 메시지 전달 실패: sessionId={}", sessionId, ex);
+                inFlight.set(false);
+            }
+        }
+    }
+}
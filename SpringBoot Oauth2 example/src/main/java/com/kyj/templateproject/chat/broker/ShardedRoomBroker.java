@@ -0,0 +1,261 @@
+package com.kyj.templateproject.chat.broker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * /topic/chat/room/{roomId} 전용 인메모리 브로커.
+ *
+ * 방을 roomId 해시로 단일 스레드 샤드에 고정하고, 구독 목록은 소유 샤드 스레드만 읽고 쓴다 (락 없음).
+ * 샤드 스레드는 구독자별 SessionOutbox 에 넣기만 하고 소켓 쓰기는 clientOutboundChannel 스레드가 하므로,
+ * 구독자가 많은 방이나 느린 구독자가 다른 샤드의 방을 막지 않는다.
+ * 페이로드는 발행 시 한 번만 직렬화되고 구독자 메시지는 헤더만 다르다.
+ * CONNECT/하트비트와 /queue 목적지는 SimpleBroker 가 처리한다.
+ */
+@Slf4j
+public class ShardedRoomBroker extends AbstractBrokerMessageHandler {
+
+    public static final String ROOM_DESTINATION_PREFIX = "/topic/chat/room/";
+
+    private final ExecutorService[] shards;
+    // 샤드별 destination -> (sessionId/subscriptionId -> 구독자), 해당 샤드 스레드에서만 접근
+    private final List<Map<String, Map<String, RoomSubscriber>>> shardSubscriptions;
+    private final Map<String, ClientSession> sessions = new ConcurrentHashMap<>();
+
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter disconnectedCounter;
+
+    public ShardedRoomBroker(SubscribableChannel clientInboundChannel,
+                             MessageChannel clientOutboundChannel,
+                             SubscribableChannel brokerChannel,
+                             int shardCount,
+                             int queueCapacity,
+                             OverflowPolicy overflowPolicy,
+                             MeterRegistry meterRegistry) {
+        super(clientInboundChannel, clientOutboundChannel, brokerChannel, List.of(ROOM_DESTINATION_PREFIX));
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+
+        this.shards = new ExecutorService[shardCount];
+        this.shardSubscriptions = new ArrayList<>(shardCount);
+        AtomicInteger threadIndex = new AtomicInteger();
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = Executors.newSingleThreadExecutor(
+                    runnable -> new Thread(runnable, "chat-shard-" + threadIndex.getAndIncrement()));
+            shardSubscriptions.add(new HashMap<>());
+        }
+
+        this.publishedCounter = Counter.builder("chat.broker.published")
+                .description("Room messages fanned out by the chat broker")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("chat.broker.dropped")
+                .description("Messages dropped from full subscriber queues")
+                .register(meterRegistry);
+        this.disconnectedCounter = Counter.builder("chat.broker.slow-consumer-disconnects")
+                .description("Sessions disconnected because their subscriber queue overflowed")
+                .register(meterRegistry);
+        meterRegistry.gauge("chat.broker.sessions", sessions, Map::size);
+    }
+
+    @Override
+    protected void startInternal() {
+        publishBrokerAvailableEvent();
+    }
+
+    @Override
+    protected void stopInternal() {
+        publishBrokerUnavailableEvent();
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        for (ExecutorService shard : shards) {
+            try {
+                shard.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    protected void handleMessageInternal(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (!checkDestinationPrefix(destination)) {
+            return;
+        }
+
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+
+        if (messageType == SimpMessageType.MESSAGE) {
+            publish(destination, message);
+        } else if (messageType == SimpMessageType.SUBSCRIBE) {
+            subscribe(sessionId, subscriptionId, destination);
+        } else if (messageType == SimpMessageType.UNSUBSCRIBE) {
+            unsubscribe(sessionId, subscriptionId);
+        } else if (messageType == SimpMessageType.DISCONNECT) {
+            disconnect(sessionId);
+        }
+    }
+
+    // 현재 구독 중인 세션 수 (테스트/모니터링용)
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void publish(String destination, Message<?> message) {
+        String roomId = roomIdOf(destination);
+        if (roomId == null) {
+            return;
+        }
+        shardOf(roomId).execute(() -> {
+            Map<String, RoomSubscriber> subscribers = subscriptionsOf(roomId).get(destination);
+            if (subscribers == null) {
+                return;
+            }
+            publishedCounter.increment();
+            for (RoomSubscriber subscriber : subscribers.values()) {
+                subscriber.outbox().offer(toSubscriberMessage(message, subscriber));
+            }
+        });
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        String roomId = roomIdOf(destination);
+        if (sessionId == null || subscriptionId == null || roomId == null) {
+            return;
+        }
+        ClientSession session = sessions.computeIfAbsent(sessionId, this::newSession);
+        session.subscriptions().put(subscriptionId, destination);
+
+        RoomSubscriber subscriber = new RoomSubscriber(sessionId, subscriptionId, session.outbox());
+        shardOf(roomId).execute(() -> subscriptionsOf(roomId)
+                .computeIfAbsent(destination, key -> new HashMap<>())
+                .put(subscriber.key(), subscriber));
+    }
+
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        ClientSession session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session == null || subscriptionId == null) {
+            return;
+        }
+        String destination = session.subscriptions().remove(subscriptionId);
+        if (destination != null) {
+            removeSubscriber(destination, sessionId + "/" + subscriptionId);
+        }
+    }
+
+    private void disconnect(String sessionId) {
+        ClientSession session = sessionId != null ? sessions.remove(sessionId) : null;
+        if (session == null) {
+            return;
+        }
+        session.outbox().close();
+        session.subscriptions().forEach((subscriptionId, destination) ->
+                removeSubscriber(destination, sessionId + "/" + subscriptionId));
+    }
+
+    private void removeSubscriber(String destination, String key) {
+        String roomId = roomIdOf(destination);
+        shardOf(roomId).execute(() -> {
+            Map<String, Map<String, RoomSubscriber>> subscriptions = subscriptionsOf(roomId);
+            Map<String, RoomSubscriber> subscribers = subscriptions.get(destination);
+            if (subscribers != null) {
+                subscribers.remove(key);
+                if (subscribers.isEmpty()) {
+                    subscriptions.remove(destination);
+                }
+            }
+        });
+    }
+
+    private ClientSession newSession(String sessionId) {
+        SessionOutbox outbox = new SessionOutbox(sessionId, queueCapacity, getClientOutboundChannel(),
+                overflowPolicy, this::disconnectSlowConsumer, droppedCounter);
+        return new ClientSession(outbox, new ConcurrentHashMap<>());
+    }
+
+    // 큐가 넘친 세션에 ERROR 프레임을 보내면 STOMP 핸들러가 연결을 닫는다
+    private void disconnectSlowConsumer(SessionOutbox outbox) {
+        disconnectedCounter.increment();
+        log.warn("송신 큐가 가득 차 느린 구독자를 연결 해제합니다: sessionId={}", outbox.getSessionId());
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+        accessor.setSessionId(outbox.getSessionId());
+        accessor.setMessage("메시지 수신이 너무 느려 연결을 종료합니다.");
+        accessor.setLeaveMutable(true);
+        getClientOutboundChannel().send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+
+        disconnect(outbox.getSessionId());
+    }
+
+    private Message<?> toSubscriberMessage(Message<?> message, RoomSubscriber subscriber) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(subscriber.sessionId());
+        accessor.setSubscriptionId(subscriber.subscriptionId());
+        accessor.copyHeadersIfAbsent(message.getHeaders());
+        accessor.setHeader(SessionOutbox.HEADER, subscriber.outbox());
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    // /topic/chat/room/{roomId}[/...] 에서 roomId 추출 (하위 목적지도 같은 샤드로)
+    public static String roomIdOf(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+            return null;
+        }
+        String rest = destination.substring(ROOM_DESTINATION_PREFIX.length());
+        int slash = rest.indexOf('/');
+        String roomId = slash < 0 ? rest : rest.substring(0, slash);
+        return roomId.isEmpty() ? null : roomId;
+    }
+
+    private int shardIndex(String roomId) {
+        return Math.floorMod(roomId.hashCode(), shards.length);
+    }
+
+    private ExecutorService shardOf(String roomId) {
+        return shards[shardIndex(roomId)];
+    }
+
+    private Map<String, Map<String, RoomSubscriber>> subscriptionsOf(String roomId) {
+        return shardSubscriptions.get(shardIndex(roomId));
+    }
+
+    private record RoomSubscriber(String sessionId, String subscriptionId, SessionOutbox outbox) {
+
+        String key() {
+            return sessionId + "/" + subscriptionId;
+        }
+    }
+
+    private record ClientSession(SessionOutbox outbox, Map<String, String> subscriptions) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.kyj.templateproject.chat.controller;
+
+import com.kyj.templateproject.auth.security.CustomUserDetails;
+import com.kyj.templateproject.chat.dto.ChatMessage;
+import com.kyj.templateproject.chat.history.ChatHistoryPage;
+import com.kyj.templateproject.chat.history.ChatHistoryStore;
+import com.kyj.templateproject.chat.service.ChatRoomRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/chat")
+@RequiredArgsConstructor
+public class ChatHistoryController {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ChatHistoryStore chatHistoryStore;
+    private final ChatRoomRegistry chatRoomRegistry;
+
+    // 이전 메시지 조회 (본문은 오래된 순 배열, 더 이전 페이지가 있으면 X-Next-Cursor 값을 before 로 넘긴다)
+    // 구독/전송과 같이 참여한 방의 기록만 볼 수 있다
+    @GetMapping("/messages/{roomId}")
+    public ResponseEntity<List<ChatMessage>> getMessages(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable String roomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer size) {
+        if (!chatRoomRegistry.isMember(roomId, userDetails.getId())) {
+            throw new AccessDeniedException("참여하지 않은 채팅방입니다: " + roomId);
+        }
+        ChatHistoryPage page = chatHistoryStore.findMessages(roomId, before, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.messages());
+    }
+}
@@ -0,0 +1,75 @@
+package com.kyj.templateproject.chat.controller;
+
+import com.kyj.templateproject.auth.exception.ErrorResponse;
+import com.kyj.templateproject.chat.broker.ShardedRoomBroker;
+import com.kyj.templateproject.chat.dto.ChatMessage;
+import com.kyj.templateproject.chat.ingest.ChatIngestionPipeline;
+import com.kyj.templateproject.chat.service.ChatRoomRegistry;
+import com.kyj.templateproject.chat.security.ChatPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+
+@Controller
+@RequiredArgsConstructor
+public class ChatMessageController {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatIngestionPipeline chatIngestionPipeline;
+    private final ChatRoomRegistry chatRoomRegistry;
+
+    // 채팅 메시지 전송 (정제/도배 제한 후 방별로 묶어 기록에 남기고 전파, 발신자와 시각은 서버 기준)
+    @MessageMapping("/chat/message")
+    public void sendMessage(@Payload ChatMessage message, ChatPrincipal principal) {
+        if (!StringUtils.hasText(message.getRoomId())) {
+            throw new MessageDeliveryException("채팅방 ID가 없습니다.");
+        }
+        checkMember(message.getRoomId(), principal);
+        chatIngestionPipeline.submit(principal, message.getRoomId(), message.getMessage());
+    }
+
+    // 채팅방 입장
+    @MessageMapping("/chat/enter/{roomId}")
+    public void enterRoom(@DestinationVariable String roomId, ChatPrincipal principal) {
+        checkMember(roomId, principal);
+        broadcast(ChatMessage.builder()
+                .type(ChatMessage.MessageType.ENTER)
+                .roomId(roomId)
+                .sender(principal.username())
+                .message(principal.username() + "님이 입장하셨습니다.")
+                .timestamp(Instant.now())
+                .build());
+    }
+
+    // 거절된 메시지는 보낸 세션에만 알린다 (/user/queue/errors)
+    @MessageExceptionHandler(MessageDeliveryException.class)
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ErrorResponse handleRejected(MessageDeliveryException ex) {
+        return ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .message(ex.getMessage())
+                .code("CHAT_MESSAGE_REJECTED")
+                .build();
+    }
+
+    // 참여하지 않은 방에는 보낼 수 없다 (POST /api/chat/rooms/{roomId}/join 이후)
+    private void checkMember(String roomId, ChatPrincipal principal) {
+        if (!chatRoomRegistry.isMember(roomId, principal.id())) {
+            throw new MessageDeliveryException("참여하지 않은 채팅방입니다: " + roomId);
+        }
+    }
+
+    private void broadcast(ChatMessage message) {
+        messagingTemplate.convertAndSend(ShardedRoomBroker.ROOM_DESTINATION_PREFIX + message.getRoomId(), message);
+    }
+}
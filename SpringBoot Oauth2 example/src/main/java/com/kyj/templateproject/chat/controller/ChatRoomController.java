@@ -0,0 +1,59 @@
+package com.kyj.templateproject.chat.controller;
+
+import com.kyj.templateproject.auth.security.CustomUserDetails;
+import com.kyj.templateproject.chat.dto.ChatRoomDto;
+import com.kyj.templateproject.chat.dto.PresenceDto;
+import com.kyj.templateproject.chat.presence.PresenceTracker;
+import com.kyj.templateproject.chat.service.ChatRoomRegistry;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/chat/rooms")
+@RequiredArgsConstructor
+public class ChatRoomController {
+
+    private final ChatRoomRegistry chatRoomRegistry;
+    private final PresenceTracker presenceTracker;
+
+    // 채팅방 목록 조회 (미리 직렬화된 스냅샷 JSON)
+    @GetMapping
+    public ResponseEntity<byte[]> getRooms() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(chatRoomRegistry.findAllAsJson());
+    }
+
+    // 채팅방 생성 (관리자)
+    @PostMapping
+    public ResponseEntity<ChatRoomDto.RoomResponse> createRoom(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody ChatRoomDto.CreateRequest request) {
+        return ResponseEntity.ok(chatRoomRegistry.create(request, userDetails.getNickname()));
+    }
+
+    // 채팅방 삭제 (관리자)
+    @DeleteMapping("/{roomId}")
+    public ResponseEntity<Void> deleteRoom(@PathVariable String roomId) {
+        chatRoomRegistry.delete(roomId);
+        return ResponseEntity.ok().build();
+    }
+
+    // 채팅방 참여
+    @PostMapping("/{roomId}/join")
+    public ResponseEntity<ChatRoomDto.RoomResponse> joinRoom(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable String roomId) {
+        return ResponseEntity.ok(chatRoomRegistry.join(roomId, userDetails.getId(), userDetails.getNickname()));
+    }
+
+    // 채팅방 접속자 수
+    @GetMapping("/{roomId}/online")
+    public ResponseEntity<PresenceDto.OnlineCount> getOnlineCount(@PathVariable String roomId) {
+        return ResponseEntity.ok(new PresenceDto.OnlineCount(roomId, presenceTracker.getOnlineCount(roomId)));
+    }
+}
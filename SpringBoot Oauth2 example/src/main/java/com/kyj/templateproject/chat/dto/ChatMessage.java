@@ -0,0 +1,26 @@
+package com.kyj.templateproject.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// React 채팅 클라이언트(Chat.tsx)와 같은 메시지 형식
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessage {
+
+    private MessageType type;
+    private String roomId;
+    private String sender;
+    private String message;
+    private Instant timestamp;
+
+    public enum MessageType {
+        ENTER, TALK, LEAVE
+    }
+}
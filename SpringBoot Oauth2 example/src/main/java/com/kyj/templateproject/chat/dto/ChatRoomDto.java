@@ -0,0 +1,55 @@
+package com.kyj.templateproject.chat.dto;
+
+import com.kyj.templateproject.chat.entity.ChatRoom;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ChatRoomDto {
+
+    // 채팅방 생성 요청 DTO (생성자는 인증된 사용자로 채운다)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CreateRequest {
+        @NotBlank(message = "채팅방 이름은 필수입니다.")
+        @Size(max = 100, message = "채팅방 이름은 100자 이하여야 합니다.")
+        private String name;
+
+        // chat_rooms.description varchar(255)
+        @Size(max = 255, message = "채팅방 설명은 255자 이하여야 합니다.")
+        private String description;
+    }
+
+    // 채팅방 응답 DTO (React 채팅 클라이언트의 ChatRoom 형식)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomResponse {
+        private String roomId;
+        private String name;
+        private String description;
+        private String createdBy;
+        private LocalDateTime createdAt;
+        private List<String> participants;
+
+        public static RoomResponse fromEntity(ChatRoom room, List<String> participants) {
+            return RoomResponse.builder()
+                    .roomId(room.getRoomId())
+                    .name(room.getName())
+                    .description(room.getDescription())
+                    .createdBy(room.getCreatedBy())
+                    .createdAt(room.getCreatedAt())
+                    .participants(participants)
+                    .build();
+        }
+    }
+}
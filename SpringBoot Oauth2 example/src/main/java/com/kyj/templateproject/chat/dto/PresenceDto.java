@@ -0,0 +1,35 @@
+package com.kyj.templateproject.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+public class PresenceDto {
+
+    // /topic/chat/room/{roomId}/presence 로 주기마다 전송하는 입장/퇴장 변화 (한 주기 안에서 상쇄된 변화는 제외)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Delta {
+        private String roomId;
+        private List<String> joined;
+        private List<String> left;
+        private int online;
+        private Instant timestamp;
+    }
+
+    // 방별 접속자 수 응답 DTO
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OnlineCount {
+        private String roomId;
+        private int online;
+    }
+}
@@ -0,0 +1,35 @@
+package com.kyj.templateproject.chat.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 - 조회는 ChatRoomRegistry 의 메모리 스냅샷에서 하고 이 테이블은 재시작 시 복원용이다.
+ * ID 와 생성 시각은 레지스트리가 정하므로 DB 생성 값을 쓰지 않는다.
+ */
+@Entity
+@Table(name = "chat_rooms")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatRoom {
+
+    @Id
+    @Column(length = 36)
+    private String roomId;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String description;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
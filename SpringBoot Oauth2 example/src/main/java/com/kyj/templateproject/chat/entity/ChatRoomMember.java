@@ -0,0 +1,33 @@
+package com.kyj.templateproject.chat.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "chat_room_members",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_room_members_room_user", columnNames = {"room_id", "user_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatRoomMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 36)
+    private String roomId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,11 @@
+package com.kyj.templateproject.chat.history;
+
+import com.kyj.templateproject.chat.dto.ChatMessage;
+
+import java.util.List;
+
+/**
+ * 채팅 기록 한 페이지. messages 는 오래된 순이며, nextCursor 를 before 로 넘기면 그 이전 페이지를 읽는다(더 없으면 null).
+ */
+public record ChatHistoryPage(List<ChatMessage> messages, Long nextCursor) {
+}
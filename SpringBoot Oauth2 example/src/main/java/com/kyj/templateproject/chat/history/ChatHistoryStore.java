@@ -0,0 +1,192 @@
+package com.kyj.templateproject.chat.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.chat.dto.ChatMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지를 방별 append-only 로그 세그먼트에 저장하는 기록 저장소.
+ * 세그먼트는 메모리 매핑되어 있어 커서(오프셋) 기준 이전 페이지 조회가 쿼리가 아닌 위치 이동으로 끝난다.
+ */
+@Slf4j
+@Component
+public class ChatHistoryStore {
+
+    // 방 ID 가 디렉터리 이름이 되므로 경로 조작이 불가능한 문자만 허용
+    private static final Pattern ROOM_ID_PATTERN = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final Path baseDir;
+    private final int segmentBytes;
+    private final int indexInterval;
+    private final Duration retention;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final ObjectMapper objectMapper;
+    private final Map<String, RoomLog> rooms = new ConcurrentHashMap<>();
+
+    public ChatHistoryStore(@Value("${app.chat.history.dir:chat-history}") String dir,
+                            @Value("${app.chat.history.segment-bytes:1048576}") int segmentBytes,
+                            @Value("${app.chat.history.index-interval:32}") int indexInterval,
+                            @Value("${app.chat.history.retention:7d}") Duration retention,
+                            @Value("${app.chat.history.page-size:50}") int defaultPageSize,
+                            @Value("${app.chat.history.max-page-size:200}") int maxPageSize,
+                            ObjectMapper objectMapper) {
+        this.baseDir = Paths.get(dir);
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+        this.retention = retention;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 메시지를 방 로그에 추가하고 부여된 오프셋을 반환한다.
+     */
+    public long append(ChatMessage message) {
+        validateRoomId(message.getRoomId());
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(message);
+            return openRoom(message.getRoomId()).append(payload, message.getTimestamp().toEpochMilli());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * 같은 방의 메시지 여러 개를 순서대로 추가하고 첫 메시지의 오프셋을 반환한다 (수집 파이프라인의 배치 단위).
+     */
+    public long appendAll(String roomId, List<ChatMessage> messages) {
+        validateRoomId(roomId);
+        List<byte[]> payloads = new ArrayList<>(messages.size());
+        long[] timestamps = new long[messages.size()];
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                payloads.add(objectMapper.writeValueAsBytes(messages.get(i)));
+                timestamps[i] = messages.get(i).getTimestamp().toEpochMilli();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return openRoom(roomId).appendAll(payloads, timestamps);
+    }
+
+    /**
+     * before 오프셋 직전까지의 최근 메시지를 최대 size 개 조회한다. before 가 없으면 가장 최근 메시지부터.
+     */
+    public ChatHistoryPage findMessages(String roomId, Long before, Integer size) {
+        validateRoomId(roomId);
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        RoomLog roomLog = findRoom(roomId);
+        if (roomLog == null) {
+            return new ChatHistoryPage(List.of(), null);
+        }
+
+        long startOffset = roomLog.getStartOffset();
+        long end = before == null ? roomLog.getNextOffset() : Math.min(before, roomLog.getNextOffset());
+        long from = Math.max(startOffset, end - pageSize);
+        if (from >= end) {
+            return new ChatHistoryPage(List.of(), null);
+        }
+
+        List<byte[]> payloads = roomLog.read(from, end);
+        List<ChatMessage> messages = new ArrayList<>(payloads.size());
+        try {
+            for (byte[] payload : payloads) {
+                messages.add(objectMapper.readValue(payload, ChatMessage.class));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new ChatHistoryPage(messages, from > startOffset ? from : null);
+    }
+
+    /**
+     * 방의 기록을 모두 지운다 (채팅방 삭제 시).
+     */
+    public void deleteRoom(String roomId) {
+        validateRoomId(roomId);
+        rooms.remove(roomId);
+        Path dir = baseDir.resolve(roomId);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException ex) {
+            log.warn("채팅 기록 삭제 실패: {}", dir, ex);
+        }
+    }
+
+    // 보존 기간이 지난 세그먼트 삭제 (재시작 후 아직 열리지 않은 방도 포함)
+    @Scheduled(fixedDelayString = "${app.chat.history.retention-check-interval:60000}")
+    public void deleteExpiredSegments() {
+        if (Files.isDirectory(baseDir)) {
+            try (Stream<Path> dirs = Files.list(baseDir)) {
+                dirs.map(dir -> dir.getFileName().toString())
+                        .filter(id -> ROOM_ID_PATTERN.matcher(id).matches())
+                        .forEach(this::findRoom);
+            } catch (IOException ex) {
+                log.warn("채팅 기록 디렉터리 조회 실패: {}", baseDir, ex);
+            }
+        }
+
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        rooms.forEach((roomId, roomLog) -> {
+            int deleted = roomLog.deleteSegmentsOlderThan(cutoff);
+            if (deleted > 0) {
+                log.info("채팅방 {} 의 만료된 로그 세그먼트 {}개 삭제", roomId, deleted);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        rooms.values().forEach(RoomLog::flush);
+    }
+
+    private RoomLog openRoom(String roomId) {
+        return rooms.computeIfAbsent(roomId, id -> {
+            try {
+                return new RoomLog(baseDir.resolve(id), segmentBytes, indexInterval);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    // 조회만으로 빈 방 디렉터리를 만들지 않도록 디스크에 있는 방만 연다
+    private RoomLog findRoom(String roomId) {
+        RoomLog roomLog = rooms.get(roomId);
+        if (roomLog == null && Files.isDirectory(baseDir.resolve(roomId))) {
+            roomLog = openRoom(roomId);
+        }
+        return roomLog;
+    }
+
+    private void validateRoomId(String roomId) {
+        if (roomId == null || !ROOM_ID_PATTERN.matcher(roomId).matches()) {
+            throw new IllegalArgumentException("유효하지 않은 채팅방 ID입니다.");
+        }
+    }
+}
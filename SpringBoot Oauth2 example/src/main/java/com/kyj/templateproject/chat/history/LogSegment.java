@@ -0,0 +1,173 @@
+package com.kyj.templateproject.chat.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 채팅방 로그의 세그먼트 파일 하나. 파일 전체를 메모리 매핑해 두고 레코드를 이어 붙인다.
+ * 레코드 형식: length(4) + crc32(4) + timestamp(8) + payload(length). length 0 은 로그의 끝.
+ * indexInterval 개 레코드마다 위치를 기록한 희소 인덱스로 오프셋을 찾아 그 지점부터 읽는다.
+ * 쓰기는 RoomLog 의 락 아래에서 한 스레드만 하고, 읽기는 recordCount(volatile)까지만 락 없이 한다.
+ */
+final class LogSegment {
+
+    static final int HEADER_BYTES = 16;
+
+    private final long baseOffset;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int indexInterval;
+
+    // indexPositions[k] = (k * indexInterval) 번째 레코드의 파일 내 위치
+    private volatile int[] indexPositions = new int[16];
+    private volatile int recordCount;
+    private volatile long lastTimestamp;
+    private int writePosition;
+
+    private LogSegment(long baseOffset, Path path, MappedByteBuffer buffer, int indexInterval) {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.buffer = buffer;
+        this.indexInterval = indexInterval;
+    }
+
+    /**
+     * 세그먼트 파일을 열거나 새로 만든다. 새 파일은 capacity 크기로 매핑되며 쓰지 않은 영역은 디스크를 차지하지 않는다(sparse).
+     * 기존 파일은 끝까지 훑어 인덱스를 다시 만들고, 비정상 종료로 잘린 레코드부터는 버린다.
+     */
+    static LogSegment open(Path path, long baseOffset, int capacity, int indexInterval) throws IOException {
+        long size = Math.max(capacity, Files.exists(path) ? Files.size(path) : 0);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        LogSegment segment = new LogSegment(baseOffset, path, buffer, indexInterval);
+        segment.recover();
+        return segment;
+    }
+
+    static Path fileName(Path dir, long baseOffset) {
+        return dir.resolve(String.format("%020d.log", baseOffset));
+    }
+
+    private void recover() {
+        int position = 0;
+        int count = 0;
+        long timestamp = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + HEADER_BYTES, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            if (count % indexInterval == 0) {
+                addIndexEntry(count / indexInterval, position);
+            }
+            timestamp = buffer.getLong(position + 8);
+            position += HEADER_BYTES + length;
+            count++;
+        }
+        // 잘린 레코드가 남아 있으면 이후 쓰기와 섞여 유효한 레코드로 읽히지 않도록 지운다
+        if (position + 4 <= buffer.capacity() && buffer.getInt(position) != 0) {
+            buffer.put(position, new byte[buffer.capacity() - position]);
+        }
+        this.writePosition = position;
+        this.lastTimestamp = timestamp;
+        this.recordCount = count;
+    }
+
+    /**
+     * 레코드를 덧붙인다. 세그먼트에 자리가 없으면 false 를 반환하고 호출자가 새 세그먼트로 넘긴다.
+     */
+    boolean append(byte[] payload, long timestamp) {
+        int position = writePosition;
+        if (position + HEADER_BYTES + payload.length > buffer.capacity()) {
+            return false;
+        }
+        int count = recordCount;
+        if (count % indexInterval == 0) {
+            addIndexEntry(count / indexInterval, position);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putLong(position + 8, timestamp);
+        buffer.put(position + HEADER_BYTES, payload);
+        // length 를 마지막에 써서 읽는 쪽이 반쯤 쓰인 레코드를 보지 않게 한다
+        buffer.putInt(position, payload.length);
+        writePosition = position + HEADER_BYTES + payload.length;
+        lastTimestamp = timestamp;
+        recordCount = count + 1;
+        return true;
+    }
+
+    private void addIndexEntry(int slot, int position) {
+        int[] positions = indexPositions;
+        if (slot == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        positions[slot] = position;
+        indexPositions = positions;
+    }
+
+    /**
+     * [from, to) 오프셋의 payload 를 순서대로 out 에 담는다. 희소 인덱스로 가장 가까운 앞 위치로 이동한 뒤
+     * 최대 indexInterval - 1 개 레코드만 건너뛰면 된다.
+     */
+    void read(long from, long to, List<byte[]> out) {
+        int count = recordCount;
+        int end = (int) Math.min(to - baseOffset, count);
+        int relative = (int) (from - baseOffset);
+        if (relative >= end) {
+            return;
+        }
+        int current = (relative / indexInterval) * indexInterval;
+        int position = indexPositions[relative / indexInterval];
+        while (current < end) {
+            int length = buffer.getInt(position);
+            if (current >= relative) {
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                out.add(payload);
+            }
+            position += HEADER_BYTES + length;
+            current++;
+        }
+    }
+
+    /**
+     * 매핑된 내용을 디스크로 내린다. 세그먼트를 닫거나 다음 세그먼트로 넘어갈 때 호출한다.
+     */
+    void flush() {
+        buffer.force();
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    long getNextOffset() {
+        return baseOffset + recordCount;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,159 @@
+package com.kyj.templateproject.chat.history;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 채팅방 하나의 append-only 로그. 오프셋은 방 안에서 0 부터 1 씩 증가하며 세그먼트 파일 이름이 시작 오프셋이다.
+ * 마지막 세그먼트에만 쓰고, 자리가 모자라면 새 세그먼트로 넘어간다(rolling).
+ */
+@Slf4j
+final class RoomLog {
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int indexInterval;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    // 오프셋 부여와 세그먼트 롤(이전 세그먼트 force, 새 파일 생성과 mmap)이 이 잠금 안에서 일어난다.
+    // 롤 중에 디스크를 기다리는 스레드가 가상 스레드여도 캐리어를 붙잡지 않도록 monitor 대신 ReentrantLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile LogSegment active;
+
+    RoomLog(Path dir, int segmentBytes, int indexInterval) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".log")).toList()) {
+                String name = file.getFileName().toString();
+                long baseOffset = Long.parseLong(name.substring(0, name.length() - ".log".length()));
+                segments.put(baseOffset, LogSegment.open(file, baseOffset, segmentBytes, indexInterval));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, LogSegment.open(LogSegment.fileName(dir, 0), 0, segmentBytes, indexInterval));
+        }
+        this.active = segments.lastEntry().getValue();
+    }
+
+    /**
+     * 레코드를 덧붙이고 부여된 오프셋을 반환한다.
+     */
+    long append(byte[] payload, long timestamp) {
+        if (payload.length + LogSegment.HEADER_BYTES > segmentBytes) {
+            throw new IllegalArgumentException("메시지가 너무 큽니다.");
+        }
+        appendLock.lock();
+        try {
+            long offset = active.getNextOffset();
+            if (!active.append(payload, timestamp)) {
+                roll(offset);
+                active.append(payload, timestamp);
+            }
+            return offset;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 여러 레코드를 락 한 번으로 덧붙이고 첫 레코드의 오프셋을 반환한다.
+     */
+    long appendAll(List<byte[]> payloads, long[] timestamps) {
+        for (byte[] payload : payloads) {
+            if (payload.length + LogSegment.HEADER_BYTES > segmentBytes) {
+                throw new IllegalArgumentException("메시지가 너무 큽니다.");
+            }
+        }
+        appendLock.lock();
+        try {
+            long firstOffset = active.getNextOffset();
+            for (int i = 0; i < payloads.size(); i++) {
+                if (!active.append(payloads.get(i), timestamps[i])) {
+                    roll(active.getNextOffset());
+                    active.append(payloads.get(i), timestamps[i]);
+                }
+            }
+            return firstOffset;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void roll(long baseOffset) throws IOException {
+        active.flush();
+        LogSegment next = LogSegment.open(LogSegment.fileName(dir, baseOffset), baseOffset, segmentBytes, indexInterval);
+        segments.put(baseOffset, next);
+        active = next;
+    }
+
+    /**
+     * [from, to) 오프셋의 payload 를 순서대로 반환한다. 보존 기간이 지나 지워진 구간은 건너뛴다.
+     */
+    List<byte[]> read(long from, long to) {
+        List<byte[]> result = new ArrayList<>((int) Math.max(0, to - from));
+        Long first = segments.floorKey(from);
+        Map<Long, LogSegment> candidates = first != null ? segments.tailMap(first, true) : segments;
+        for (LogSegment segment : candidates.values()) {
+            if (segment.getBaseOffset() >= to) {
+                break;
+            }
+            segment.read(Math.max(from, segment.getBaseOffset()), to, result);
+        }
+        return result;
+    }
+
+    long getStartOffset() {
+        return segments.firstKey();
+    }
+
+    long getNextOffset() {
+        return active.getNextOffset();
+    }
+
+    /**
+     * 마지막 메시지가 cutoff 보다 오래된 세그먼트를 지운다. 쓰는 중인 세그먼트는 지우지 않는다.
+     * 매핑은 GC 될 때 해제되지만 Linux 에서는 파일을 지워도 읽고 있던 매핑은 그대로 유효하다.
+     */
+    int deleteSegmentsOlderThan(long cutoffMillis) {
+        int deleted = 0;
+        for (LogSegment segment : segments.values()) {
+            if (segment == active || segment.getLastTimestamp() >= cutoffMillis) {
+                break;
+            }
+            segments.remove(segment.getBaseOffset());
+            try {
+                Files.deleteIfExists(segment.getPath());
+                deleted++;
+            } catch (IOException ex) {
+                log.warn("채팅 로그 세그먼트 삭제 실패: {}", segment.getPath(), ex);
+            }
+        }
+        return deleted;
+    }
+
+    void flush() {
+        appendLock.lock();
+        try {
+            active.flush();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.kyj.templateproject.chat.ingest;
+
+import com.kyj.templateproject.auth.util.StringUtils;
+import com.kyj.templateproject.chat.broker.ShardedRoomBroker;
+import com.kyj.templateproject.chat.dto.ChatMessage;
+import com.kyj.templateproject.chat.history.ChatHistoryStore;
+import com.kyj.templateproject.chat.security.ChatPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * /app/chat/message 수집 단계: 정제/검증 -> 사용자별 도배 제한 -> 방별 배치 -> 기록 추가 -> 전파.
+ *
+ * 수신 스레드는 정제와 도배 제한까지만 하고 방별 큐에 넣는다. 방의 첫 메시지가 batch-window 뒤의 플러시를 예약하고,
+ * 그 사이 들어온 메시지는 함께 묶여 기록 저장소에는 락 한 번으로 추가된 뒤 순서대로 전파된다.
+ * 한 방의 플러시는 동시에 하나만 돌므로 방 안의 메시지 순서가 유지된다.
+ * 큐를 다 비운 방의 배치는 맵에서 지우고 다음 메시지가 오면 새로 만든다 (메시지가 끊긴 방/삭제된 방이 남지 않게).
+ * 단계별 지연은 chat.ingest.stage 타이머(stage 태그), 대기 중인 메시지 수는 chat.ingest.queue-depth 로 보고한다.
+ */
+@Slf4j
+@Component
+public class ChatIngestionPipeline {
+
+    // 정제 버퍼는 수신 스레드마다 재사용 (clientInboundChannel 은 고정 스레드 풀)
+    private static final ThreadLocal<StringBuilder> SANITIZE_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final ChatHistoryStore chatHistoryStore;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final FloodLimiter floodLimiter;
+    private final int maxLength;
+    private final long batchWindowNanos;
+    private final int batchMax;
+    private final ScheduledExecutorService flushExecutor;
+
+    private final Map<String, RoomBatch> batches = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final Timer sanitizeTimer;
+    private final Timer floodTimer;
+    private final Timer queueWaitTimer;
+    private final Timer historyTimer;
+    private final Timer fanoutTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter floodRejectedCounter;
+    private final Counter invalidRejectedCounter;
+
+    public ChatIngestionPipeline(ChatHistoryStore chatHistoryStore,
+                                 SimpMessageSendingOperations messagingTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.chat.ingest.max-length:1000}") int maxLength,
+                                 @Value("${app.chat.ingest.flood.rate:5}") double floodRate,
+                                 @Value("${app.chat.ingest.flood.burst:10}") int floodBurst,
+                                 @Value("${app.chat.ingest.batch-window:20ms}") Duration batchWindow,
+                                 @Value("${app.chat.ingest.batch-max:64}") int batchMax,
+                                 @Value("${app.chat.ingest.flush-threads:0}") int flushThreads) {
+        this.chatHistoryStore = chatHistoryStore;
+        this.messagingTemplate = messagingTemplate;
+        this.floodLimiter = new FloodLimiter(floodRate, floodBurst, System::nanoTime);
+        this.maxLength = maxLength;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.batchMax = batchMax;
+
+        // 0 이하이면 코어 수만큼
+        int threads = flushThreads > 0 ? flushThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.flushExecutor = new ScheduledThreadPoolExecutor(threads,
+                runnable -> new Thread(runnable, "chat-ingest-" + threadIndex.getAndIncrement()));
+
+        this.sanitizeTimer = stageTimer(meterRegistry, "sanitize");
+        this.floodTimer = stageTimer(meterRegistry, "flood-control");
+        this.queueWaitTimer = stageTimer(meterRegistry, "queue-wait");
+        this.historyTimer = stageTimer(meterRegistry, "history");
+        this.fanoutTimer = stageTimer(meterRegistry, "fan-out");
+        this.batchSizeSummary = DistributionSummary.builder("chat.ingest.batch-size")
+                .description("Messages flushed together for one room")
+                .register(meterRegistry);
+        this.floodRejectedCounter = Counter.builder("chat.ingest.rejected")
+                .tag("reason", "flood")
+                .description("Chat messages rejected by the ingestion stage")
+                .register(meterRegistry);
+        this.invalidRejectedCounter = Counter.builder("chat.ingest.rejected")
+                .tag("reason", "invalid")
+                .description("Chat messages rejected by the ingestion stage")
+                .register(meterRegistry);
+        Gauge.builder("chat.ingest.queue-depth", queueDepth, AtomicInteger::get)
+                .description("Chat messages accepted but not yet flushed")
+                .register(meterRegistry);
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("chat.ingest.stage")
+                .tag("stage", stage)
+                .description("Latency of each chat ingestion stage")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지를 정제/검증하고 도배 제한을 통과하면 방 배치에 넣는다. 거절하면 MessageDeliveryException.
+     */
+    public void submit(ChatPrincipal principal, String roomId, String text) {
+        long start = System.nanoTime();
+        String sanitized = sanitize(text);
+        long sanitizedAt = System.nanoTime();
+        sanitizeTimer.record(sanitizedAt - start, TimeUnit.NANOSECONDS);
+
+        boolean allowed = floodLimiter.tryAcquire(principal.id());
+        long acceptedAt = System.nanoTime();
+        floodTimer.record(acceptedAt - sanitizedAt, TimeUnit.NANOSECONDS);
+        if (!allowed) {
+            floodRejectedCounter.increment();
+            throw new MessageDeliveryException("메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        ChatMessage message = ChatMessage.builder()
+                .type(ChatMessage.MessageType.TALK)
+                .roomId(roomId)
+                .sender(principal.username())
+                .message(sanitized)
+                .timestamp(Instant.now())
+                .build();
+        Pending pending = new Pending(message, acceptedAt);
+        // 배치에 넣기와 빈 배치 지우기(evictIfDrained)는 같은 키의 compute 라 서로 끼어들지 않는다
+        RoomBatch batch = batches.compute(roomId, (id, current) -> {
+            RoomBatch target = current != null ? current : new RoomBatch(id);
+            target.enqueue(pending);
+            return target;
+        });
+        batch.scheduleIfIdle();
+    }
+
+    // HTML 태그 제거와 앞뒤 공백 제거, 길이 검증 (태그/공백이 없으면 입력 문자열을 그대로 사용)
+    private String sanitize(String text) {
+        if (text == null) {
+            invalidRejectedCounter.increment();
+            throw new MessageDeliveryException("메시지 내용이 없습니다.");
+        }
+        StringBuilder buffer = SANITIZE_BUFFER.get();
+        buffer.setLength(0);
+        int removed = StringUtils.removeHtmlTags(text, buffer);
+
+        int begin = 0;
+        int end = buffer.length();
+        while (begin < end && Character.isWhitespace(buffer.charAt(begin))) {
+            begin++;
+        }
+        while (end > begin && Character.isWhitespace(buffer.charAt(end - 1))) {
+            end--;
+        }
+        if (begin == end) {
+            invalidRejectedCounter.increment();
+            throw new MessageDeliveryException("메시지 내용이 없습니다.");
+        }
+        if (end - begin > maxLength) {
+            invalidRejectedCounter.increment();
+            throw new MessageDeliveryException("메시지는 " + maxLength + "자 이하여야 합니다.");
+        }
+
+        String sanitized = removed == 0 && begin == 0 && end == text.length() ? text : buffer.substring(begin, end);
+        // 아주 긴 입력으로 커진 버퍼는 스레드에 붙잡아 두지 않는다
+        if (buffer.capacity() > maxLength * 4) {
+            SANITIZE_BUFFER.remove();
+        }
+        return sanitized;
+    }
+
+    // 오래 메시지를 보내지 않은 사용자의 도배 제한 상태 정리
+    @Scheduled(fixedDelayString = "${app.chat.ingest.flood.evict-interval:60000}")
+    public void evictIdleFloodState() {
+        floodLimiter.evictIdle();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        // 이미 예약된 플러시는 종료 전에 실행된다
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("채팅 수집 큐를 모두 비우지 못하고 종료합니다: {}개", queueDepth.get());
+        }
+    }
+
+    int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    int getRoomBatchCount() {
+        return batches.size();
+    }
+
+    private record Pending(ChatMessage message, long acceptedAtNanos) {
+    }
+
+    private final class RoomBatch implements Runnable {
+
+        private final String roomId;
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        // 플러시가 예약되었거나 실행 중이면 true
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private RoomBatch(String roomId) {
+            this.roomId = roomId;
+        }
+
+        void enqueue(Pending pending) {
+            queue.add(pending);
+            size.incrementAndGet();
+            queueDepth.incrementAndGet();
+        }
+
+        void scheduleIfIdle() {
+            if (scheduled.compareAndSet(false, true)) {
+                schedule(batchWindowNanos);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                flush();
+            } catch (Exception ex) {
+                log.warn("채팅 메시지 배치 처리 실패: roomId={}", roomId, ex);
+            } finally {
+                scheduled.set(false);
+                // 플러시 중에 들어온 메시지가 있으면 다시 예약 (배치가 가득 찼으면 바로)
+                int remaining = size.get();
+                if (remaining == 0) {
+                    evictIfDrained();
+                } else if (scheduled.compareAndSet(false, true)) {
+                    schedule(remaining >= batchMax ? 0 : batchWindowNanos);
+                }
+            }
+        }
+
+        // 그 사이 새 메시지가 들어왔거나 플러시가 다시 예약됐으면 남겨 둔다
+        private void evictIfDrained() {
+            batches.computeIfPresent(roomId,
+                    (id, current) -> current == this && size.get() == 0 && !scheduled.get() ? null : current);
+        }
+
+        private void schedule(long delayNanos) {
+            try {
+                flushExecutor.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ex) {
+                // 종료 중에는 호출 스레드에서 바로 처리
+                run();
+            }
+        }
+
+        private void flush() {
+            List<Pending> drained = new ArrayList<>(Math.min(size.get(), batchMax));
+            Pending pending;
+            while (drained.size() < batchMax && (pending = queue.poll()) != null) {
+                drained.add(pending);
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+            size.addAndGet(-drained.size());
+            queueDepth.addAndGet(-drained.size());
+            batchSizeSummary.record(drained.size());
+
+            long flushStart = System.nanoTime();
+            List<ChatMessage> messages = new ArrayList<>(drained.size());
+            for (Pending item : drained) {
+                queueWaitTimer.record(flushStart - item.acceptedAtNanos(), TimeUnit.NANOSECONDS);
+                messages.add(item.message());
+            }
+
+            // 기록 실패로 실시간 대화까지 막지는 않는다
+            try {
+                chatHistoryStore.appendAll(roomId, messages);
+            } catch (RuntimeException ex) {
+                log.warn("채팅 기록 추가 실패: roomId={}, size={}", roomId, messages.size(), ex);
+            }
+            long historyDone = System.nanoTime();
+            historyTimer.record(historyDone - flushStart, TimeUnit.NANOSECONDS);
+
+            String destination = ShardedRoomBroker.ROOM_DESTINATION_PREFIX + roomId;
+            for (ChatMessage message : messages) {
+                messagingTemplate.convertAndSend(destination, message);
+            }
+            fanoutTimer.record(System.nanoTime() - historyDone, TimeUnit.NANOSECONDS);
+        }
+    }
+}
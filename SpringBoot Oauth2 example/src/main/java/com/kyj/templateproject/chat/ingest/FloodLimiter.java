@@ -0,0 +1,54 @@
+package com.kyj.templateproject.chat.ingest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 토큰 버킷 도배 제한 (GCRA 방식).
+ * 사용자마다 "다음 토큰이 생기는 이론적 시각(TAT)" 하나만 두고 CAS 로 갱신하므로 락과 할당이 없다.
+ * 초당 rate 개가 채워지고 최대 burst 개까지 연속으로 보낼 수 있다.
+ */
+final class FloodLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier clock;
+    private final Map<Long, AtomicLong> theoreticalArrivals = new ConcurrentHashMap<>();
+
+    FloodLimiter(double ratePerSecond, int burst, LongSupplier clock) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.toleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.clock = clock;
+    }
+
+    boolean tryAcquire(Long userId) {
+        AtomicLong tat = theoreticalArrivals.computeIfAbsent(userId, id -> new AtomicLong(Long.MIN_VALUE));
+        long now = clock.getAsLong();
+        while (true) {
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE || current < now ? now : current;
+            if (base - now > toleranceNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, base + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 버킷이 가득 찬(한동안 보내지 않은) 사용자 항목을 지운다. 지워진 사용자는 다음 메시지에서 새 버킷으로 시작한다.
+     */
+    int evictIdle() {
+        long now = clock.getAsLong();
+        int before = theoreticalArrivals.size();
+        theoreticalArrivals.values().removeIf(tat -> tat.get() < now);
+        return before - theoreticalArrivals.size();
+    }
+
+    int size() {
+        return theoreticalArrivals.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.kyj.templateproject.chat.presence;
+
+import com.kyj.templateproject.chat.broker.ShardedRoomBroker;
+import com.kyj.templateproject.chat.security.ChatPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * clientInboundChannel 인터셉터. 인증 인터셉터 다음에 두어 통과한 프레임만 프레즌스에 반영한다.
+ * 하트비트를 포함한 모든 수신 프레임이 마지막 수신 시각을 갱신하고,
+ * 방 토픽(/topic/chat/room/{roomId}) 구독/해제와 세션 종료가 입장/퇴장이 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceChannelInterceptor implements ChannelInterceptor {
+
+    private final PresenceTracker presenceTracker;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getSessionId() == null || accessor.getMessageType() == null) {
+            return message;
+        }
+
+        String sessionId = accessor.getSessionId();
+        SimpMessageType messageType = accessor.getMessageType();
+        if (messageType == SimpMessageType.CONNECT) {
+            if (accessor.getUser() instanceof ChatPrincipal principal) {
+                presenceTracker.connect(sessionId, principal.id(), principal.username());
+            }
+        } else if (messageType == SimpMessageType.DISCONNECT) {
+            presenceTracker.disconnect(sessionId);
+        } else {
+            presenceTracker.touch(sessionId);
+            if (messageType == SimpMessageType.SUBSCRIBE) {
+                String roomId = roomTopicId(accessor.getDestination());
+                if (roomId != null) {
+                    presenceTracker.subscribe(sessionId, accessor.getSubscriptionId(), roomId);
+                }
+            } else if (messageType == SimpMessageType.UNSUBSCRIBE) {
+                presenceTracker.unsubscribe(sessionId, accessor.getSubscriptionId());
+            }
+        }
+        return message;
+    }
+
+    // 방 토픽 자체만 입장으로 본다 (/presence 등 하위 목적지 제외)
+    private static String roomTopicId(String destination) {
+        String roomId = ShardedRoomBroker.roomIdOf(destination);
+        if (roomId == null || !destination.equals(ShardedRoomBroker.ROOM_DESTINATION_PREFIX + roomId)) {
+            return null;
+        }
+        return roomId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.kyj.templateproject.chat.presence;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 접속 세션 하나의 프레즌스 상태. lastSeenNanos 만 여러 스레드가 쓰고(하트비트/프레임 수신),
+ * 나머지는 PresenceTracker 의 틱 스레드만 다룬다.
+ */
+final class PresenceSession {
+
+    final String sessionId;
+    final Long userId;
+    final String username;
+
+    volatile long lastSeenNanos;
+    // 만료되어 방에서 빠진 상태 (이후 프레임이 오면 다시 들어간다)
+    volatile boolean expired;
+    // DISCONNECT 로 종료됨 - 휠에 남아 있으면 다음에 지나갈 때 버린다
+    volatile boolean closed;
+
+    // 틱 스레드 전용: subscriptionId -> roomId, 휠에서 처리될 틱
+    final Map<String, String> subscriptions = new HashMap<>();
+    long scheduledTick;
+
+    PresenceSession(String sessionId, Long userId, String username, long nowNanos) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.username = username;
+        this.lastSeenNanos = nowNanos;
+    }
+}
@@ -0,0 +1,303 @@
+package com.kyj.templateproject.chat.presence;
+
+import com.kyj.templateproject.chat.broker.ShardedRoomBroker;
+import com.kyj.templateproject.chat.dto.PresenceDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 채팅방별 접속자(프레즌스) 추적.
+ *
+ * 세션의 마지막 수신 시각은 PresenceWheel(해시드 타이밍 휠)로 만료를 확인하므로 틱마다 전체 세션을 훑지 않는다.
+ * 하트비트 등 수신 스레드는 lastSeen 만 갱신하고, 구독/해제/종료는 명령 큐에 넣어 단일 틱 스레드가 처리한다.
+ * 입장/퇴장은 방별로 모아 broadcast-interval 마다 /topic/chat/room/{roomId}/presence 로 한 번에 보낸다.
+ * 같은 사용자의 여러 세션(탭)은 한 명으로 센다.
+ */
+@Slf4j
+@Component
+public class PresenceTracker {
+
+    public static final String PRESENCE_DESTINATION_SUFFIX = "/presence";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final LongSupplier clock;
+    private final long startNanos;
+    private final long tickNanos;
+    private final long timeoutNanos;
+    private final long broadcastIntervalNanos;
+    private final PresenceWheel wheel;
+
+    private final Map<String, PresenceSession> sessions = new ConcurrentHashMap<>();
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    // 조회용 방별 접속자 수
+    private final Map<String, Integer> onlineCounts = new ConcurrentHashMap<>();
+
+    // 틱 스레드 전용: 방 ID -> (사용자 ID -> 그 방 구독 수), 방 ID -> 이번 주기의 변화
+    private final Map<String, Map<Long, Integer>> roomMembers = new HashMap<>();
+    private final Map<String, RoomDelta> pendingDeltas = new HashMap<>();
+    private long lastBroadcastNanos;
+
+    private final Counter expiredCounter;
+    private ScheduledExecutorService executor;
+
+    // 메시징 템플릿은 이 트래커를 쓰는 WebSocketConfig 로 만들어지므로 지연 주입
+    @Autowired
+    public PresenceTracker(@Lazy SimpMessageSendingOperations messagingTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.chat.presence.tick:500ms}") Duration tick,
+                           @Value("${app.chat.presence.timeout:12s}") Duration timeout,
+                           @Value("${app.chat.presence.broadcast-interval:1s}") Duration broadcastInterval,
+                           @Value("${app.chat.presence.wheel-size:64}") int wheelSize) {
+        this(messagingTemplate, meterRegistry, tick, timeout, broadcastInterval, wheelSize, System::nanoTime);
+    }
+
+    PresenceTracker(SimpMessageSendingOperations messagingTemplate,
+                    MeterRegistry meterRegistry,
+                    Duration tick,
+                    Duration timeout,
+                    Duration broadcastInterval,
+                    int wheelSize,
+                    LongSupplier clock) {
+        this.messagingTemplate = messagingTemplate;
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+        this.lastBroadcastNanos = startNanos;
+        this.tickNanos = tick.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.broadcastIntervalNanos = broadcastInterval.toNanos();
+        this.wheel = new PresenceWheel(wheelSize, 0);
+
+        this.expiredCounter = Counter.builder("chat.presence.expired")
+                .description("Sessions marked offline because no frame or heartbeat arrived within the timeout")
+                .register(meterRegistry);
+        Gauge.builder("chat.presence.sessions", sessions, Map::size)
+                .description("STOMP sessions tracked for presence")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "chat-presence"));
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                tick();
+            } catch (Exception ex) {
+                log.warn("프레즌스 틱 처리 실패", ex);
+            }
+        }, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public void connect(String sessionId, Long userId, String username) {
+        PresenceSession session = new PresenceSession(sessionId, userId, username, clock.getAsLong());
+        sessions.put(sessionId, session);
+        commands.add(() -> wheel.schedule(session, deadlineTick(session)));
+    }
+
+    // 세션에서 프레임이나 하트비트가 들어옴
+    public void touch(String sessionId) {
+        PresenceSession session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        session.lastSeenNanos = clock.getAsLong();
+        if (session.expired) {
+            commands.add(() -> revive(session));
+        }
+    }
+
+    public void subscribe(String sessionId, String subscriptionId, String roomId) {
+        PresenceSession session = sessions.get(sessionId);
+        if (session == null || subscriptionId == null) {
+            return;
+        }
+        commands.add(() -> {
+            if (session.closed || session.subscriptions.containsKey(subscriptionId)) {
+                return;
+            }
+            session.subscriptions.put(subscriptionId, roomId);
+            if (!session.expired) {
+                enterRoom(session, roomId);
+            }
+        });
+    }
+
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        PresenceSession session = sessions.get(sessionId);
+        if (session == null || subscriptionId == null) {
+            return;
+        }
+        commands.add(() -> {
+            String roomId = session.subscriptions.remove(subscriptionId);
+            if (roomId != null && !session.expired) {
+                leaveRoom(session, roomId);
+            }
+        });
+    }
+
+    public void disconnect(String sessionId) {
+        PresenceSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        session.closed = true;
+        commands.add(() -> {
+            if (!session.expired) {
+                session.subscriptions.values().forEach(roomId -> leaveRoom(session, roomId));
+            }
+            session.subscriptions.clear();
+        });
+    }
+
+    public int getOnlineCount(String roomId) {
+        return onlineCounts.getOrDefault(roomId, 0);
+    }
+
+    /**
+     * 틱 하나 처리: 쌓인 명령 적용, 휠 진행(만료 확인), 주기가 되었으면 방별 변화 전송.
+     */
+    void tick() {
+        long now = clock.getAsLong();
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+
+        wheel.advance(toTick(now), this::onDue);
+
+        if (now - lastBroadcastNanos >= broadcastIntervalNanos) {
+            lastBroadcastNanos = now;
+            broadcastDeltas();
+        }
+    }
+
+    private void onDue(PresenceSession session) {
+        long deadline = deadlineTick(session);
+        if (deadline > wheel.getCurrentTick()) {
+            // 그 사이 하트비트가 있었으면 새 만료 틱으로 옮긴다
+            wheel.schedule(session, deadline);
+            return;
+        }
+
+        session.expired = true;
+        // touch 는 lastSeen 을 쓰고 expired 를 읽으므로, 여기서 다시 읽어 방금 들어온 하트비트를 놓치지 않는다
+        if (deadlineTick(session) > wheel.getCurrentTick()) {
+            session.expired = false;
+            wheel.schedule(session, deadlineTick(session));
+            return;
+        }
+        session.subscriptions.values().forEach(roomId -> leaveRoom(session, roomId));
+        expiredCounter.increment();
+    }
+
+    private void revive(PresenceSession session) {
+        if (session.closed || !session.expired) {
+            return;
+        }
+        session.expired = false;
+        session.subscriptions.values().forEach(roomId -> enterRoom(session, roomId));
+        wheel.schedule(session, deadlineTick(session));
+    }
+
+    private void enterRoom(PresenceSession session, String roomId) {
+        Map<Long, Integer> members = roomMembers.computeIfAbsent(roomId, id -> new HashMap<>());
+        if (members.merge(session.userId, 1, Integer::sum) == 1) {
+            pendingDeltas.computeIfAbsent(roomId, id -> new RoomDelta()).joined(session.userId, session.username);
+        }
+        onlineCounts.put(roomId, members.size());
+    }
+
+    private void leaveRoom(PresenceSession session, String roomId) {
+        Map<Long, Integer> members = roomMembers.get(roomId);
+        if (members == null || !members.containsKey(session.userId)) {
+            return;
+        }
+        if (members.computeIfPresent(session.userId, (userId, count) -> count == 1 ? null : count - 1) == null) {
+            pendingDeltas.computeIfAbsent(roomId, id -> new RoomDelta()).left(session.userId, session.username);
+        }
+        if (members.isEmpty()) {
+            roomMembers.remove(roomId);
+            onlineCounts.remove(roomId);
+        } else {
+            onlineCounts.put(roomId, members.size());
+        }
+    }
+
+    private void broadcastDeltas() {
+        Instant now = Instant.now();
+        pendingDeltas.forEach((roomId, delta) -> {
+            if (delta.isEmpty()) {
+                return;
+            }
+            messagingTemplate.convertAndSend(
+                    ShardedRoomBroker.ROOM_DESTINATION_PREFIX + roomId + PRESENCE_DESTINATION_SUFFIX,
+                    PresenceDto.Delta.builder()
+                            .roomId(roomId)
+                            .joined(List.copyOf(delta.joined.values()))
+                            .left(List.copyOf(delta.left.values()))
+                            .online(getOnlineCount(roomId))
+                            .timestamp(now)
+                            .build());
+        });
+        pendingDeltas.clear();
+    }
+
+    private long deadlineTick(PresenceSession session) {
+        return toTick(session.lastSeenNanos + timeoutNanos);
+    }
+
+    private long toTick(long nanos) {
+        return Math.max(0, nanos - startNanos) / tickNanos;
+    }
+
+    // 한 주기 동안의 입장/퇴장 - 같은 주기에 들어왔다 나간 사용자는 서로 상쇄
+    private static final class RoomDelta {
+        private final Map<Long, String> joined = new LinkedHashMap<>();
+        private final Map<Long, String> left = new LinkedHashMap<>();
+
+        void joined(Long userId, String username) {
+            if (left.remove(userId) == null) {
+                joined.put(userId, username);
+            }
+        }
+
+        void left(Long userId, String username) {
+            if (joined.remove(userId) == null) {
+                left.put(userId, username);
+            }
+        }
+
+        boolean isEmpty() {
+            return joined.isEmpty() && left.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.kyj.templateproject.chat.presence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 세션 만료용 해시드 타이밍 휠. 틱 스레드 하나에서만 사용한다.
+ *
+ * 세션은 만료 예정 틱의 슬롯(tick % wheelSize)에 들어가고, 한 틱에는 그 슬롯만 확인하므로
+ * 전체 세션을 훑지 않는다. 하트비트는 lastSeen 만 갱신하고 슬롯을 옮기지 않으며,
+ * 슬롯 차례가 왔을 때 lastSeen 으로 다시 계산한 만료 틱이 아직이면 그 슬롯으로 옮긴다(지연 재배치).
+ * 따라서 세션마다 timeout 당 최대 한 번만 처리된다.
+ */
+final class PresenceWheel {
+
+    private final List<PresenceSession>[] slots;
+    private final int mask;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    PresenceWheel(int wheelSize, long startTick) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheel-size 는 2의 거듭제곱이어야 합니다: " + wheelSize);
+        }
+        this.slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = wheelSize - 1;
+        this.currentTick = startTick;
+    }
+
+    void schedule(PresenceSession session, long deadlineTick) {
+        long tick = Math.max(deadlineTick, currentTick + 1);
+        session.scheduledTick = tick;
+        slots[(int) (tick & mask)].add(session);
+    }
+
+    /**
+     * nowTick 까지 휠을 돌리며 만료 틱이 된 세션을 onDue 로 넘긴다.
+     * 휠 크기보다 먼 틱의 세션은 같은 슬롯에 남아 다음 바퀴를 기다린다.
+     */
+    void advance(long nowTick, Consumer<PresenceSession> onDue) {
+        while (currentTick < nowTick) {
+            currentTick++;
+            int index = (int) (currentTick & mask);
+            List<PresenceSession> slot = slots[index];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            slots[index] = new ArrayList<>();
+            for (PresenceSession session : slot) {
+                if (session.closed) {
+                    continue;
+                }
+                if (session.scheduledTick > currentTick) {
+                    slots[index].add(session);
+                } else {
+                    onDue.accept(session);
+                }
+            }
+        }
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+}
@@ -0,0 +1,31 @@
+package com.kyj.templateproject.chat.repository;
+
+import com.kyj.templateproject.chat.entity.ChatRoomMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember, Long> {
+
+    // 이미 있는 멤버십은 무시 (write-behind 재시도가 중복 행을 만들지 않도록)
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            merge into chat_room_members (room_id, user_id, username, joined_at)
+            key (room_id, user_id)
+            values (:roomId, :userId, :username, :joinedAt)
+            """)
+    int upsert(@Param("roomId") String roomId, @Param("userId") Long userId,
+               @Param("username") String username, @Param("joinedAt") LocalDateTime joinedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChatRoomMember m where m.roomId = :roomId")
+    int deleteByRoomId(@Param("roomId") String roomId);
+}
@@ -0,0 +1,9 @@
+package com.kyj.templateproject.chat.repository;
+
+import com.kyj.templateproject.chat.entity.ChatRoom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
+}
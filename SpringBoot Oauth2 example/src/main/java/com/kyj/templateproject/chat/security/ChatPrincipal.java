@@ -0,0 +1,12 @@
+package com.kyj.templateproject.chat.security;
+
+import java.security.Principal;
+
+// STOMP CONNECT 에서 JWT 로 인증된 사용자 (이후 같은 세션의 모든 프레임에 연결됨)
+public record ChatPrincipal(Long id, String email, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
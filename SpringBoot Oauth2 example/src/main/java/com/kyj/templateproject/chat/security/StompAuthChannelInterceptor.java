@@ -0,0 +1,78 @@
+package com.kyj.templateproject.chat.security;
+
+import com.kyj.templateproject.auth.repository.UserRepository;
+import com.kyj.templateproject.auth.security.JwtTokenProvider;
+import com.kyj.templateproject.chat.broker.ShardedRoomBroker;
+import com.kyj.templateproject.chat.service.ChatRoomRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * clientInboundChannel 인터셉터. CONNECT 프레임의 Authorization 헤더를 검증해 세션 사용자로 등록하고,
+ * 인증되지 않은 SEND/SUBSCRIBE, 브로커 목적지로 직접 보내는 SEND, 참여하지 않은 방의 구독을 거절한다.
+ * 여기서 던진 MessagingException 은 STOMP ERROR 프레임으로 클라이언트에 전달된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String APP_DESTINATION_PREFIX = "/app/";
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserRepository userRepository;
+    private final ChatRoomRegistry chatRoomRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.CONNECT) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION)));
+        } else if (command == StompCommand.SUBSCRIBE || command == StompCommand.SEND) {
+            if (!(accessor.getUser() instanceof ChatPrincipal principal)) {
+                throw new MessageDeliveryException("인증되지 않은 세션입니다.");
+            }
+            // 클라이언트가 /topic 으로 직접 보내면 컨트롤러를 거치지 않고 브로커로 가므로 막는다
+            String destination = accessor.getDestination();
+            if (command == StompCommand.SEND && (destination == null || !destination.startsWith(APP_DESTINATION_PREFIX))) {
+                throw new MessageDeliveryException("허용되지 않은 목적지입니다: " + destination);
+            }
+            // 방 토픽은 참여한 사용자만 구독 (메모리 인덱스 조회)
+            String roomId = ShardedRoomBroker.roomIdOf(destination);
+            if (command == StompCommand.SUBSCRIBE && roomId != null && !chatRoomRegistry.isMember(roomId, principal.id())) {
+                throw new MessageDeliveryException("참여하지 않은 채팅방입니다: " + roomId);
+            }
+        }
+        return message;
+    }
+
+    private ChatPrincipal authenticate(String bearerToken) {
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("인증 토큰이 없습니다.");
+        }
+
+        String jwt = bearerToken.substring(7);
+        if (!tokenProvider.validateToken(jwt)) {
+            throw new MessageDeliveryException("유효하지 않은 토큰입니다.");
+        }
+
+        Long userId = tokenProvider.getUserIdFromToken(jwt);
+        return userRepository.findById(userId)
+                .filter(user -> user.isActive())
+                .map(user -> new ChatPrincipal(user.getId(), user.getEmail(), user.getUsername()))
+                .orElseThrow(() -> new MessageDeliveryException("사용자를 찾을 수 없습니다."));
+    }
+}
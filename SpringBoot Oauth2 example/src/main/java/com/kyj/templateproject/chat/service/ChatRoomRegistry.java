@@ -0,0 +1,204 @@
+package com.kyj.templateproject.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.chat.dto.ChatRoomDto;
+import com.kyj.templateproject.chat.entity.ChatRoom;
+import com.kyj.templateproject.chat.entity.ChatRoomMember;
+import com.kyj.templateproject.chat.history.ChatHistoryStore;
+import com.kyj.templateproject.chat.repository.ChatRoomMemberRepository;
+import com.kyj.templateproject.chat.repository.ChatRoomRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅방 목록과 멤버십의 메모리 저장소.
+ *
+ * 방 목록은 불변 스냅샷을 copy-on-write 로 교체하므로 조회는 락 없이 volatile 읽기 한 번이고,
+ * 스냅샷마다 JSON 을 한 번만 직렬화해 재사용한다 (클라이언트는 변경마다 목록을 다시 받는다).
+ * 멤버십은 방 기준/사용자 기준 인덱스를 함께 두어 STOMP 구독 권한 확인이 O(1) 이다.
+ * 변경은 ChatRoomWriteBehind 를 통해 비동기로 JPA 에 반영되고, 시작 시 JPA 에서 복원한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRoomRegistry {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+    private final ChatRoomWriteBehind writeBehind;
+    private final ChatHistoryStore chatHistoryStore;
+    private final ObjectMapper objectMapper;
+
+    // 방 ID -> (사용자 ID -> 표시 이름), 사용자 ID -> 방 ID
+    private final Map<String, Map<Long, String>> membersByRoom = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> roomsByUser = new ConcurrentHashMap<>();
+
+    // 변경은 한 번에 하나씩 (조회는 락 없이 snapshot 만 읽는다)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(Map.of());
+
+    // 생성 순으로 정렬된 방 목록과 그 JSON
+    private static final class Snapshot {
+        private final Map<String, ChatRoomDto.RoomResponse> rooms;
+        private volatile byte[] json;
+
+        private Snapshot(Map<String, ChatRoomDto.RoomResponse> rooms) {
+            this.rooms = Collections.unmodifiableMap(rooms);
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        for (ChatRoomMember member : chatRoomMemberRepository.findAll()) {
+            addMembership(member.getRoomId(), member.getUserId(), member.getUsername());
+        }
+        Map<String, ChatRoomDto.RoomResponse> rooms = new LinkedHashMap<>();
+        chatRoomRepository.findAll().stream()
+                .sorted(Comparator.comparing(ChatRoom::getCreatedAt))
+                .forEach(room -> rooms.put(room.getRoomId(),
+                        ChatRoomDto.RoomResponse.fromEntity(room, participantsOf(room.getRoomId()))));
+        snapshot = new Snapshot(rooms);
+        log.info("채팅방 {}개 복원", rooms.size());
+    }
+
+    /**
+     * 방 목록 JSON. 스냅샷이 바뀐 뒤 처음 조회하는 요청이 직렬화하고 이후에는 같은 바이트를 돌려준다.
+     */
+    public byte[] findAllAsJson() {
+        Snapshot current = snapshot;
+        byte[] json = current.json;
+        if (json == null) {
+            try {
+                json = objectMapper.writeValueAsBytes(current.rooms.values());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("채팅방 목록 직렬화에 실패했습니다.", e);
+            }
+            current.json = json;
+        }
+        return json;
+    }
+
+    public List<ChatRoomDto.RoomResponse> findAll() {
+        return List.copyOf(snapshot.rooms.values());
+    }
+
+    public Optional<ChatRoomDto.RoomResponse> findById(String roomId) {
+        return Optional.ofNullable(snapshot.rooms.get(roomId));
+    }
+
+    public boolean isMember(String roomId, Long userId) {
+        Set<String> rooms = roomsByUser.get(userId);
+        return rooms != null && rooms.contains(roomId);
+    }
+
+    // 채팅방 생성
+    public ChatRoomDto.RoomResponse create(ChatRoomDto.CreateRequest request, String createdBy) {
+        ChatRoom room = ChatRoom.builder()
+                .roomId(UUID.randomUUID().toString())
+                .name(request.getName().trim())
+                .description(request.getDescription())
+                .createdBy(createdBy)
+                .createdAt(LocalDateTime.now())
+                .build();
+        ChatRoomDto.RoomResponse response = ChatRoomDto.RoomResponse.fromEntity(room, List.of());
+
+        writeLock.lock();
+        try {
+            Map<String, ChatRoomDto.RoomResponse> rooms = new LinkedHashMap<>(snapshot.rooms);
+            rooms.put(room.getRoomId(), response);
+            snapshot = new Snapshot(rooms);
+            writeBehind.enqueue(new ChatRoomWriteBehind.RoomCreated(room));
+        } finally {
+            writeLock.unlock();
+        }
+        return response;
+    }
+
+    // 채팅방 삭제 (멤버십과 채팅 기록도 함께 삭제)
+    public void delete(String roomId) {
+        writeLock.lock();
+        try {
+            if (!snapshot.rooms.containsKey(roomId)) {
+                throw new RuntimeException("채팅방을 찾을 수 없습니다.");
+            }
+            Map<String, ChatRoomDto.RoomResponse> rooms = new LinkedHashMap<>(snapshot.rooms);
+            rooms.remove(roomId);
+            snapshot = new Snapshot(rooms);
+
+            Map<Long, String> members = membersByRoom.remove(roomId);
+            if (members != null) {
+                members.keySet().forEach(userId -> roomsByUser.computeIfPresent(userId, (id, userRooms) -> {
+                    userRooms.remove(roomId);
+                    return userRooms.isEmpty() ? null : userRooms;
+                }));
+            }
+            writeBehind.enqueue(new ChatRoomWriteBehind.RoomDeleted(roomId));
+        } finally {
+            writeLock.unlock();
+        }
+        chatHistoryStore.deleteRoom(roomId);
+    }
+
+    // 채팅방 참여 (이미 참여한 경우 스냅샷을 바꾸지 않는다)
+    public ChatRoomDto.RoomResponse join(String roomId, Long userId, String username) {
+        if (isMember(roomId, userId)) {
+            ChatRoomDto.RoomResponse room = snapshot.rooms.get(roomId);
+            if (room != null) {
+                return room;
+            }
+        }
+
+        writeLock.lock();
+        try {
+            ChatRoomDto.RoomResponse room = snapshot.rooms.get(roomId);
+            if (room == null) {
+                throw new RuntimeException("채팅방을 찾을 수 없습니다.");
+            }
+            if (isMember(roomId, userId)) {
+                return room;
+            }
+            addMembership(roomId, userId, username);
+
+            ChatRoomDto.RoomResponse updated = ChatRoomDto.RoomResponse.builder()
+                    .roomId(room.getRoomId())
+                    .name(room.getName())
+                    .description(room.getDescription())
+                    .createdBy(room.getCreatedBy())
+                    .createdAt(room.getCreatedAt())
+                    .participants(participantsOf(roomId))
+                    .build();
+            Map<String, ChatRoomDto.RoomResponse> rooms = new LinkedHashMap<>(snapshot.rooms);
+            rooms.put(roomId, updated);
+            snapshot = new Snapshot(rooms);
+            writeBehind.enqueue(new ChatRoomWriteBehind.MemberJoined(roomId, userId, username, LocalDateTime.now()));
+            return updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void addMembership(String roomId, Long userId, String username) {
+        membersByRoom.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>()).put(userId, username);
+        roomsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(roomId);
+    }
+
+    private List<String> participantsOf(String roomId) {
+        Map<Long, String> members = membersByRoom.get(roomId);
+        return members == null ? List.of() : List.copyOf(members.values());
+    }
+}
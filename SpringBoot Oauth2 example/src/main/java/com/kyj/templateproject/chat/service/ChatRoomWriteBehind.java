@@ -0,0 +1,185 @@
+package com.kyj.templateproject.chat.service;
+
+import com.kyj.templateproject.chat.entity.ChatRoom;
+import com.kyj.templateproject.datasource.ConnectionWaits;
+import com.kyj.templateproject.chat.repository.ChatRoomMemberRepository;
+import com.kyj.templateproject.chat.repository.ChatRoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ChatRoomRegistry 의 변경을 모아 두었다가 주기적으로 한 트랜잭션에 JPA 로 반영하는 write-behind 큐.
+ * 요청 스레드는 메모리 인덱스만 바꾸고 바로 응답하므로 DB 쓰기 지연이 방 생성/입장 응답에 더해지지 않는다.
+ * 배치 반영에 실패하면 같은 배치를 변경 하나씩 따로 반영해 본다. 하나씩도 실패한 변경부터는 순서를 유지한 채
+ * 큐 앞에 되돌려 다음 주기에 다시 시도하고, 같은 변경이 max-attempts 번 실패하면 버리고(dead-letter) 로그와 지표를 남긴다.
+ * 따라서 반영할 수 없는 변경 하나가 뒤의 변경을 영원히 막지 않는다.
+ * 커넥션 풀 대기 예산을 넘긴 실패는 변경의 문제가 아니므로 실패 횟수에 넣지 않고 배치를 그대로 되돌린다.
+ * 종료 시 남은 변경을 모두 반영한다. 그 사이 프로세스가 죽으면 마지막 주기 이후의 변경은 잃는다.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class ChatRoomWriteBehind {
+
+    sealed interface Change permits RoomCreated, RoomDeleted, MemberJoined {
+    }
+
+    record RoomCreated(ChatRoom room) implements Change {
+    }
+
+    record RoomDeleted(String roomId) implements Change {
+    }
+
+    record MemberJoined(String roomId, Long userId, String username, LocalDateTime joinedAt) implements Change {
+    }
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final LinkedBlockingDeque<Change> pending = new LinkedBlockingDeque<>();
+    // 주기 실행과 종료 시 반영이 겹치지 않도록
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 하나씩 반영해도 실패한 변경 -> 실패 횟수 (flushLock 안에서만 접근)
+    private final Map<Change, Integer> failedAttempts = new IdentityHashMap<>();
+
+    private final Counter flushedCounter;
+    private final Counter failureCounter;
+    private final Counter deadLetterCounter;
+
+    public ChatRoomWriteBehind(ChatRoomRepository chatRoomRepository,
+                               ChatRoomMemberRepository chatRoomMemberRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.chat.room.flush-batch-size:500}") int batchSize,
+                               @Value("${app.chat.room.flush-max-attempts:5}") int maxAttempts) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatRoomMemberRepository = chatRoomMemberRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        this.flushedCounter = Counter.builder("chat.room.write-behind.flushed")
+                .description("Chat room changes written to the database")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("chat.room.write-behind.failures")
+                .description("Chat room change batches that failed and will be retried")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("chat.room.write-behind.dead-lettered")
+                .description("Chat room changes dropped after failing max attempts on their own")
+                .register(meterRegistry);
+        Gauge.builder("chat.room.write-behind.pending", pending, LinkedBlockingDeque::size)
+                .description("Chat room changes waiting to be written")
+                .register(meterRegistry);
+    }
+
+    void enqueue(Change change) {
+        pending.addLast(change);
+    }
+
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.room.flush-interval:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Change> batch = new ArrayList<>(batchSize);
+            while (pending.drainTo(batch, batchSize) > 0) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> batch.forEach(this::apply));
+                } catch (Exception ex) {
+                    failureCounter.increment();
+                    if (ConnectionWaits.isWaitExceeded(ex)) {
+                        log.warn("커넥션 풀이 붐벼 채팅방 변경 반영을 다음 주기로 미룹니다: size={}", batch.size());
+                        requeue(batch, 0);
+                        return;
+                    }
+                    log.warn("채팅방 변경 배치 반영 실패, 하나씩 다시 반영: size={}", batch.size(), ex);
+                    if (!applyOneByOne(batch)) {
+                        return;
+                    }
+                    batch.clear();
+                    continue;
+                }
+                flushedCounter.increment(batch.size());
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 배치를 변경 하나씩 각자의 트랜잭션으로 반영한다.
+     * 실패한 변경이 한도에 닿으면 버리고 계속, 아니면 그 변경부터 큐 앞에 되돌리고 false 를 반환한다.
+     */
+    private boolean applyOneByOne(List<Change> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Change change = batch.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(change));
+                failedAttempts.remove(change);
+                flushedCounter.increment();
+            } catch (Exception ex) {
+                if (ConnectionWaits.isWaitExceeded(ex)) {
+                    requeue(batch, i);
+                    return false;
+                }
+                int attempts = failedAttempts.merge(change, 1, Integer::sum);
+                if (attempts < maxAttempts) {
+                    log.warn("채팅방 변경 반영 실패, 다음 주기에 재시도: change={}, attempts={}", change, attempts, ex);
+                    requeue(batch, i);
+                    return false;
+                }
+                failedAttempts.remove(change);
+                log.error("채팅방 변경을 {}번 반영하지 못해 버림: change={}", attempts, change, ex);
+                deadLetterCounter.increment();
+            }
+        }
+        return true;
+    }
+
+    // batch[from..] 을 순서를 유지한 채 큐 앞에 되돌린다
+    private void requeue(List<Change> batch, int from) {
+        for (int j = batch.size() - 1; j >= from; j--) {
+            pending.addFirst(batch.get(j));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void apply(Change change) {
+        switch (change) {
+            case RoomCreated created -> chatRoomRepository.save(created.room());
+            case RoomDeleted deleted -> {
+                chatRoomMemberRepository.deleteByRoomId(deleted.roomId());
+                chatRoomRepository.deleteById(deleted.roomId());
+            }
+            case MemberJoined joined -> chatRoomMemberRepository.upsert(
+                    joined.roomId(), joined.userId(), joined.username(), joined.joinedAt());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.kyj.templateproject.config;
+
+import com.kyj.templateproject.chat.broker.OutboundDeliveryInterceptor;
+import com.kyj.templateproject.chat.broker.OverflowPolicy;
+import com.kyj.templateproject.chat.broker.ShardedRoomBroker;
+import com.kyj.templateproject.chat.presence.PresenceChannelInterceptor;
+import com.kyj.templateproject.chat.security.StompAuthChannelInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final PresenceChannelInterceptor presenceChannelInterceptor;
+
+    @Value("${app.cors.allowed-origins}")
+    private String[] allowedOrigins;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOriginPatterns(allowedOrigins)
+                .withSockJS();
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes("/app");
+        // /topic/chat/room/** 은 ShardedRoomBroker 가, CONNECT 응답/하트비트와 /queue 는 SimpleBroker 가 처리
+        registry.enableSimpleBroker("/queue")
+                .setHeartbeatValue(new long[]{4000, 4000})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 인증을 통과한 프레임만 프레즌스에 반영
+        registration.interceptors(stompAuthChannelInterceptor, presenceChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new OutboundDeliveryInterceptor());
+    }
+
+    @Bean
+    public ShardedRoomBroker shardedRoomBroker(@Qualifier("clientInboundChannel") SubscribableChannel clientInboundChannel,
+                                               @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                                               @Qualifier("brokerChannel") SubscribableChannel brokerChannel,
+                                               @Value("${app.chat.broker.shards:0}") int shards,
+                                               @Value("${app.chat.broker.subscriber-queue-capacity:256}") int queueCapacity,
+                                               @Value("${app.chat.broker.overflow-policy:drop-oldest}") OverflowPolicy overflowPolicy,
+                                               MeterRegistry meterRegistry) {
+        // 0 이하이면 코어 수만큼 샤드 생성
+        int shardCount = shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        return new ShardedRoomBroker(clientInboundChannel, clientOutboundChannel, brokerChannel,
+                shardCount, queueCapacity, overflowPolicy, meterRegistry);
+    }
+}
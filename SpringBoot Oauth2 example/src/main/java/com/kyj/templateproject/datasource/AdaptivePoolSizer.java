@@ -0,0 +1,138 @@
+package com.kyj.templateproject.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션 대기 시간과 커넥션 사용(hold) 시간을 보고 Hikari 최대 풀 크기를 범위 안에서 조정한다.
+ *
+ * - 대기 p95 가 목표를 넘고 대기 중인 스레드가 있는데 사용 시간은 짧으면: 커넥션이 모자라므로 step 만큼 늘린다.
+ * - 커넥션 사용 시간 p95 가 상한을 넘으면: DB 가 포화된 것으로 보고 동시 요청을 줄이려고 step 만큼 줄인다
+ *   (이때 늘리면 DB 부하만 커진다. 넘치는 요청은 connection-timeout 후 503 으로 바로 실패).
+ * - 대기가 거의 없고 절반 이상 놀고 있으면: 하나씩 줄여 반납한다.
+ *
+ * 대기/사용 시간은 Hikari 가 Micrometer 에 기록하는 hikaricp.connections.acquire / usage 타이머의 p95 를 쓰고,
+ * 백분위가 설정되지 않았으면 직전 주기 평균으로 대신한다.
+ * 사용 시간은 빌린 커넥션을 반납하기까지의 시간이라 쿼리 시간뿐 아니라 트랜잭션 안의 애플리케이션 처리도 포함한다.
+ * 주입받는 곳이 없으므로 지연 초기화 프로필에서도 조정이 시작되도록 항상 즉시 생성한다.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "app.datasource.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final double targetWaitMillis;
+    private final double maxConnectionHoldMillis;
+    private final int step;
+    private final Counter grown;
+    private final Counter shrunk;
+
+    private final TimerWindow acquireWindow = new TimerWindow();
+    private final TimerWindow usageWindow = new TimerWindow();
+
+    public AdaptivePoolSizer(DataSource dataSource,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.datasource.adaptive.min-pool-size:5}") int minPoolSize,
+                             @Value("${app.datasource.adaptive.max-pool-size:40}") int maxPoolSize,
+                             @Value("${app.datasource.adaptive.target-wait:20ms}") Duration targetWait,
+                             @Value("${app.datasource.adaptive.max-connection-hold:100ms}") Duration maxConnectionHold,
+                             @Value("${app.datasource.adaptive.step:2}") int step) throws SQLException {
+        this.dataSource = dataSource.unwrap(HikariDataSource.class);
+        this.meterRegistry = meterRegistry;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = Math.max(minPoolSize, maxPoolSize);
+        this.targetWaitMillis = targetWait.toNanos() / 1e6;
+        this.maxConnectionHoldMillis = maxConnectionHold.toNanos() / 1e6;
+        this.step = Math.max(1, step);
+        this.grown = Counter.builder("datasource.pool.adaptive.resizes").tag("direction", "up").register(meterRegistry);
+        this.shrunk = Counter.builder("datasource.pool.adaptive.resizes").tag("direction", "down").register(meterRegistry);
+        Gauge.builder("datasource.pool.adaptive.max-size", this.dataSource, HikariDataSource::getMaximumPoolSize)
+                .description("Current maximum pool size chosen by the adaptive sizer")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.adaptive.interval:5000}",
+            initialDelayString = "${app.datasource.adaptive.interval:5000}")
+    public void adjust() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            // 아직 첫 커넥션 요청 전이라 풀이 시작되지 않음
+            return;
+        }
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", dataSource.getPoolName()).timer();
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", dataSource.getPoolName()).timer();
+        if (acquire == null || usage == null) {
+            return;
+        }
+
+        Sample sample = new Sample(acquireWindow.p95Millis(acquire), usageWindow.p95Millis(usage), pool.getThreadsAwaitingConnection(),
+                pool.getActiveConnections(), dataSource.getMaximumPoolSize());
+        int next = decide(sample);
+        if (next != sample.maxPoolSize()) {
+            log.info("Resizing connection pool {} -> {} (wait p95 {}ms, connection hold p95 {}ms, pending {}, active {})",
+                    sample.maxPoolSize(), next, Math.round(sample.waitP95Millis()), Math.round(sample.holdP95Millis()),
+                    sample.pending(), sample.active());
+            dataSource.setMaximumPoolSize(next);
+            (next > sample.maxPoolSize() ? grown : shrunk).increment();
+        }
+    }
+
+    int decide(Sample sample) {
+        int current = sample.maxPoolSize();
+        if (sample.holdP95Millis() > maxConnectionHoldMillis) {
+            return Math.max(minPoolSize, current - step);
+        }
+        if (sample.waitP95Millis() > targetWaitMillis && sample.pending() > 0) {
+            return Math.min(maxPoolSize, current + step);
+        }
+        if (sample.waitP95Millis() < targetWaitMillis / 4 && sample.active() * 2 <= current) {
+            return Math.max(minPoolSize, current - 1);
+        }
+        return Math.min(maxPoolSize, Math.max(minPoolSize, current));
+    }
+
+    // 백분위가 없으면 직전 호출 이후 구간의 평균을 쓰기 위해 누적값을 기억
+    private static final class TimerWindow {
+
+        private long lastCount;
+        private double lastTotalMillis;
+
+        double p95Millis(Timer timer) {
+            long count = timer.count();
+            double total = timer.totalTime(TimeUnit.MILLISECONDS);
+            double mean = count > lastCount ? (total - lastTotalMillis) / (count - lastCount) : 0;
+            lastCount = count;
+            lastTotalMillis = total;
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == 0.95) {
+                    return value.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            return mean;
+        }
+    }
+
+    record Sample(double waitP95Millis, double holdP95Millis, int pending, int active, int maxPoolSize) {
+    }
+}
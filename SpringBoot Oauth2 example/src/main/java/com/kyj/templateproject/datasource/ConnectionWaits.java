@@ -0,0 +1,28 @@
+package com.kyj.templateproject.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * 커넥션 풀 대기 예산(spring.datasource.hikari.connection-timeout) 초과 판별.
+ *
+ * 예산은 요청 경로 기준으로 짧게 잡혀 있어 백그라운드 작업도 풀이 잠깐 붐비면 같은 예외를 받는다.
+ * 요청은 503 으로 돌려보내고, 백그라운드 작업은 실패 횟수로 세지 않고 다음 주기에 다시 시도한다.
+ */
+public final class ConnectionWaits {
+
+    private ConnectionWaits() {
+    }
+
+    // 트랜잭션/인증/HTTP 예외 등으로 감싸져 오므로 원인을 따라간다
+    public static boolean isWaitExceeded(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
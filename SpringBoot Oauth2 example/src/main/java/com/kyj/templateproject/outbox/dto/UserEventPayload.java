@@ -0,0 +1,36 @@
+package com.kyj.templateproject.outbox.dto;
+
+import com.kyj.templateproject.auth.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 사용자 라이프사이클 이벤트 페이로드
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEventPayload {
+    private Long userId;
+    private String email;
+    private String username;
+    private String profileImage;
+    private User.AuthProvider provider;
+    private boolean active;
+    private LocalDateTime occurredAt;
+
+    public static UserEventPayload fromEntity(User user) {
+        return UserEventPayload.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .username(user.getUsername())
+                .profileImage(user.getProfileImage())
+                .provider(user.getProvider())
+                .active(user.isActive())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.kyj.templateproject.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스 레코드 - 도메인 변경과 같은 트랜잭션에서 기록되고 릴레이가 외부로 전달한다.
+ */
+@Entity
+@Table(name = "outbox_events",
+        indexes = @Index(name = "idx_outbox_events_published_at_id", columnList = "published_at, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // last_error 컬럼 길이
+    public static final int LAST_ERROR_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private String aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EventType eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 전달 완료 시각 (null 이면 아직 전달되지 않음)
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    // 재시도 한도를 넘겨 더 이상 전달하지 않기로 한 시각 (null 이면 전달 대상)
+    private LocalDateTime parkedAt;
+
+    public void markPublished(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+        this.attempts++;
+        this.lastError = null;
+    }
+
+    /**
+     * 전달 실패를 기록한다. 시도 횟수가 maxAttempts 에 닿으면 보류(parked) 상태로 돌리고 true 를 반환한다.
+     */
+    public boolean markFailed(String error, int maxAttempts, LocalDateTime now) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > LAST_ERROR_LENGTH
+                ? error.substring(0, LAST_ERROR_LENGTH)
+                : error;
+        if (attempts >= maxAttempts) {
+            this.parkedAt = now;
+            return true;
+        }
+        return false;
+    }
+
+    public enum EventType {
+        USER_SIGNED_UP, USER_PROFILE_UPDATED, USER_DEACTIVATED
+    }
+}
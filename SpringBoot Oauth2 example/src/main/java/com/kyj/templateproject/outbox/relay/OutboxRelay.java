@@ -0,0 +1,129 @@
+package com.kyj.templateproject.outbox.relay;
+
+import com.kyj.templateproject.datasource.ConnectionWaits;
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+import com.kyj.templateproject.outbox.repository.OutboxEventRepository;
+import com.kyj.templateproject.outbox.sink.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 아웃박스 테이블을 배치 단위로 폴링해 싱크로 전달하는 백그라운드 릴레이.
+ *
+ * 배치 조회, 싱크 전달, 전달 완료 표시가 하나의 트랜잭션에서 이루어지고 행 잠금은 SKIP LOCKED 로 얻으므로
+ * 여러 인스턴스가 동시에 돌아도 같은 행을 나눠 갖지 않는다.
+ * 싱크 전달 후 커밋 전에 장애가 나면 다음 폴링에서 다시 전달된다 (at-least-once).
+ * 같은 이벤트가 max-attempts 번 실패하면 보류(parked_at)로 표시해 폴링 대상에서 뺀다. 원인을 고친 뒤 parked_at 을 비우면 다시 전달된다.
+ * 커넥션 풀 대기 예산을 넘겨 배치를 읽지도 못한 경우는 시도 횟수에 넣지 않고 다음 폴링에서 다시 시도한다.
+ * 지연 초기화 프로필에서도 폴링이 시작되도록 항상 즉시 생성한다.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final Timer lagTimer;
+    private final Counter deliveredCounter;
+    private final Counter failureCounter;
+    private final Counter parkedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        // 생성부터 전달 완료까지 걸린 시간
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Time between outbox insert and delivery to the sink")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("outbox.relay.delivered")
+                .description("Outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches that failed delivery and will be retried")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.relay.parked")
+                .description("Outbox events that reached max attempts and were parked")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval:1000}",
+            initialDelayString = "${app.outbox.relay.poll-interval:1000}")
+    public void poll() {
+        // 밀린 이벤트가 있으면 배치가 가득 차지 않을 때까지 연속으로 비운다
+        int relayed;
+        try {
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException ex) {
+            if (!ConnectionWaits.isWaitExceeded(ex)) {
+                throw ex;
+            }
+            log.warn("커넥션 풀이 붐벼 아웃박스 폴링을 다음 주기로 미룹니다: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 배치 하나를 전달하고 전달한 이벤트 수를 반환한다. 전달에 실패하면 0 을 반환한다.
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findPendingForUpdate(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                outboxSink.deliver(batch);
+            } catch (Exception ex) {
+                log.warn("아웃박스 이벤트 전달 실패: firstId={}, size={}", batch.get(0).getId(), batch.size(), ex);
+                failureCounter.increment();
+                LocalDateTime now = LocalDateTime.now();
+                for (OutboxEvent event : batch) {
+                    if (event.markFailed(ex.getMessage(), maxAttempts, now)) {
+                        log.error("아웃박스 이벤트 보류: id={}, attempts={}", event.getId(), event.getAttempts());
+                        parkedCounter.increment();
+                    }
+                }
+                return 0;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEvent event : batch) {
+                event.markPublished(now);
+                lagTimer.record(Duration.between(event.getCreatedAt(), now));
+            }
+            deliveredCounter.increment(batch.size());
+            return batch.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.kyj.templateproject.outbox.repository;
+
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 미전달 이벤트(보류된 것 제외)를 id 순으로 잠그며 조회한다.
+     * SKIP LOCKED 로 다른 릴레이 인스턴스가 잡고 있는 행은 건너뛴다.
+     * (Hibernate H2Dialect 는 lock timeout 힌트를 SKIP LOCKED 로 렌더링하지 않아 네이티브 쿼리를 사용)
+     */
+    @Query(value = "select * from outbox_events where published_at is null and parked_at is null order by id "
+            + "fetch first :limit rows only for update skip locked", nativeQuery = true)
+    List<OutboxEvent> findPendingForUpdate(@Param("limit") int limit);
+}
@@ -0,0 +1,47 @@
+package com.kyj.templateproject.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.outbox.dto.UserEventPayload;
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+import com.kyj.templateproject.outbox.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 사용자 변경과 같은 트랜잭션 안에서 아웃박스 레코드를 기록한다.
+ * 외부 서비스 호출은 하지 않으므로 요청 지연에 영향을 주지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxEventPublisher {
+
+    private static final String USER_AGGREGATE = "USER";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // 호출자의 트랜잭션이 반드시 있어야 한다 (도메인 변경과 원자적으로 커밋)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishUserEvent(OutboxEvent.EventType eventType, User user) {
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateType(USER_AGGREGATE)
+                .aggregateId(String.valueOf(user.getId()))
+                .eventType(eventType)
+                .payload(toJson(UserEventPayload.fromEntity(user)))
+                .build();
+
+        outboxEventRepository.save(event);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 페이로드 직렬화에 실패했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kyj.templateproject.outbox.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이벤트를 로컬 파일에 NDJSON 으로 추가 기록하는 싱크.
+ * 반환 전에 fsync 하므로 릴레이가 전달 완료로 표시한 이벤트는 디스크에 남아 있다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public FileOutboxSink(@Value("${app.outbox.file-path:outbox/user-events.ndjson}") String path,
+                          ObjectMapper objectMapper) {
+        this.path = Paths.get(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (OutboxEvent event : events) {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("id", event.getId());
+            node.put("aggregateType", event.getAggregateType());
+            node.put("aggregateId", event.getAggregateId());
+            node.put("eventType", event.getEventType().name());
+            node.put("createdAt", event.getCreatedAt().toString());
+            node.set("payload", objectMapper.readTree(event.getPayload()));
+            sb.append(objectMapper.writeValueAsString(node)).append('\n');
+        }
+
+        // synchronized 는 파일 I/O 동안 가상 스레드를 캐리어에 고정(pinning)시키므로 ReentrantLock 사용
+        writeLock.lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.kyj.templateproject.outbox.sink;
+
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트 전달 대상.
+ * 예외 없이 반환되면 배치 전체가 전달된 것으로 간주하며, 예외가 발생하면 릴레이가 다음 폴링에서 재전달한다.
+ * 따라서 구현체(및 수신 측)는 같은 이벤트가 두 번 이상 도착해도 event id 로 중복을 제거할 수 있어야 한다.
+ */
+public interface OutboxSink {
+
+    void deliver(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,193 @@
+package com.kyj.templateproject.tracing;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 버퍼에 쌓인 구간을 주기적으로 꺼내 OTLP/JSON(ExportTraceServiceRequest) 한 줄씩 파일에 추가한다.
+ * OpenTelemetry Collector 의 file 리시버/otlpjsonfile 로 그대로 읽을 수 있는 형식이다.
+ * 요청 스레드는 버퍼에 넣기만 하고 직렬화와 파일 I/O 는 전용 스레드에서 한다.
+ */
+@Slf4j
+@Component
+public class OtlpFileSpanExporter {
+
+    private static final String SCOPE_NAME = "com.kyj.templateproject.tracing";
+
+    private final Tracer tracer;
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final String serviceName;
+    private final Counter exported;
+    // 버퍼의 소비자는 하나여야 하므로 주기 실행과 종료 시 flush 를 직렬화
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final ScheduledExecutorService executor;
+
+    public OtlpFileSpanExporter(Tracer tracer,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.tracing.file:traces/spans.otlp.jsonl}") String path,
+                                @Value("${app.tracing.export-interval:1s}") Duration exportInterval,
+                                @Value("${spring.application.name:TemplateProject}") String serviceName) {
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path);
+        this.serviceName = serviceName;
+        this.exported = Counter.builder("tracing.spans.exported").register(meterRegistry);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trace-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = exportInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::exportSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 지금까지 끝난 구간을 모두 파일에 쓴다.
+     */
+    public int flush() throws IOException {
+        drainLock.lock();
+        try {
+            List<Span> spans = new ArrayList<>();
+            tracer.buffer().drain(spans::add);
+            if (spans.isEmpty()) {
+                return 0;
+            }
+            write(toOtlpJson(spans));
+            exported.increment(spans.size());
+            return spans.size();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        exportSafely();
+    }
+
+    private void exportSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to export spans to {}", path, e);
+        }
+    }
+
+    private String toOtlpJson(List<Span> spans) throws IOException {
+        StringWriter writer = new StringWriter(spans.size() * 256);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("resourceSpans");
+            json.writeStartObject();
+
+            json.writeObjectFieldStart("resource");
+            json.writeArrayFieldStart("attributes");
+            writeAttribute(json, "service.name", serviceName);
+            json.writeEndArray();
+            json.writeEndObject();
+
+            json.writeArrayFieldStart("scopeSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("scope");
+            json.writeStringField("name", SCOPE_NAME);
+            json.writeEndObject();
+            json.writeArrayFieldStart("spans");
+            for (Span span : spans) {
+                writeSpan(json, span);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return writer.append('\n').toString();
+    }
+
+    private void writeSpan(JsonGenerator json, Span span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", TraceIds.hex(span.traceIdHigh, span.traceIdLow));
+        json.writeStringField("spanId", TraceIds.hex(span.spanId));
+        if (span.parentSpanId != 0) {
+            json.writeStringField("parentSpanId", TraceIds.hex(span.parentSpanId));
+        }
+        json.writeStringField("name", span.name);
+        json.writeNumberField("kind", span.kind.code);
+        // OTLP/JSON 은 64비트 정수를 문자열로 표현
+        json.writeStringField("startTimeUnixNano", Long.toString(span.startEpochNanos));
+        json.writeStringField("endTimeUnixNano", Long.toString(span.endEpochNanos));
+        json.writeArrayFieldStart("attributes");
+        for (int i = 0; i < span.attributeCount(); i++) {
+            Object value = span.attributeValue(i);
+            if (value instanceof Long number) {
+                json.writeStartObject();
+                json.writeStringField("key", span.attributeKey(i));
+                json.writeObjectFieldStart("value");
+                json.writeStringField("intValue", Long.toString(number));
+                json.writeEndObject();
+                json.writeEndObject();
+            } else {
+                writeAttribute(json, span.attributeKey(i), String.valueOf(value));
+            }
+        }
+        json.writeEndArray();
+        if (span.error) {
+            json.writeObjectFieldStart("status");
+            json.writeNumberField("code", 2);
+            json.writeStringField("message", span.errorMessage);
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeAttribute(JsonGenerator json, String key, String value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", key);
+        json.writeObjectFieldStart("value");
+        json.writeStringField("stringValue", value);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private void write(String line) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.kyj.templateproject.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 모든 Spring Data 리포지토리 프록시에 구간 기록 advice 를 붙인다 (이름: {Repository}.{method}).
+ * 리포지토리가 만들어지기 전(팩토리 빈 초기화 전)에 팩토리에 끼워 넣는다.
+ */
+@Component
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    // BeanPostProcessor 는 일찍 만들어지므로 Tracer 는 실제 호출 시점에 꺼낸다
+    private final ObjectProvider<Tracer> tracerProvider;
+    private volatile Tracer tracer;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            tracingInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private Tracer tracer() {
+        Tracer resolved = tracer;
+        if (resolved == null) {
+            resolved = tracerProvider.getObject();
+            tracer = resolved;
+        }
+        return resolved;
+    }
+
+    private MethodInterceptor tracingInterceptor(String repositoryName) {
+        return invocation -> {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            Span span = tracer().startSpan(repositoryName + "." + method.getName());
+            if (!span.isRecording()) {
+                return invocation.proceed();
+            }
+            try (span) {
+                span.tag("code.namespace", repositoryName).tag("code.function", method.getName());
+                try {
+                    return invocation.proceed();
+                } catch (Throwable e) {
+                    span.error(e);
+                    throw e;
+                }
+            }
+        };
+    }
+}
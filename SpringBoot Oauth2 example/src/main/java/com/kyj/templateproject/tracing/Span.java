@@ -0,0 +1,129 @@
+package com.kyj.templateproject.tracing;
+
+import java.util.Arrays;
+
+/**
+ * 하나의 작업 구간. try-with-resources 로 열고 닫으며, 닫히면 Tracer 의 버퍼에 들어가 비동기로 내보내진다.
+ * 샘플링되지 않은 요청에서는 아무것도 기록하지 않는 {@link #NOOP} 이 반환된다.
+ */
+public final class Span implements AutoCloseable {
+
+    public static final Span NOOP = new Span();
+
+    // OTLP SpanKind 값
+    public enum Kind {
+        INTERNAL(1), SERVER(2), CLIENT(3);
+
+        final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+    }
+
+    private final Tracer tracer;
+    // 이 구간이 끝나면 현재 구간으로 되돌릴 값
+    final Span previous;
+    final long traceIdHigh;
+    final long traceIdLow;
+    final long spanId;
+    final long parentSpanId;
+    final Kind kind;
+    final long startEpochNanos;
+    String name;
+    long endEpochNanos;
+    String errorMessage;
+    boolean error;
+
+    private String[] attributeKeys;
+    private Object[] attributeValues;
+    private int attributeCount;
+
+    private Span() {
+        this(null, null, 0, 0, 0, 0, null, Kind.INTERNAL, 0);
+    }
+
+    Span(Tracer tracer, Span previous, long traceIdHigh, long traceIdLow, long spanId, long parentSpanId,
+         String name, Kind kind, long startEpochNanos) {
+        this.tracer = tracer;
+        this.previous = previous;
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    public boolean isRecording() {
+        return this != NOOP;
+    }
+
+    public Span name(String name) {
+        if (this != NOOP) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span tag(String key, String value) {
+        if (this != NOOP && value != null) {
+            addAttribute(key, value);
+        }
+        return this;
+    }
+
+    public Span tag(String key, long value) {
+        if (this != NOOP) {
+            addAttribute(key, value);
+        }
+        return this;
+    }
+
+    public Span error(Throwable throwable) {
+        if (this != NOOP) {
+            this.error = true;
+            this.errorMessage = throwable.getClass().getSimpleName()
+                    + (throwable.getMessage() != null ? ": " + throwable.getMessage() : "");
+        }
+        return this;
+    }
+
+    // W3C traceparent 헤더 값 (다음 hop 의 부모가 이 구간)
+    public String traceparent() {
+        return TraceIds.traceparent(traceIdHigh, traceIdLow, spanId);
+    }
+
+    @Override
+    public void close() {
+        if (this != NOOP) {
+            tracer.end(this);
+        }
+    }
+
+    int attributeCount() {
+        return attributeCount;
+    }
+
+    String attributeKey(int index) {
+        return attributeKeys[index];
+    }
+
+    Object attributeValue(int index) {
+        return attributeValues[index];
+    }
+
+    private void addAttribute(String key, Object value) {
+        if (attributeKeys == null) {
+            attributeKeys = new String[4];
+            attributeValues = new Object[4];
+        } else if (attributeCount == attributeKeys.length) {
+            attributeKeys = Arrays.copyOf(attributeKeys, attributeCount * 2);
+            attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+        }
+        attributeKeys[attributeCount] = key;
+        attributeValues[attributeCount] = value;
+        attributeCount++;
+    }
+}
@@ -0,0 +1,99 @@
+package com.kyj.templateproject.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 끝난 구간을 내보내기 전까지 담아 두는 락 없는 버퍼.
+ * 스레드 ID 로 고른 stripe 마다 고정 크기 링(다중 생산자/단일 소비자)을 두어 요청 스레드끼리 거의 경합하지 않는다.
+ * 가상 스레드 모드에서는 요청마다 스레드가 새로 생기므로 스레드별 버퍼 대신 stripe 를 쓴다.
+ * 가득 차면 기다리지 않고 버린다.
+ */
+final class SpanBuffer {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    SpanBuffer(int stripeCount, int capacityPerStripe) {
+        int stripesPow2 = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        int capacityPow2 = Integer.highestOneBit(Math.max(2, capacityPerStripe - 1) << 1);
+        this.stripes = new Stripe[stripesPow2];
+        for (int i = 0; i < stripesPow2; i++) {
+            stripes[i] = new Stripe(capacityPow2);
+        }
+        this.stripeMask = stripesPow2 - 1;
+    }
+
+    boolean offer(Span span) {
+        return stripes[(int) Thread.currentThread().threadId() & stripeMask].offer(span);
+    }
+
+    /**
+     * 모든 stripe 에서 꺼낸다. 소비자는 한 번에 하나여야 한다 (호출자가 보장).
+     */
+    int drain(Consumer<Span> sink) {
+        int drained = 0;
+        for (Stripe stripe : stripes) {
+            Span span;
+            while ((span = stripe.poll()) != null) {
+                sink.accept(span);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * 슬롯마다 순번을 두는 bounded 링. 생산자는 tail 을 CAS 로 차지하고,
+     * 순번이 pos + 1 이 된 슬롯만 소비자가 읽는다.
+     */
+    private static final class Stripe {
+
+        private final AtomicReferenceArray<Span> slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private long head;
+
+        Stripe(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(Span span) {
+            while (true) {
+                long pos = tail.get();
+                int index = (int) (pos & mask);
+                long diff = sequences.get(index) - pos;
+                if (diff == 0) {
+                    if (tail.compareAndSet(pos, pos + 1)) {
+                        slots.set(index, span);
+                        sequences.set(index, pos + 1);
+                        return true;
+                    }
+                } else if (diff < 0) {
+                    return false;
+                }
+            }
+        }
+
+        Span poll() {
+            long pos = head;
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                return null;
+            }
+            Span span = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, pos + mask + 1);
+            head = pos + 1;
+            return span;
+        }
+    }
+}
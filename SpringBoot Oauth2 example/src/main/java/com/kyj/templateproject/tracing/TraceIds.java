@@ -0,0 +1,84 @@
+package com.kyj.templateproject.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C Trace Context (traceparent) 형식의 ID 생성/파싱.
+ * traceparent = 00-{trace-id 32 hex}-{parent-id 16 hex}-{flags 2 hex}
+ */
+final class TraceIds {
+
+    static final int TRACEPARENT_LENGTH = 55;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TraceIds() {
+    }
+
+    static long randomNonZero() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    static String traceparent(long traceIdHigh, long traceIdLow, long spanId) {
+        char[] chars = new char[TRACEPARENT_LENGTH];
+        chars[0] = '0';
+        chars[1] = '0';
+        chars[2] = '-';
+        writeHex(chars, 3, traceIdHigh);
+        writeHex(chars, 19, traceIdLow);
+        chars[35] = '-';
+        writeHex(chars, 36, spanId);
+        chars[52] = '-';
+        chars[53] = '0';
+        chars[54] = '1';
+        return new String(chars);
+    }
+
+    static String hex(long value) {
+        char[] chars = new char[16];
+        writeHex(chars, 0, value);
+        return new String(chars);
+    }
+
+    static String hex(long high, long low) {
+        char[] chars = new char[32];
+        writeHex(chars, 0, high);
+        writeHex(chars, 16, low);
+        return new String(chars);
+    }
+
+    /**
+     * traceparent 를 파싱해 {traceIdHigh, traceIdLow, parentSpanId, sampled(0/1)} 을 돌려준다.
+     * 형식이 맞지 않거나 ID 가 모두 0 이면 null.
+     */
+    static long[] parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-'
+                || traceparent.startsWith("ff")) {
+            return null;
+        }
+        try {
+            long high = Long.parseUnsignedLong(traceparent, 3, 19, 16);
+            long low = Long.parseUnsignedLong(traceparent, 19, 35, 16);
+            long parent = Long.parseUnsignedLong(traceparent, 36, 52, 16);
+            int flags = Integer.parseInt(traceparent, 53, 55, 16);
+            if ((high == 0 && low == 0) || parent == 0) {
+                return null;
+            }
+            return new long[]{high, low, parent, flags & 1};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeHex(char[] chars, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
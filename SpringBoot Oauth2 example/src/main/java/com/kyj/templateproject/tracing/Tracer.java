@@ -0,0 +1,119 @@
+package com.kyj.templateproject.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 프로세스 내 구간 추적. 요청 진입점에서 샘플링을 한 번 정하고, 현재 구간을 ThreadLocal 로 이어 받아 하위 구간을 만든다.
+ * 샘플링되지 않은 요청은 현재 구간이 없으므로 하위 계층의 {@link #startSpan} 은 ThreadLocal 조회 한 번 뒤 NOOP 을 반환한다.
+ */
+@Component
+public class Tracer {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final double sampleRate;
+    private final SpanBuffer buffer;
+    private final Counter dropped;
+    // System.nanoTime 을 epoch 나노초로 바꾸는 기준값
+    private final long epochOffsetNanos;
+
+    public Tracer(@Value("${app.tracing.sample-rate:0.1}") double sampleRate,
+                  @Value("${app.tracing.buffer-size:4096}") int bufferSize,
+                  MeterRegistry meterRegistry) {
+        this.sampleRate = sampleRate;
+        int stripes = Runtime.getRuntime().availableProcessors() * 4;
+        this.buffer = new SpanBuffer(stripes, Math.max(16, bufferSize / stripes));
+        this.dropped = Counter.builder("tracing.spans.dropped")
+                .description("Spans dropped because the export buffer was full")
+                .register(meterRegistry);
+        this.epochOffsetNanos = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+    }
+
+    /**
+     * 요청 진입점의 루트 구간. traceparent 가 있으면 그 샘플링 결정을 따르고, 없으면 sample-rate 로 정한다.
+     */
+    public Span startRootSpan(String name, Span.Kind kind, String traceparent) {
+        long[] parent = TraceIds.parse(traceparent);
+        boolean sampled = parent != null
+                ? parent[3] == 1
+                : sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+        if (!sampled) {
+            return Span.NOOP;
+        }
+        long traceIdHigh = parent != null ? parent[0] : TraceIds.randomNonZero();
+        long traceIdLow = parent != null ? parent[1] : TraceIds.randomNonZero();
+        long parentSpanId = parent != null ? parent[2] : 0;
+        Span span = new Span(this, current.get(), traceIdHigh, traceIdLow, TraceIds.randomNonZero(), parentSpanId,
+                name, kind, now());
+        current.set(span);
+        return span;
+    }
+
+    public Span startSpan(String name) {
+        return startSpan(name, Span.Kind.INTERNAL);
+    }
+
+    public Span startSpan(String name, Span.Kind kind) {
+        Span parent = current.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, parent, parent.traceIdHigh, parent.traceIdLow, TraceIds.randomNonZero(),
+                parent.spanId, name, kind, now());
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * name 구간 안에서 body 를 실행한다. 예외는 구간에 기록한 뒤 그대로 던진다.
+     */
+    public <T> T traced(String name, Supplier<T> body) {
+        Span span = startSpan(name);
+        try {
+            return body.get();
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    public void traced(String name, Runnable body) {
+        traced(name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    public Span currentSpan() {
+        Span span = current.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    void end(Span span) {
+        span.endEpochNanos = now();
+        // 안쪽 구간이 닫히지 않은 채 바깥 구간이 닫혀도 ThreadLocal 이 남지 않도록 바깥 구간의 이전 값으로 되돌린다
+        if (span.previous == null) {
+            current.remove();
+        } else {
+            current.set(span.previous);
+        }
+        if (!buffer.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    SpanBuffer buffer() {
+        return buffer;
+    }
+
+    private long now() {
+        return System.nanoTime() + epochOffsetNanos;
+    }
+}
@@ -0,0 +1,45 @@
+package com.kyj.templateproject.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 외부 HTTP 호출(OAuth2 토큰/사용자 정보 등)을 CLIENT 구간으로 기록하고 traceparent 를 전파한다.
+ * RestTemplate, RestClient 모두에 붙일 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TracingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Tracer tracer;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Span span = tracer.startSpan(request.getMethod().name() + " " + request.getURI().getHost(), Span.Kind.CLIENT);
+        if (!span.isRecording()) {
+            return execution.execute(request, body);
+        }
+
+        try (span) {
+            span.tag("http.request.method", request.getMethod().name())
+                    .tag("server.address", request.getURI().getHost())
+                    .tag("url.path", request.getURI().getPath());
+            request.getHeaders().set(TracingFilter.TRACEPARENT_HEADER, span.traceparent());
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                span.tag("http.response.status_code", response.getStatusCode().value());
+                return response;
+            } catch (IOException | RuntimeException e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+}
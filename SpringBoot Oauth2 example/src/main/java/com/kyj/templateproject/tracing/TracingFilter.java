@@ -0,0 +1,53 @@
+package com.kyj.templateproject.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * HTTP 요청마다 루트 구간을 연다. Spring Security 필터 체인보다 먼저 실행되어 인증 필터 시간까지 포함한다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private final Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Span span = tracer.startRootSpan(request.getMethod(), Span.Kind.SERVER, request.getHeader(TRACEPARENT_HEADER));
+        if (!span.isRecording()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try (span) {
+            span.tag("http.request.method", request.getMethod())
+                    .tag("url.path", request.getRequestURI());
+            try {
+                filterChain.doFilter(request, response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                span.error(e);
+                throw e;
+            } finally {
+                // 라우트 패턴은 핸들러 매핑 후에야 알 수 있으므로 끝날 때 이름을 정한다
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                span.name(request.getMethod() + " " + (route != null ? route : request.getRequestURI()))
+                        .tag("http.response.status_code", response.getStatus());
+            }
+        }
+    }
+}
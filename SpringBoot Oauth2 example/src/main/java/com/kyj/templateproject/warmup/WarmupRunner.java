@@ -0,0 +1,137 @@
+package com.kyj.templateproject.warmup;
+
+import com.kyj.templateproject.auth.dto.LoginRequest;
+import com.kyj.templateproject.auth.dto.TokenResponse;
+import com.kyj.templateproject.auth.dto.UserDto;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.repository.RefreshTokenRepository;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.UUID;
+
+/**
+ * 배포 직후 JIT 가 인터프리터/C1 상태로 트래픽을 받지 않도록 준비(readiness) 전에 인증 흐름을 미리 돌린다.
+ *
+ * ApplicationRunner 는 ReadinessState.ACCEPTING_TRAFFIC 이 발행되기 전에 실행되므로,
+ * 이 작업이 끝날 때까지 /actuator/health/readiness 는 OUT_OF_SERVICE 를 반환한다.
+ * 웜업 전용 사용자를 저장소에 직접 만들어 (아웃박스 이벤트 없음) 루프백 HTTP 로 로그인, 토큰 갱신, 내 정보 조회를 반복하고
+ * 끝나면 사용자와 리프레시 토큰을 삭제한다. 실제 사용자 데이터는 건드리지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String PASSWORD = "warmup-password1!";
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Environment environment;
+    private final int iterations;
+    private final long maxDurationMs;
+    private final int loginEvery;
+
+    public WarmupRunner(UserRepository userRepository,
+                        RefreshTokenRepository refreshTokenRepository,
+                        PasswordEncoder passwordEncoder,
+                        Environment environment,
+                        @Value("${app.warmup.iterations:500}") int iterations,
+                        @Value("${app.warmup.max-duration:30000}") long maxDurationMs,
+                        @Value("${app.warmup.login-every:10}") int loginEvery) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.environment = environment;
+        this.iterations = iterations;
+        this.maxDurationMs = maxDurationMs;
+        this.loginEvery = Math.max(1, loginEvery);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null) {
+            log.info("웹 서버가 없어 웜업을 건너뜁니다.");
+            return;
+        }
+
+        User user = createSyntheticUser();
+        long started = System.nanoTime();
+        int completed = 0;
+        try {
+            completed = replay(RestClient.create("http://localhost:" + port), user.getEmail(), started);
+        } catch (Exception ex) {
+            // 웜업 실패로 기동이 막히지 않도록 로그만 남긴다
+            log.warn("웜업 중 오류가 발생했습니다: {}", ex.getMessage());
+        } finally {
+            refreshTokenRepository.deleteByUserId(user.getId());
+            userRepository.deleteById(user.getId());
+        }
+        log.info("웜업 완료: {}회, {}ms", completed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // 반복 횟수나 제한 시간 중 먼저 도달하는 쪽에서 멈춘다
+    private int replay(RestClient client, String email, long started) {
+        long deadline = started + maxDurationMs * 1_000_000;
+        TokenResponse tokens = null;
+
+        int i = 0;
+        while (i < iterations && System.nanoTime() < deadline) {
+            try {
+                // 로그인은 BCrypt 비용이 커서 일부 반복에서만 수행
+                if (tokens == null || i % loginEvery == 0) {
+                    tokens = login(client, email);
+                }
+                tokens = client.post()
+                        .uri("/api/auth/refresh?refreshToken={refreshToken}", tokens.getRefreshToken())
+                        .retrieve()
+                        .body(TokenResponse.class);
+                client.get()
+                        .uri("/api/users/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getAccessToken())
+                        .retrieve()
+                        .body(UserDto.UserInfoResponse.class);
+                i++;
+            } catch (HttpServerErrorException.ServiceUnavailable ex) {
+                // 릴레이/write-behind 와 풀을 나눠 쓰다 대기 예산을 넘긴 503 은 멈추지 않고 같은 반복을 다시 한다 (제한 시간 안에서)
+                tokens = null;
+            }
+        }
+        return i;
+    }
+
+    private TokenResponse login(RestClient client, String email) {
+        return client.post()
+                .uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new LoginRequest(email, PASSWORD))
+                .retrieve()
+                .body(TokenResponse.class);
+    }
+
+    private User createSyntheticUser() {
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .email("warmup-" + id + "@warmup.invalid")
+                .password(passwordEncoder.encode(PASSWORD))
+                .username("warmup-" + id)
+                .role(User.UserRole.USER)
+                .provider(User.AuthProvider.LOCAL)
+                .active(true)
+                .emailVerified(false)
+                .build());
+    }
+}
@@ -0,0 +1,62 @@
+-- 기존 ddl-auto=update 가 만들던 스키마 (이미 그 방식으로 만든 DB 는 baseline-on-migrate 로 이 버전부터 시작)
+
+create table users (
+    id bigint generated by default as identity primary key,
+    email varchar(255) not null,
+    password varchar(255),
+    username varchar(255) not null,
+    profile_image varchar(255),
+    role varchar(20) not null,
+    provider varchar(20) not null,
+    provider_id varchar(255),
+    active boolean not null,
+    email_verified boolean not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint uk_users_email unique (email)
+);
+
+-- 관리자 사용자 목록 키셋 페이지네이션
+create index idx_users_created_at_id on users (created_at desc, id desc);
+create index idx_users_provider_created_at_id on users (provider, created_at desc, id desc);
+create index idx_users_role_created_at_id on users (role, created_at desc, id desc);
+create index idx_users_active_verified_created_at_id on users (active, email_verified, created_at desc, id desc);
+
+create table refresh_tokens (
+    id bigint generated by default as identity primary key,
+    token varchar(255) not null,
+    user_id bigint not null,
+    expiry_date timestamp(6) not null,
+    created_at timestamp(6) not null,
+    constraint uk_refresh_tokens_token unique (token),
+    constraint uk_refresh_tokens_user_id unique (user_id)
+);
+
+create table outbox_events (
+    id bigint generated by default as identity primary key,
+    aggregate_type varchar(255) not null,
+    aggregate_id varchar(255) not null,
+    event_type varchar(50) not null,
+    payload clob not null,
+    created_at timestamp(6) not null,
+    published_at timestamp(6),
+    attempts integer not null,
+    last_error varchar(255)
+);
+
+create table chat_rooms (
+    room_id varchar(36) not null primary key,
+    name varchar(255) not null,
+    description varchar(255),
+    created_by varchar(255) not null,
+    created_at timestamp(6) not null
+);
+
+create table chat_room_members (
+    id bigint generated by default as identity primary key,
+    room_id varchar(36) not null,
+    user_id bigint not null,
+    username varchar(255) not null,
+    joined_at timestamp(6) not null,
+    constraint uk_chat_room_members_room_user unique (room_id, user_id)
+);
@@ -0,0 +1,10 @@
+-- 리포지토리 조회마다 받쳐 주는 인덱스 (SchemaIndexPlanTest 가 EXPLAIN 으로 확인)
+
+-- UserRepository.findByUsername / existsByUsername
+create index idx_users_username on users (username);
+
+-- UserRepository.findByProviderAndProviderId (소셜 계정 하나당 사용자 하나, LOCAL 은 provider_id 가 null)
+create unique index uk_users_provider_provider_id on users (provider, provider_id);
+
+-- OutboxEventRepository.findPendingForUpdate (published_at is null order by id)
+create index idx_outbox_events_published_at_id on outbox_events (published_at, id);
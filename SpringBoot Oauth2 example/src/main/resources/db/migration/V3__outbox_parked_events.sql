@@ -0,0 +1,3 @@
+-- 재시도 한도를 넘긴 아웃박스 이벤트 보류 시각 (OutboxRelay, app.outbox.relay.max-attempts)
+-- findPendingForUpdate 는 published_at is null and parked_at is null 이며 기존 (published_at, id) 인덱스를 그대로 탄다
+alter table outbox_events add column parked_at timestamp(6);
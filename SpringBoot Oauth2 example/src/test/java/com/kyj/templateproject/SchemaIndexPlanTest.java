@@ -0,0 +1,132 @@
+package com.kyj.templateproject;
+
+import com.kyj.templateproject.auth.dto.AdminUserDto;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.repository.RefreshTokenRepository;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import com.kyj.templateproject.chat.repository.ChatRoomMemberRepository;
+import com.kyj.templateproject.outbox.repository.OutboxEventRepository;
+import com.kyj.templateproject.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 메서드마다 Hibernate 가 실제로 보내는 SQL 을 잡아 H2 EXPLAIN 으로 인덱스를 타는지 검사한다.
+ * 테이블에 충분히 많은 행을 넣어 두므로 인덱스가 빠지면 계획이 tableScan 으로 바뀌어 실패한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schema-index-plan-test",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.kyj.templateproject.support.SqlStatementCounter",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.enabled=false"
+})
+class SchemaIndexPlanTest {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("select count(*) from users", Long.class) >= ROWS) {
+            return;
+        }
+        jdbcTemplate.update("""
+                insert into users (email, username, role, provider, provider_id, active, email_verified, created_at, updated_at)
+                select 'plan-' || x || '@example.com', 'plan-' || x, 'USER',
+                       case mod(x, 3) when 0 then 'LOCAL' when 1 then 'GOOGLE' else 'KAKAO' end,
+                       case mod(x, 3) when 0 then null else 'pid-' || x end,
+                       true, mod(x, 2) = 0, dateadd('SECOND', x, timestamp '2024-01-01 00:00:00'), current_timestamp
+                from system_range(1, ?)
+                """, ROWS);
+        jdbcTemplate.update("""
+                insert into refresh_tokens (token, user_id, expiry_date, created_at)
+                select 'token-' || id, id, dateadd('DAY', 7, current_timestamp), current_timestamp from users
+                """);
+        jdbcTemplate.update("""
+                insert into outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at, published_at, attempts)
+                select 'User', cast(x as varchar), 'USER_SIGNED_UP', '{}', current_timestamp,
+                       case when x <= ? - 10 then current_timestamp end, 0
+                from system_range(1, ?)
+                """, ROWS, ROWS);
+        jdbcTemplate.update("""
+                insert into chat_room_members (room_id, user_id, username, joined_at)
+                select 'room-' || mod(x, 500), x, 'plan-' || x, current_timestamp from system_range(1, ?)
+                """, ROWS);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void userLookupsUseIndexes() {
+        assertUsesIndex(() -> userRepository.findByEmail("plan-42@example.com"), "UK_USERS_EMAIL");
+        assertUsesIndex(() -> userRepository.existsByEmail("plan-42@example.com"), "UK_USERS_EMAIL");
+        assertUsesIndex(() -> userRepository.findByUsername("plan-42"), "IDX_USERS_USERNAME");
+        assertUsesIndex(() -> userRepository.existsByUsername("plan-42"), "IDX_USERS_USERNAME");
+        assertUsesIndex(() -> userRepository.findByProviderAndProviderId(User.AuthProvider.GOOGLE, "pid-43"),
+                "UK_USERS_PROVIDER_PROVIDER_ID");
+        assertUsesIndex(() -> userRepository.findSummaries(
+                        new AdminUserDto.SearchCondition(User.AuthProvider.KAKAO, null, null, null),
+                        LocalDateTime.of(2024, 1, 1, 3, 0), 10_000L, 21),
+                "IDX_USERS_PROVIDER_CREATED_AT_ID");
+    }
+
+    @Test
+    void refreshTokenLookupsUseIndexes() {
+        assertUsesIndex(() -> refreshTokenRepository.findByToken("token-42"), "UK_REFRESH_TOKENS_TOKEN");
+        assertUsesIndex(() -> refreshTokenRepository.findByUserId(42L), "UK_REFRESH_TOKENS_USER_ID");
+        assertUsesIndex(() -> refreshTokenRepository.existsByUserId(42L), "UK_REFRESH_TOKENS_USER_ID");
+        // user_id, token 모두 유니크라 어느 쪽 인덱스든 한 행만 찾는다
+        assertUsesIndex(() -> refreshTokenRepository.rotate(43L, "token-43", "token-43b", LocalDateTime.now()),
+                "UK_REFRESH_TOKENS_");
+        assertUsesIndex(() -> refreshTokenRepository.deleteByUserId(44L), "UK_REFRESH_TOKENS_USER_ID");
+    }
+
+    @Test
+    void outboxAndChatMemberLookupsUseIndexes() {
+        assertUsesIndex(() -> transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.findPendingForUpdate(100)), "IDX_OUTBOX_EVENTS_PUBLISHED_AT_ID");
+        assertUsesIndex(() -> chatRoomMemberRepository.deleteByRoomId("room-7"), "UK_CHAT_ROOM_MEMBERS_ROOM_USER");
+    }
+
+    // 호출이 보낸 마지막 SQL 의 실행 계획에 인덱스가 보이는지 확인
+    private void assertUsesIndex(Runnable call, String indexName) {
+        SqlStatementCounter.reset();
+        call.run();
+        List<String> statements = SqlStatementCounter.statements();
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+
+        String plan = jdbcTemplate.query(connection -> connection.prepareStatement("explain " + sql),
+                rs -> rs.next() ? rs.getString(1) : null);
+
+        assertThat(plan).as("plan of %s", sql)
+                .contains("PUBLIC." + indexName)
+                .doesNotContain("tableScan");
+    }
+}
@@ -0,0 +1,187 @@
+package com.kyj.templateproject.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import com.kyj.templateproject.auth.service.AuthService;
+import com.kyj.templateproject.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-user-test",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.kyj.templateproject.support.SqlStatementCounter",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.enabled=false"
+})
+@AutoConfigureMockMvc
+class AdminUserApiTest {
+
+    private static final String PASSWORD = "password1!";
+    private static final int SEEDED_USERS = 95;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (userRepository.count() < SEEDED_USERS) {
+            seedUsers();
+        }
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String adminEmail = "admin-" + suffix + "@example.com";
+        authService.signup(new SignupRequest(adminEmail, PASSWORD, "admin-" + suffix));
+        User admin = userRepository.findByEmail(adminEmail).orElseThrow();
+        admin.setRole(User.UserRole.ADMIN);
+        userRepository.save(admin);
+        adminToken = login(adminEmail);
+
+        String userEmail = "user-" + suffix + "@example.com";
+        authService.signup(new SignupRequest(userEmail, PASSWORD, "user-" + suffix));
+        userToken = login(userEmail);
+    }
+
+    @Test
+    void walkingAllPagesReturnsEveryUserOnceInKeysetOrder() throws Exception {
+        assertThat(walk(10)).containsExactlyElementsOf(expectedIds(user -> true));
+    }
+
+    @Test
+    void filtersAreAppliedAcrossPages() throws Exception {
+        List<Long> ids = walk(7, "provider", "GOOGLE", "active", "true");
+
+        assertThat(ids).isNotEmpty().containsExactlyElementsOf(expectedIds(user ->
+                user.getProvider() == User.AuthProvider.GOOGLE && user.isActive()));
+
+        List<Long> admins = walk(3, "role", "ADMIN", "emailVerified", "true");
+        assertThat(admins).isNotEmpty().containsExactlyElementsOf(expectedIds(user ->
+                user.getRole() == User.UserRole.ADMIN && user.isEmailVerified()));
+    }
+
+    @Test
+    void eachPageIsOneProjectionQueryWithoutOffsetOrCount() throws Exception {
+        String cursor = null;
+        for (int page = 0; page < 4; page++) {
+            MockHttpServletRequestBuilder request = get("/api/admin/users").param("size", "10");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            SqlStatementCounter.reset();
+            JsonNode body = perform(request);
+            cursor = body.get("nextCursor").asText();
+
+            List<String> userQueries = SqlStatementCounter.statements().stream()
+                    .filter(sql -> sql.contains("order by"))
+                    .toList();
+            assertThat(userQueries).hasSize(1);
+            assertThat(userQueries.get(0)).doesNotContain("offset", "password", "profile_image");
+            assertThat(SqlStatementCounter.statements()).noneMatch(sql -> sql.contains("count("));
+        }
+    }
+
+    @Test
+    void onlyAdminCanListUsersAndBadCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/users").param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> walk(int size, String... filters) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/admin/users").param("size", String.valueOf(size));
+            for (int i = 0; i < filters.length; i += 2) {
+                request.param(filters[i], filters[i + 1]);
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode body = perform(request);
+            JsonNode users = body.get("users");
+            assertThat(users.size()).isLessThanOrEqualTo(size);
+            users.forEach(user -> ids.add(user.get("id").asLong()));
+            cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private List<Long> expectedIds(Predicate<User> filter) {
+        return userRepository.findAll().stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(User::getCreatedAt).thenComparing(User::getId).reversed())
+                .map(User::getId)
+                .toList();
+    }
+
+    // 세 명씩 같은 가입 시각을 주어 createdAt 동률에서 id 로 이어지는지 확인
+    private void seedUsers() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        User.AuthProvider[] providers = User.AuthProvider.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            Timestamp createdAt = Timestamp.valueOf(base.plusSeconds(i / 3));
+            rows.add(new Object[]{"seed-" + i + "@example.com", "seed-" + i,
+                    i % 10 == 0 ? "ADMIN" : "USER", providers[i % providers.length].name(),
+                    i % 4 != 0, i % 2 == 0, createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("insert into users (email, username, role, provider, active, email_verified, created_at, updated_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private String login(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("accessToken").asText();
+    }
+}
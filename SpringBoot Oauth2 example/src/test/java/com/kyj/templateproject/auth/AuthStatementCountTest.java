@@ -0,0 +1,122 @@
+package com.kyj.templateproject.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트별 SQL 실행 횟수 회귀 테스트. 왕복이 늘어나면 빌드가 실패한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-count-test",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.kyj.templateproject.support.SqlStatementCounter",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.enabled=false"
+})
+@AutoConfigureMockMvc
+class AuthStatementCountTest {
+
+    private static final String PASSWORD = "password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String email;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        email = "count-" + suffix + "@example.com";
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\",\"username\":\"count-" + suffix + "\"}"))
+                .andExpect(status().isOk());
+        // 이메일/이름 중복 확인 2 + users insert 1 + outbox insert 1
+        assertStatements(4);
+    }
+
+    @Test
+    void loginRunsUserLookupAndSingleUpsert() throws Exception {
+        SqlStatementCounter.reset();
+        login();
+        assertStatements(2);
+
+        // 이미 토큰이 있어도 조회 없이 같은 upsert 한 번
+        SqlStatementCounter.reset();
+        login();
+        assertStatements(2);
+    }
+
+    @Test
+    void refreshRunsSingleConditionalUpdate() throws Exception {
+        JsonNode tokens = login();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/auth/refresh").param("refreshToken", tokens.get("refreshToken").asText()))
+                .andExpect(status().isOk());
+        assertStatements(1);
+    }
+
+    @Test
+    void logoutRunsSingleDeleteAndRefreshFailureLooksUpReason() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/auth/logout").param("refreshToken", refreshToken))
+                .andExpect(status().isOk());
+        assertStatements(1);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/auth/refresh").param("refreshToken", refreshToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("로그아웃된 사용자입니다."));
+        assertStatements(2);
+    }
+
+    @Test
+    void myInfoRunsFilterLookupAndServiceLookup() throws Exception {
+        String accessToken = login().get("accessToken").asText();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email));
+        assertStatements(2);
+    }
+
+    private JsonNode login() throws Exception {
+        ResultActions result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk());
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+
+    private static void assertStatements(int expected) {
+        assertThat(SqlStatementCounter.statements())
+                .as("executed SQL statements")
+                .hasSize(expected);
+    }
+}
@@ -0,0 +1,34 @@
+package com.kyj.templateproject.auth.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringUtilsTest {
+
+    // 기존 정규식 구현과 같은 결과인지 확인
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "plain text",
+            "<b>bold</b> and <i>italic</i>",
+            "<script>alert('x')</script>hello",
+            "a < b and c > d",
+            "unclosed <tag and more",
+            "<<nested>>",
+            "tag at end <br>",
+            "><",
+            "한글 <span class=\"x\">메시지</span>",
+            "<>"
+    })
+    void removeHtmlTagsMatchesRegexImplementation(String html) {
+        String expected = html.replaceAll("<[^>]*>", "");
+
+        assertThat(StringUtils.removeHtmlTags(html)).isEqualTo(expected);
+
+        StringBuilder out = new StringBuilder("prefix:");
+        int removed = StringUtils.removeHtmlTags(html, out);
+        assertThat(out.toString()).isEqualTo("prefix:" + expected);
+        assertThat(removed).isEqualTo(html.length() - expected.length());
+    }
+}
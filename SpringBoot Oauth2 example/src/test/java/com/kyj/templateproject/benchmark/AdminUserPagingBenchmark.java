@@ -0,0 +1,123 @@
+package com.kyj.templateproject.benchmark;
+
+import com.kyj.templateproject.auth.dto.AdminUserDto;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 관리자 사용자 목록의 데이터 크기별 조회 비용. 사용자 수를 늘려 가며 첫 페이지, 마지막 근처 페이지(키셋),
+ * 같은 깊이의 offset 페이지 조회 시간의 중앙값을 출력한다. 키셋과 offset 비교는 같은 JDBC 경로로 재고,
+ * 리포지토리(JPQL 프로젝션) 경로는 따로 출력한다. 키셋은 깊이와 데이터 크기에 거의 무관해야 한다.
+ * 실행: gradle benchmark -Dbench.admin.sizes=10000,100000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        // 같은 쿼리의 결과 재사용을 끄고 매번 실제로 실행
+        "spring.datasource.url=jdbc:h2:mem:admin-user-bench;OPTIMIZE_REUSE_RESULTS=FALSE",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.enabled=false"
+})
+class AdminUserPagingBenchmark {
+
+    private static final int[] SIZES = Arrays.stream(System.getProperty("bench.admin.sizes", "10000,100000").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private static final int PAGE_SIZE = Integer.getInteger("bench.admin.page-size", 20);
+    private static final int REPEAT = Integer.getInteger("bench.admin.repeat", 50);
+
+    private static final String COLUMNS = "select id, email, username, role, provider, active, email_verified, created_at from users ";
+
+    private static final AdminUserDto.SearchCondition NO_FILTER = new AdminUserDto.SearchCondition();
+    private static final AdminUserDto.SearchCondition KAKAO_ACTIVE =
+            new AdminUserDto.SearchCondition(User.AuthProvider.KAKAO, null, true, null);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void keysetPageCostStaysFlatAsUsersGrow() {
+        long[] keysetDeep = new long[SIZES.length];
+        long[] offsetDeep = new long[SIZES.length];
+        int seeded = 0;
+
+        System.out.printf("%10s %14s %14s %14s %14s %16s%n",
+                "users", "keyset-first", "keyset-deep", "offset-deep", "jpql-deep", "jpql-filtered");
+        for (int s = 0; s < SIZES.length; s++) {
+            seed(seeded, SIZES[s]);
+            seeded = SIZES[s];
+            int depth = seeded - PAGE_SIZE;
+
+            Map<String, Object> deepRow = jdbcTemplate.queryForMap(
+                    "select created_at, id from users order by created_at desc, id desc offset ? rows fetch next 1 rows only", depth);
+            LocalDateTime afterCreatedAt = ((Timestamp) deepRow.get("CREATED_AT")).toLocalDateTime();
+            Long afterId = ((Number) deepRow.get("ID")).longValue();
+
+            long first = median(() -> jdbcTemplate.queryForList(COLUMNS
+                    + "order by created_at desc, id desc fetch first ? rows only", PAGE_SIZE + 1));
+            keysetDeep[s] = median(() -> jdbcTemplate.queryForList(COLUMNS
+                    + "where created_at <= ? and (created_at < ? or id < ?) "
+                    + "order by created_at desc, id desc fetch first ? rows only",
+                    afterCreatedAt, afterCreatedAt, afterId, PAGE_SIZE + 1));
+            offsetDeep[s] = median(() -> jdbcTemplate.queryForList(COLUMNS
+                    + "order by created_at desc, id desc offset ? rows fetch next ? rows only", depth, PAGE_SIZE + 1));
+            long jpql = median(() -> userRepository.findSummaries(NO_FILTER, afterCreatedAt, afterId, PAGE_SIZE + 1));
+            long filtered = median(() -> userRepository.findSummaries(KAKAO_ACTIVE, afterCreatedAt, afterId, PAGE_SIZE + 1));
+
+            assertThat(userRepository.findSummaries(NO_FILTER, afterCreatedAt, afterId, PAGE_SIZE + 1)).hasSize(PAGE_SIZE - 1);
+            System.out.printf("%10d %12.3fms %12.3fms %12.3fms %12.3fms %14.3fms%n", seeded,
+                    first / 1e6, keysetDeep[s] / 1e6, offsetDeep[s] / 1e6, jpql / 1e6, filtered / 1e6);
+        }
+
+        int last = SIZES.length - 1;
+        assertThat(keysetDeep[last]).isLessThan(offsetDeep[last]);
+    }
+
+    private long median(Runnable query) {
+        for (int i = 0; i < 5; i++) {
+            query.run();
+        }
+        long[] samples = new long[REPEAT];
+        for (int i = 0; i < REPEAT; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[REPEAT / 2];
+    }
+
+    private void seed(int from, int to) {
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        User.AuthProvider[] providers = User.AuthProvider.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Timestamp createdAt = Timestamp.valueOf(base.plusSeconds(i));
+            rows.add(new Object[]{"bench-" + i + "@example.com", "bench-" + i,
+                    i % 100 == 0 ? "ADMIN" : "USER", providers[i % providers.length].name(),
+                    i % 5 != 0, i % 2 == 0, createdAt, createdAt});
+            if (rows.size() == 5000 || i == to - 1) {
+                jdbcTemplate.batchUpdate("insert into users (email, username, role, provider, active, email_verified, created_at, updated_at) "
+                        + "values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.kyj.templateproject.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로그인과 /api/users/me 흐름에 동시 부하를 걸어 처리량과 지연 분포를 출력하는 벤치마크 공통 로직.
+ * 스레드 모델별 하위 클래스가 서로 다른 설정으로 서버를 띄운다.
+ * 실행: gradle benchmark
+ */
+@Tag("benchmark")
+abstract class AuthLoadBenchmarkSupport {
+
+    private static final String PASSWORD = "password1!";
+
+    protected static final int USERS = Integer.getInteger("bench.users", 20);
+    protected static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 256);
+    protected static final int REQUESTS = Integer.getInteger("bench.requests", 4000);
+    // 로그인은 BCrypt 로 CPU 바운드이므로 요청 수를 따로 둔다
+    protected static final int LOGIN_REQUESTS = Integer.getInteger("bench.login-requests", 400);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    protected abstract String threadModel();
+
+    @Test
+    void loginAndMyInfoUnderLoad() throws Exception {
+        String runId = Long.toString(System.nanoTime(), 36);
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = "bench-" + runId + "-" + i + "@example.com";
+            HttpResponse<String> response = post("/api/auth/signup",
+                    "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\",\"username\":\"bench-" + runId + "-" + i + "\"}",
+                    null);
+            assertThat(response.statusCode()).isEqualTo(200);
+            emails.add(email);
+        }
+
+        // 워밍업 후 측정
+        run("login (warm-up)", LOGIN_REQUESTS / 4, i -> login(emails.get(i % emails.size())) != null);
+        Result login = run("POST /api/auth/login", LOGIN_REQUESTS, i -> login(emails.get(i % emails.size())) != null);
+
+        List<String> tokens = new ArrayList<>();
+        for (String email : emails) {
+            tokens.add(login(email));
+        }
+        run("me (warm-up)", REQUESTS / 4, i -> get("/api/users/me", tokens.get(i % tokens.size())).statusCode() == 200);
+        Result me = run("GET /api/users/me", REQUESTS, i -> get("/api/users/me", tokens.get(i % tokens.size())).statusCode() == 200);
+
+        System.out.printf("%n[%s] concurrency=%d%n%s%n%s%n", threadModel(), CONCURRENCY, login, me);
+        assertThat(login.errors).isZero();
+        assertThat(me.errors).isZero();
+    }
+
+    private Result run(String name, int requests, Call call) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                workers.add(clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long t0 = System.nanoTime();
+                        try {
+                            if (!call.execute(i)) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - t0;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        return new Result(name, requests, elapsed, errors.get(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1]);
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = post("/api/auth/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("accessToken").asText();
+    }
+
+    private HttpResponse<String> post(String path, String json, String token) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        boolean execute(int index) throws Exception;
+    }
+
+    private record Result(String name, int requests, long elapsedNanos, int errors,
+                          double p50Millis, double p99Millis, long maxNanos) {
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return String.format("  %-22s %8.1f req/s  p50=%7.2fms  p99=%7.2fms  max=%7.2fms  errors=%d",
+                    name, requests / seconds, p50Millis, p99Millis, maxNanos / 1_000_000.0, errors);
+        }
+    }
+}
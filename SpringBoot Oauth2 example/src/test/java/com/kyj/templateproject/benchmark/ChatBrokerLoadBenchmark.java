@@ -0,0 +1,163 @@
+package com.kyj.templateproject.benchmark;
+
+import com.kyj.templateproject.chat.broker.OutboundDeliveryInterceptor;
+import com.kyj.templateproject.chat.broker.OverflowPolicy;
+import com.kyj.templateproject.chat.broker.ShardedRoomBroker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 브로커 팬아웃 부하 테스트. 실제 Spring 메시지 채널 위에서 여러 방과 수천 구독자에 메시지를 뿌리고
+ * 구독자가 많은 방(hot room)과 느린 구독자가 있을 때 일반 방의 전달 지연이 어떻게 되는지 출력한다.
+ * 소켓 쓰기는 clientOutboundChannel 핸들러로 대신하며, 느린 구독자는 메시지마다 지연을 둔다.
+ * 실행: gradle benchmark
+ */
+@Tag("benchmark")
+class ChatBrokerLoadBenchmark {
+
+    private static final int ROOMS = Integer.getInteger("bench.chat.rooms", 200);
+    private static final int SUBSCRIBERS_PER_ROOM = Integer.getInteger("bench.chat.subscribers-per-room", 20);
+    private static final int HOT_ROOM_SUBSCRIBERS = Integer.getInteger("bench.chat.hot-room-subscribers", 2000);
+    private static final int MESSAGES_PER_ROOM = Integer.getInteger("bench.chat.messages-per-room", 50);
+    private static final int SLOW_EVERY = Integer.getInteger("bench.chat.slow-every", 100);
+    private static final int SHARDS = Integer.getInteger("bench.chat.shards", Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_CAPACITY = Integer.getInteger("bench.chat.queue-capacity", 256);
+
+    private static final String HOT_ROOM = "hot";
+
+    @Test
+    void fanOutAcrossRoomsWithHotRoomAndSlowConsumers() throws Exception {
+        int coldDeliveries = ROOMS * SUBSCRIBERS_PER_ROOM * MESSAGES_PER_ROOM;
+        int hotDeliveries = HOT_ROOM_SUBSCRIBERS * MESSAGES_PER_ROOM;
+        long[] coldLatencies = new long[coldDeliveries];
+        long[] hotLatencies = new long[hotDeliveries];
+        AtomicInteger coldIndex = new AtomicInteger();
+        AtomicInteger hotIndex = new AtomicInteger();
+        AtomicLong delivered = new AtomicLong();
+        Set<String> slowSessions = ConcurrentHashMap.newKeySet();
+
+        // Spring 기본값과 같이 코어 수 * 2 스레드의 clientOutboundChannel
+        ExecutorService outboundExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel(outboundExecutor);
+        clientOutboundChannel.addInterceptor(new OutboundDeliveryInterceptor());
+        clientOutboundChannel.subscribe(message -> {
+            long latency = System.nanoTime() - ByteBuffer.wrap((byte[]) message.getPayload()).getLong();
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if (slowSessions.contains(sessionId)) {
+                sleep(2);
+                return;
+            }
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination.endsWith("/" + HOT_ROOM)) {
+                hotLatencies[hotIndex.getAndIncrement()] = latency;
+            } else {
+                coldLatencies[coldIndex.getAndIncrement()] = latency;
+            }
+            delivered.incrementAndGet();
+        });
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ShardedRoomBroker broker = new ShardedRoomBroker(new ExecutorSubscribableChannel(), clientOutboundChannel,
+                new ExecutorSubscribableChannel(), SHARDS, QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST, meterRegistry);
+        broker.start();
+
+        int session = 0;
+        for (int room = 0; room < ROOMS; room++) {
+            for (int s = 0; s < SUBSCRIBERS_PER_ROOM; s++) {
+                subscribe(broker, "s" + session++, "room-" + room);
+            }
+        }
+        for (int s = 0; s < HOT_ROOM_SUBSCRIBERS; s++) {
+            String sessionId = "s" + session++;
+            if (s % SLOW_EVERY == 0) {
+                slowSessions.add(sessionId);
+            }
+            subscribe(broker, sessionId, HOT_ROOM);
+        }
+        Thread.sleep(500);
+
+        long expected = (long) coldDeliveries + hotDeliveries - (long) slowSessions.size() * MESSAGES_PER_ROOM;
+        long started = System.nanoTime();
+        for (int m = 0; m < MESSAGES_PER_ROOM; m++) {
+            publish(broker, HOT_ROOM);
+            for (int room = 0; room < ROOMS; room++) {
+                publish(broker, "room-" + room);
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (delivered.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        long elapsed = System.nanoTime() - started;
+
+        broker.stop();
+        outboundExecutor.shutdownNow();
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("%n[chat broker] rooms=%d x %d subscribers, hot room=%d subscribers (%d slow), shards=%d, messages/room=%d%n",
+                ROOMS, SUBSCRIBERS_PER_ROOM, HOT_ROOM_SUBSCRIBERS, slowSessions.size(), SHARDS, MESSAGES_PER_ROOM);
+        System.out.printf("  deliveries=%d in %.2fs (%.0f msg/s), dropped for slow consumers=%.0f%n",
+                delivered.get(), seconds, delivered.get() / seconds, meterRegistry.counter("chat.broker.dropped").count());
+        System.out.println("  " + summary("cold rooms", coldLatencies, coldIndex.get()));
+        System.out.println("  " + summary("hot room", hotLatencies, hotIndex.get()));
+
+        // 느린 구독자를 제외한 모든 구독자가 모든 메시지를 받아야 한다
+        assertThat(delivered.get()).isEqualTo(expected);
+    }
+
+    private static void subscribe(ShardedRoomBroker broker, String sessionId, String roomId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(ShardedRoomBroker.ROOM_DESTINATION_PREFIX + roomId);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    private static void publish(ShardedRoomBroker broker, String roomId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(ShardedRoomBroker.ROOM_DESTINATION_PREFIX + roomId);
+        byte[] payload = ByteBuffer.allocate(64).putLong(System.nanoTime()).array();
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+        broker.handleMessage(message);
+    }
+
+    private static String summary(String name, long[] latencies, int count) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return String.format("%-10s deliveries=%7d  p50=%8.2fms  p99=%8.2fms  max=%8.2fms", name, count,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.kyj.templateproject.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class PlatformThreadLoadBenchmark extends AuthLoadBenchmarkSupport {
+
+    @Override
+    protected String threadModel() {
+        return "platform threads (tomcat max 200)";
+    }
+}
@@ -0,0 +1,15 @@
+package com.kyj.templateproject.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.jpa.show-sql=false"
+})
+class VirtualThreadLoadBenchmark extends AuthLoadBenchmarkSupport {
+
+    @Override
+    protected String threadModel() {
+        return "virtual threads";
+    }
+}
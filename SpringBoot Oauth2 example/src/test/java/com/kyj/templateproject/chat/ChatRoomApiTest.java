@@ -0,0 +1,194 @@
+package com.kyj.templateproject.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import com.kyj.templateproject.auth.service.AuthService;
+import com.kyj.templateproject.chat.dto.ChatRoomDto;
+import com.kyj.templateproject.chat.repository.ChatRoomMemberRepository;
+import com.kyj.templateproject.chat.repository.ChatRoomRepository;
+import com.kyj.templateproject.chat.service.ChatRoomRegistry;
+import com.kyj.templateproject.chat.service.ChatRoomWriteBehind;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chat-room-test",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.chat.history.dir=build/chat-history-test"
+})
+@AutoConfigureMockMvc
+class ChatRoomApiTest {
+
+    private static final String PASSWORD = "password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRoomRegistry chatRoomRegistry;
+
+    @Autowired
+    private ChatRoomWriteBehind writeBehind;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String adminToken;
+    private String userToken;
+    private String username;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String adminEmail = "admin-" + suffix + "@example.com";
+        authService.signup(new SignupRequest(adminEmail, PASSWORD, "admin-" + suffix));
+        User admin = userRepository.findByEmail(adminEmail).orElseThrow();
+        admin.setRole(User.UserRole.ADMIN);
+        userRepository.save(admin);
+        adminToken = login(adminEmail);
+
+        username = "member-" + suffix;
+        String userEmail = username + "@example.com";
+        authService.signup(new SignupRequest(userEmail, PASSWORD, username));
+        userId = userRepository.findByEmail(userEmail).orElseThrow().getId();
+        userToken = login(userEmail);
+    }
+
+    @Test
+    void onlyAdminCanCreateAndDeleteRooms() throws Exception {
+        mockMvc.perform(post("/api/chat/rooms")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"일반\"}"))
+                .andExpect(status().isForbidden());
+
+        String roomId = createRoom("공지");
+
+        mockMvc.perform(delete("/api/chat/rooms/" + roomId).header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/chat/rooms/" + roomId).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        assertThat(chatRoomRegistry.findById(roomId)).isEmpty();
+    }
+
+    @Test
+    void joinUpdatesListAndMembershipIndexesAndIsWrittenBehind() throws Exception {
+        String roomId = createRoom("자유게시판");
+        assertThat(chatRoomRegistry.isMember(roomId, userId)).isFalse();
+
+        mockMvc.perform(post("/api/chat/rooms/" + roomId + "/join").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants[0]").value(username));
+        assertThat(chatRoomRegistry.isMember(roomId, userId)).isTrue();
+
+        // 목록은 새 스냅샷의 JSON 으로 바뀐다
+        mockMvc.perform(get("/api/chat/rooms").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.roomId == '" + roomId + "')].participants[0]").value(username));
+
+        // DB 반영은 비동기 - 반영 후 다시 읽어도 같은 상태로 복원된다
+        writeBehind.flush();
+        assertThat(chatRoomRepository.findById(roomId)).isPresent();
+        assertThat(chatRoomMemberRepository.findAll())
+                .anyMatch(member -> member.getRoomId().equals(roomId) && member.getUserId().equals(userId));
+        chatRoomRegistry.load();
+        assertThat(chatRoomRegistry.isMember(roomId, userId)).isTrue();
+
+        mockMvc.perform(delete("/api/chat/rooms/" + roomId).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        assertThat(chatRoomRegistry.isMember(roomId, userId)).isFalse();
+        writeBehind.flush();
+        assertThat(chatRoomRepository.findById(roomId)).isEmpty();
+        assertThat(chatRoomMemberRepository.findAll()).noneMatch(member -> member.getRoomId().equals(roomId));
+    }
+
+    @Test
+    void joiningUnknownRoomFails() throws Exception {
+        mockMvc.perform(post("/api/chat/rooms/" + UUID.randomUUID() + "/join").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void descriptionLongerThanColumnIsRejected() throws Exception {
+        mockMvc.perform(post("/api/chat/rooms")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"긴 설명\",\"description\":\"" + "a".repeat(256) + "\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void changeThatCannotBeWrittenIsDeadLetteredWithoutBlockingLaterChanges() throws Exception {
+        // 검증을 거치지 않고 레지스트리에 바로 넣어 컬럼보다 긴 설명을 가진 변경을 만든다
+        String poisonId = chatRoomRegistry.create(ChatRoomDto.CreateRequest.builder()
+                .name("poison")
+                .description("a".repeat(300))
+                .build(), username).getRoomId();
+        String roomId = createRoom("뒤의 방");
+
+        for (int i = 0; i < 5; i++) {
+            writeBehind.flush();
+        }
+
+        assertThat(chatRoomRepository.findById(poisonId)).isEmpty();
+        assertThat(chatRoomRepository.findById(roomId)).isPresent();
+        assertThat(meterRegistry.get("chat.room.write-behind.dead-lettered").counter().count()).isGreaterThanOrEqualTo(1);
+        chatRoomRegistry.delete(poisonId);
+    }
+
+    private String createRoom(String name) throws Exception {
+        String body = mockMvc.perform(post("/api/chat/rooms")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"description\":\"테스트\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdBy").exists())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("roomId").asText();
+    }
+
+    private String login(String email) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode tokens = objectMapper.readTree(body);
+        return tokens.get("accessToken").asText();
+    }
+}
@@ -0,0 +1,254 @@
+package com.kyj.templateproject.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.auth.dto.LoginRequest;
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import com.kyj.templateproject.auth.service.AuthService;
+import com.kyj.templateproject.chat.dto.ChatMessage;
+import com.kyj.templateproject.chat.dto.ChatRoomDto;
+import com.kyj.templateproject.chat.dto.PresenceDto;
+import com.kyj.templateproject.chat.service.ChatRoomRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:chat-stomp-test",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.chat.history.dir=build/chat-history-test"
+})
+class ChatStompIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRoomRegistry chatRoomRegistry;
+
+
+    private WebSocketStompClient stompClient;
+    private String accessToken;
+    private String username;
+    private String roomId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        username = "chat-" + suffix;
+        String email = username + "@example.com";
+        authService.signup(new SignupRequest(email, "password1!", username));
+        accessToken = authService.login(new LoginRequest(email, "password1!")).getAccessToken();
+
+        // 구독은 참여한 방만 가능
+        roomId = chatRoomRegistry.create(new ChatRoomDto.CreateRequest("room-" + suffix, null), "admin").getRoomId();
+        chatRoomRegistry.join(roomId, userRepository.findByEmail(email).orElseThrow().getId(), username);
+
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient.setMessageConverter(converter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    void authenticatedClientReceivesRoomMessages() throws Exception {
+        StompSession session = connect("Bearer " + accessToken);
+        BlockingQueue<ChatMessage> received = new LinkedBlockingQueue<>();
+        session.subscribe("/topic/chat/room/" + roomId, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return ChatMessage.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((ChatMessage) payload);
+            }
+        });
+        // 구독이 브로커 샤드에 등록될 시간을 확보하기 위해 입장 메시지로 확인
+        ChatMessage enter = null;
+        for (int i = 0; i < 50 && enter == null; i++) {
+            session.send("/app/chat/enter/" + roomId, new ChatMessage());
+            enter = received.poll(100, TimeUnit.MILLISECONDS);
+        }
+        assertThat(enter).isNotNull();
+        assertThat(enter.getType()).isEqualTo(ChatMessage.MessageType.ENTER);
+        assertThat(enter.getSender()).isEqualTo(username);
+        received.clear();
+
+        // 클라이언트가 보낸 sender 는 무시하고 인증된 사용자로 채운다
+        session.send("/app/chat/message", ChatMessage.builder()
+                .type(ChatMessage.MessageType.TALK)
+                .roomId(roomId)
+                .sender("someone-else")
+                .message("안녕하세요")
+                .build());
+
+        ChatMessage talk = received.poll(5, TimeUnit.SECONDS);
+        assertThat(talk).isNotNull();
+        assertThat(talk.getType()).isEqualTo(ChatMessage.MessageType.TALK);
+        assertThat(talk.getSender()).isEqualTo(username);
+        assertThat(talk.getMessage()).isEqualTo("안녕하세요");
+        assertThat(talk.getTimestamp()).isNotNull();
+
+        // 전파된 메시지는 기록에도 남는다
+        ResponseEntity<ChatMessage[]> history = RestClient.create("http://localhost:" + port)
+                .get()
+                .uri("/api/chat/messages/{roomId}", roomId)
+                .header("Authorization", "Bearer " + accessToken)
+                .retrieve()
+                .toEntity(ChatMessage[].class);
+        assertThat(history.getBody()).extracting(ChatMessage::getMessage).containsExactly("안녕하세요");
+        assertThat(history.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+    }
+
+    @Test
+    void presenceDeltaAndOnlineCountFollowRoomSubscription() throws Exception {
+        StompSession session = connect("Bearer " + accessToken);
+        BlockingQueue<PresenceDto.Delta> deltas = new LinkedBlockingQueue<>();
+        session.subscribe("/topic/chat/room/" + roomId + "/presence", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return PresenceDto.Delta.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                deltas.add((PresenceDto.Delta) payload);
+            }
+        });
+        StompSession.Subscription roomSubscription = session.subscribe("/topic/chat/room/" + roomId, new StompSessionHandlerAdapter() {
+        });
+
+        PresenceDto.Delta joined = deltas.poll(5, TimeUnit.SECONDS);
+        assertThat(joined).isNotNull();
+        assertThat(joined.getJoined()).containsExactly(username);
+        assertThat(joined.getOnline()).isEqualTo(1);
+
+        PresenceDto.OnlineCount online = RestClient.create("http://localhost:" + port)
+                .get()
+                .uri("/api/chat/rooms/{roomId}/online", roomId)
+                .header("Authorization", "Bearer " + accessToken)
+                .retrieve()
+                .body(PresenceDto.OnlineCount.class);
+        assertThat(online.getOnline()).isEqualTo(1);
+
+        roomSubscription.unsubscribe();
+        PresenceDto.Delta left = deltas.poll(5, TimeUnit.SECONDS);
+        assertThat(left).isNotNull();
+        assertThat(left.getLeft()).containsExactly(username);
+        assertThat(left.getOnline()).isZero();
+    }
+
+    @Test
+    void rejectedMessageIsReportedOnlyToSender() throws Exception {
+        StompSession session = connect("Bearer " + accessToken);
+        BlockingQueue<Map<?, ?>> errors = new LinkedBlockingQueue<>();
+        session.subscribe("/user/queue/errors", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                errors.add((Map<?, ?>) payload);
+            }
+        });
+
+        // 태그만 있는 메시지는 정제 후 비어 있으므로 거절
+        Map<?, ?> error = null;
+        for (int i = 0; i < 50 && error == null; i++) {
+            session.send("/app/chat/message", ChatMessage.builder().roomId(roomId).message("<br>").build());
+            error = errors.poll(100, TimeUnit.MILLISECONDS);
+        }
+        assertThat(error).isNotNull();
+        assertThat(error.get("code")).isEqualTo("CHAT_MESSAGE_REJECTED");
+        assertThat(session.isConnected()).isTrue();
+    }
+
+    @Test
+    void subscribingToRoomNotJoinedClosesSession() throws Exception {
+        StompSession session = connect("Bearer " + accessToken);
+        String otherRoomId = chatRoomRegistry.create(new ChatRoomDto.CreateRequest("other", null), "admin").getRoomId();
+
+        session.subscribe("/topic/chat/room/" + otherRoomId, new StompSessionHandlerAdapter() {
+        });
+
+        // 서버는 ERROR 프레임을 보내고 세션을 닫는다
+        for (int i = 0; i < 50 && session.isConnected(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(session.isConnected()).isFalse();
+    }
+
+    @Test
+    void historyOfRoomNotJoinedIsForbidden() {
+        String otherRoomId = chatRoomRegistry.create(new ChatRoomDto.CreateRequest("other", null), "admin").getRoomId();
+
+        assertThatThrownBy(() -> RestClient.create("http://localhost:" + port)
+                .get()
+                .uri("/api/chat/messages/{roomId}", otherRoomId)
+                .header("Authorization", "Bearer " + accessToken)
+                .retrieve()
+                .toBodilessEntity())
+                .isInstanceOf(HttpClientErrorException.Forbidden.class);
+    }
+
+    @Test
+    void connectWithoutValidTokenIsRejected() {
+        assertThatThrownBy(() -> connect("Bearer invalid-token")).isInstanceOf(ExecutionException.class);
+    }
+
+    private StompSession connect(String authorization) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", authorization);
+        return stompClient.connectAsync("http://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+                        connectHeaders, new StompSessionHandlerAdapter() {
+                        })
+                .get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,200 @@
+package com.kyj.templateproject.chat.broker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedRoomBrokerTest {
+
+    private final ExecutorService outboundExecutor = Executors.newFixedThreadPool(4);
+    private final ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel(outboundExecutor);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 세션별로 받은 메시지 (STOMP 핸들러 대신)
+    private final Map<String, List<Message<?>>> received = new ConcurrentHashMap<>();
+    // 이 세션으로의 전송은 래치가 열릴 때까지 블로킹 (느린 소비자)
+    private final Map<String, CountDownLatch> blockedSessions = new ConcurrentHashMap<>();
+
+    private ShardedRoomBroker broker;
+
+    private ShardedRoomBroker startBroker(int queueCapacity, OverflowPolicy overflowPolicy) {
+        clientOutboundChannel.addInterceptor(new OutboundDeliveryInterceptor());
+        clientOutboundChannel.subscribe(message -> {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            CountDownLatch latch = blockedSessions.get(sessionId);
+            if (latch != null) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.computeIfAbsent(sessionId, key -> new CopyOnWriteArrayList<>()).add(message);
+        });
+
+        broker = new ShardedRoomBroker(new ExecutorSubscribableChannel(), clientOutboundChannel,
+                new ExecutorSubscribableChannel(), 2, queueCapacity, overflowPolicy, meterRegistry);
+        broker.start();
+        return broker;
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockedSessions.values().forEach(CountDownLatch::countDown);
+        if (broker != null) {
+            broker.stop();
+        }
+        outboundExecutor.shutdownNow();
+    }
+
+    @Test
+    void fansOutOnlyToSubscribersOfTheRoom() {
+        startBroker(16, OverflowPolicy.DROP_OLDEST);
+        subscribe("s1", "sub-1", "room-a");
+        subscribe("s2", "sub-1", "room-a");
+        subscribe("s3", "sub-1", "room-b");
+
+        Message<byte[]> published = publish("room-a", "hello");
+
+        await(() -> messagesOf("s1").size() == 1 && messagesOf("s2").size() == 1);
+        Message<?> delivered = messagesOf("s1").get(0);
+        assertThat(SimpMessageHeaderAccessor.getSubscriptionId(delivered.getHeaders())).isEqualTo("sub-1");
+        assertThat(SimpMessageHeaderAccessor.getDestination(delivered.getHeaders())).isEqualTo("/topic/chat/room/room-a");
+        // 직렬화된 페이로드는 구독자 간에 공유
+        assertThat(delivered.getPayload()).isSameAs(published.getPayload());
+
+        publish("room-b", "other");
+        await(() -> messagesOf("s3").size() == 1);
+        assertThat(messagesOf("s1")).hasSize(1);
+    }
+
+    @Test
+    void unsubscribeAndDisconnectStopDelivery() {
+        startBroker(16, OverflowPolicy.DROP_OLDEST);
+        subscribe("s1", "sub-1", "room-a");
+        subscribe("s2", "sub-1", "room-a");
+
+        broker.handleMessage(frame(SimpMessageType.UNSUBSCRIBE, "s1", "sub-1", null));
+        broker.handleMessage(frame(SimpMessageType.DISCONNECT, "s2", null, null));
+        subscribe("s3", "sub-1", "room-a");
+        publish("room-a", "hello");
+
+        await(() -> messagesOf("s3").size() == 1);
+        assertThat(messagesOf("s1")).isEmpty();
+        assertThat(messagesOf("s2")).isEmpty();
+        assertThat(broker.getSessionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void slowConsumerDropsOldestWithoutDelayingOthers() {
+        startBroker(4, OverflowPolicy.DROP_OLDEST);
+        blockedSessions.put("slow", new CountDownLatch(1));
+        subscribe("slow", "sub-1", "room-a");
+        subscribe("fast", "sub-1", "room-a");
+
+        // 느린 세션이 막혀 있어도 빠른 세션은 매 메시지를 바로 받는다
+        for (int i = 1; i <= 10; i++) {
+            publish("room-a", "m" + i);
+            int expected = i;
+            await(() -> messagesOf("fast").size() == expected);
+        }
+
+        // 1 은 전송 중, 2~10 중 큐(4)에 못 들어간 5개는 버려짐
+        await(() -> meterRegistry.counter("chat.broker.dropped").count() == 5);
+        blockedSessions.get("slow").countDown();
+
+        await(() -> messagesOf("slow").size() == 5);
+        assertThat(messagesOf("slow")).extracting(ShardedRoomBrokerTest::text)
+                .containsExactly("m1", "m7", "m8", "m9", "m10");
+        assertThat(messagesOf("fast")).extracting(ShardedRoomBrokerTest::text)
+                .containsExactly("m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9", "m10");
+    }
+
+    @Test
+    void slowConsumerIsDisconnectedWithErrorFrame() {
+        startBroker(2, OverflowPolicy.DISCONNECT);
+        blockedSessions.put("slow", new CountDownLatch(1));
+        subscribe("slow", "sub-1", "room-a");
+        subscribe("fast", "sub-1", "room-a");
+
+        // 빠른 세션 큐(2)도 넘치지 않도록 한 건씩 전달을 확인하며 발행
+        for (int i = 1; i <= 5; i++) {
+            publish("room-a", "m" + i);
+            int expected = i;
+            await(() -> messagesOf("fast").size() == expected);
+        }
+
+        await(() -> broker.getSessionCount() == 1);
+        assertThat(meterRegistry.counter("chat.broker.slow-consumer-disconnects").count()).isEqualTo(1);
+        blockedSessions.get("slow").countDown();
+
+        await(() -> messagesOf("slow").stream().anyMatch(ShardedRoomBrokerTest::isErrorFrame));
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String roomId) {
+        broker.handleMessage(frame(SimpMessageType.SUBSCRIBE, sessionId, subscriptionId,
+                ShardedRoomBroker.ROOM_DESTINATION_PREFIX + roomId));
+    }
+
+    private Message<byte[]> publish(String roomId, String text) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(ShardedRoomBroker.ROOM_DESTINATION_PREFIX + roomId);
+        Message<byte[]> message = MessageBuilder.createMessage(text.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+        broker.handleMessage(message);
+        return message;
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type, String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private List<Message<?>> messagesOf(String sessionId) {
+        return received.getOrDefault(sessionId, List.of());
+    }
+
+    private static String text(Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isErrorFrame(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        return accessor.getCommand() == StompCommand.ERROR;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.kyj.templateproject.chat.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.chat.dto.ChatMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatHistoryStoreTest {
+
+    private static final String ROOM_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pagesBackwardsByCursor() {
+        ChatHistoryStore store = store(1024 * 1024, Duration.ofDays(7));
+        for (int i = 0; i < 120; i++) {
+            assertThat(store.append(message("m" + i, Instant.now()))).isEqualTo(i);
+        }
+
+        ChatHistoryPage latest = store.findMessages(ROOM_ID, null, 50);
+        assertThat(texts(latest)).first().isEqualTo("m70");
+        assertThat(texts(latest)).last().isEqualTo("m119");
+        assertThat(latest.nextCursor()).isEqualTo(70L);
+
+        ChatHistoryPage previous = store.findMessages(ROOM_ID, latest.nextCursor(), 50);
+        assertThat(texts(previous)).first().isEqualTo("m20");
+        assertThat(texts(previous)).last().isEqualTo("m69");
+        assertThat(previous.nextCursor()).isEqualTo(20L);
+
+        ChatHistoryPage oldest = store.findMessages(ROOM_ID, previous.nextCursor(), 50);
+        assertThat(texts(oldest)).hasSize(20).first().isEqualTo("m0");
+        assertThat(oldest.nextCursor()).isNull();
+    }
+
+    @Test
+    void rollsSegmentsAndRecoversAfterRestart() throws Exception {
+        ChatHistoryStore store = store(1024, Duration.ofDays(7));
+        for (int i = 0; i < 100; i++) {
+            store.append(message("m" + i, Instant.now()));
+        }
+        store.close();
+        assertThat(segmentFiles()).hasSizeGreaterThan(5);
+
+        // 새 인스턴스는 디스크의 세그먼트에서 인덱스를 다시 만들고 오프셋을 이어간다
+        ChatHistoryStore reopened = store(1024, Duration.ofDays(7));
+        ChatHistoryPage all = reopened.findMessages(ROOM_ID, null, 200);
+        assertThat(texts(all)).hasSize(100).first().isEqualTo("m0");
+        assertThat(texts(all)).last().isEqualTo("m99");
+        assertThat(reopened.append(message("m100", Instant.now()))).isEqualTo(100);
+
+        // 세그먼트 경계를 걸치는 페이지
+        ChatHistoryPage middle = reopened.findMessages(ROOM_ID, 60L, 30);
+        assertThat(texts(middle)).hasSize(30).first().isEqualTo("m30");
+        assertThat(texts(middle)).last().isEqualTo("m59");
+    }
+
+    @Test
+    void deletesSegmentsOlderThanRetention() throws Exception {
+        ChatHistoryStore store = store(1024, Duration.ofHours(1));
+        Instant old = Instant.now().minus(Duration.ofHours(2));
+        for (int i = 0; i < 50; i++) {
+            store.append(message("old" + i, old));
+        }
+        for (int i = 0; i < 5; i++) {
+            store.append(message("new" + i, Instant.now()));
+        }
+        int segmentsBefore = segmentFiles().size();
+
+        store.deleteExpiredSegments();
+
+        assertThat(segmentFiles().size()).isLessThan(segmentsBefore);
+        ChatHistoryPage page = store.findMessages(ROOM_ID, null, 200);
+        assertThat(texts(page)).doesNotContain("old0").endsWith("new0", "new1", "new2", "new3", "new4");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void unknownRoomReturnsEmptyPageWithoutCreatingDirectory() {
+        ChatHistoryStore store = store(1024, Duration.ofDays(7));
+
+        ChatHistoryPage page = store.findMessages("unknown-room", null, null);
+
+        assertThat(page.messages()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        assertThat(dir.resolve("unknown-room")).doesNotExist();
+    }
+
+    @Test
+    void rejectsRoomIdOutsideAllowedCharacters() {
+        ChatHistoryStore store = store(1024, Duration.ofDays(7));
+
+        assertThatThrownBy(() -> store.findMessages("../outbox", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ChatHistoryStore store(int segmentBytes, Duration retention) {
+        return new ChatHistoryStore(dir.toString(), segmentBytes, 4, retention, 50, 200, objectMapper);
+    }
+
+    private ChatMessage message(String text, Instant timestamp) {
+        return ChatMessage.builder()
+                .type(ChatMessage.MessageType.TALK)
+                .roomId(ROOM_ID)
+                .sender("tester")
+                .message(text)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private List<String> texts(ChatHistoryPage page) {
+        return page.messages().stream().map(ChatMessage::getMessage).toList();
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir.resolve(ROOM_ID))) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.kyj.templateproject.chat.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.chat.dto.ChatMessage;
+import com.kyj.templateproject.chat.history.ChatHistoryStore;
+import com.kyj.templateproject.chat.security.ChatPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatIngestionPipelineTest {
+
+    private static final String ROOM_ID = "6f1c2a3e-0d0b-4c57-9a4e-3b1a2d9c8e71";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final ChatPrincipal alice = new ChatPrincipal(1L, "alice@example.com", "alice");
+
+    @TempDir
+    Path dir;
+
+    private ChatHistoryStore historyStore;
+    private ChatIngestionPipeline pipeline;
+
+    private ChatIngestionPipeline pipeline(double floodRate, int floodBurst) {
+        historyStore = new ChatHistoryStore(dir.toString(), 1024 * 1024, 32, Duration.ofDays(7), 50, 200, objectMapper);
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        template.setMessageConverter(new SimpleMessageConverter());
+        pipeline = new ChatIngestionPipeline(historyStore, template, meterRegistry,
+                100, floodRate, floodBurst, Duration.ofMillis(50), 64, 2);
+        return pipeline;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void sanitizesAndFlushesBurstAsOneOrderedBatch() throws Exception {
+        pipeline(1000, 100);
+
+        for (int i = 0; i < 10; i++) {
+            pipeline.submit(alice, ROOM_ID, "  <b>m" + i + "</b> ");
+        }
+        awaitSent(10);
+
+        assertThat(sent).extracting(message -> ((ChatMessage) message.getPayload()).getMessage())
+                .containsExactly("m0", "m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9");
+        assertThat(sent).extracting(message -> ((ChatMessage) message.getPayload()).getSender()).containsOnly("alice");
+        assertThat(historyStore.findMessages(ROOM_ID, null, 50).messages()).hasSize(10);
+        // 50ms 안에 들어온 메시지는 한 배치로 처리
+        assertThat(meterRegistry.summary("chat.ingest.batch-size").max()).isGreaterThan(1);
+        assertThat(meterRegistry.timer("chat.ingest.stage", "stage", "history").count()).isLessThan(10);
+        assertThat(pipeline.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void evictsRoomBatchOnceDrained() throws Exception {
+        pipeline(1000, 100);
+
+        for (int i = 0; i < 20; i++) {
+            pipeline.submit(alice, "room-" + i, "hello");
+        }
+        awaitSent(20);
+        for (int i = 0; i < 100 && pipeline.getRoomBatchCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(pipeline.getRoomBatchCount()).isZero();
+
+        // 비워진 방에 다시 보내면 새 배치로 이어서 처리된다
+        pipeline.submit(alice, "room-0", "again");
+        awaitSent(21);
+        assertThat(historyStore.findMessages("room-0", null, 50).messages())
+                .extracting(ChatMessage::getMessage).containsExactly("hello", "again");
+    }
+
+    @Test
+    void rejectsFloodingBeyondBurst() {
+        pipeline(0.5, 3);
+
+        for (int i = 0; i < 3; i++) {
+            pipeline.submit(alice, ROOM_ID, "hello " + i);
+        }
+        assertThatThrownBy(() -> pipeline.submit(alice, ROOM_ID, "one too many"))
+                .isInstanceOf(MessageDeliveryException.class);
+        // 다른 사용자는 영향 없음
+        pipeline.submit(new ChatPrincipal(2L, "bob@example.com", "bob"), ROOM_ID, "hi");
+
+        assertThat(meterRegistry.counter("chat.ingest.rejected", "reason", "flood").count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsEmptyAndTooLongMessages() {
+        pipeline(1000, 100);
+
+        assertThatThrownBy(() -> pipeline.submit(alice, ROOM_ID, " <br> <p></p> "))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> pipeline.submit(alice, ROOM_ID, "x".repeat(101)))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> pipeline.submit(alice, ROOM_ID, null))
+                .isInstanceOf(MessageDeliveryException.class);
+
+        assertThat(meterRegistry.counter("chat.ingest.rejected", "reason", "invalid").count()).isEqualTo(3);
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && sent.size() < count; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(sent).hasSize(count);
+    }
+}
@@ -0,0 +1,114 @@
+package com.kyj.templateproject.chat.presence;
+
+import com.kyj.templateproject.chat.dto.PresenceDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresenceTrackerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * MILLIS);
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PresenceTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        template.setMessageConverter(new SimpleMessageConverter());
+        // 휠 한 바퀴(8 x 100ms)보다 긴 timeout 으로 여러 바퀴 대기도 확인
+        tracker = new PresenceTracker(template, meterRegistry, Duration.ofMillis(100), Duration.ofSeconds(3),
+                Duration.ofSeconds(1), 8, clock::get);
+    }
+
+    @Test
+    void coalescesJoinAndLeavePerRoomAndCountsUsersOnce() {
+        tracker.connect("s1", 1L, "alice");
+        tracker.connect("s2", 2L, "bob");
+        tracker.connect("s3", 2L, "bob");
+        tracker.subscribe("s1", "sub-0", "room-a");
+        tracker.subscribe("s2", "sub-0", "room-a");
+        tracker.subscribe("s3", "sub-0", "room-a");
+        advance(1_000);
+
+        assertThat(sent).hasSize(1);
+        PresenceDto.Delta delta = delta(0);
+        assertThat(destination(0)).isEqualTo("/topic/chat/room/room-a/presence");
+        assertThat(delta.getJoined()).containsExactly("alice", "bob");
+        assertThat(delta.getLeft()).isEmpty();
+        assertThat(delta.getOnline()).isEqualTo(2);
+        assertThat(tracker.getOnlineCount("room-a")).isEqualTo(2);
+
+        // 같은 주기 안에서 나갔다 다시 들어오면 전송하지 않는다
+        tracker.unsubscribe("s1", "sub-0");
+        tracker.subscribe("s1", "sub-1", "room-a");
+        // bob 은 세션 하나가 남아 있으므로 여전히 접속 중
+        tracker.disconnect("s2");
+        advance(1_000);
+        assertThat(sent).hasSize(1);
+        assertThat(tracker.getOnlineCount("room-a")).isEqualTo(2);
+
+        // timeout(3초)이 지나지 않도록 남은 세션의 하트비트
+        tracker.touch("s1");
+        tracker.disconnect("s3");
+        advance(1_000);
+        assertThat(sent).hasSize(2);
+        assertThat(delta(1).getLeft()).containsExactly("bob");
+        assertThat(delta(1).getOnline()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresSessionsWithoutHeartbeatAndRevivesOnNextFrame() {
+        tracker.connect("s1", 1L, "alice");
+        tracker.connect("s2", 2L, "bob");
+        tracker.subscribe("s1", "sub-0", "room-a");
+        tracker.subscribe("s2", "sub-0", "room-a");
+        advance(1_000);
+        sent.clear();
+
+        // alice 만 하트비트를 보낸다
+        for (int i = 0; i < 5; i++) {
+            tracker.touch("s1");
+            advance(1_000);
+        }
+        assertThat(tracker.getOnlineCount("room-a")).isEqualTo(1);
+        assertThat(meterRegistry.counter("chat.presence.expired").count()).isEqualTo(1);
+        assertThat(sent).extracting(message -> ((PresenceDto.Delta) message.getPayload()).getLeft())
+                .containsExactly(List.of("bob"));
+
+        tracker.touch("s2");
+        advance(1_000);
+        assertThat(tracker.getOnlineCount("room-a")).isEqualTo(2);
+        assertThat(delta(sent.size() - 1).getJoined()).containsExactly("bob");
+    }
+
+    // 100ms 틱 단위로 시간을 진행
+    private void advance(long millis) {
+        for (long elapsed = 0; elapsed < millis; elapsed += 100) {
+            clock.addAndGet(100 * MILLIS);
+            tracker.tick();
+        }
+    }
+
+    private PresenceDto.Delta delta(int index) {
+        return (PresenceDto.Delta) sent.get(index).getPayload();
+    }
+
+    private String destination(int index) {
+        return SimpMessageHeaderAccessor.getDestination(sent.get(index).getHeaders());
+    }
+}
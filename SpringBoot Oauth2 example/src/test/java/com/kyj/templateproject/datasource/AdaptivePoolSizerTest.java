@@ -0,0 +1,55 @@
+package com.kyj.templateproject.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePoolSizerTest {
+
+    private final HikariDataSource dataSource = new HikariDataSource();
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    // 풀을 시작하지 않고 결정 로직만 확인 (min 5, max 20, 목표 대기 20ms, 커넥션 사용 상한 100ms, step 2)
+    private AdaptivePoolSizer sizer() throws Exception {
+        dataSource.setJdbcUrl("jdbc:h2:mem:adaptive-pool-test");
+        return new AdaptivePoolSizer(dataSource, new SimpleMeterRegistry(), 5, 20,
+                Duration.ofMillis(20), Duration.ofMillis(100), 2);
+    }
+
+    @Test
+    void growsWhenThreadsWaitAndDatabaseIsHealthy() throws Exception {
+        AdaptivePoolSizer sizer = sizer();
+
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(80, 10, 6, 10, 10))).isEqualTo(12);
+        // 상한에서 멈춘다
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(80, 10, 6, 20, 19))).isEqualTo(20);
+        // 대기 시간이 길어도 지금 기다리는 스레드가 없으면 그대로
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(80, 10, 0, 10, 10))).isEqualTo(10);
+    }
+
+    @Test
+    void shrinksWhenDatabaseIsSaturatedEvenIfThreadsWait() throws Exception {
+        AdaptivePoolSizer sizer = sizer();
+
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(300, 250, 30, 10, 10))).isEqualTo(8);
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(300, 250, 30, 5, 6))).isEqualTo(5);
+    }
+
+    @Test
+    void releasesIdleCapacityOneAtATime() throws Exception {
+        AdaptivePoolSizer sizer = sizer();
+
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(1, 5, 0, 3, 12))).isEqualTo(11);
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(1, 5, 0, 8, 12))).isEqualTo(12);
+        assertThat(sizer.decide(new AdaptivePoolSizer.Sample(1, 5, 0, 0, 5))).isEqualTo(5);
+    }
+}
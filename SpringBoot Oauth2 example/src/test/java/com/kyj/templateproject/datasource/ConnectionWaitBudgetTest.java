@@ -0,0 +1,137 @@
+package com.kyj.templateproject.datasource;
+
+import com.kyj.templateproject.chat.dto.ChatRoomDto;
+import com.kyj.templateproject.chat.repository.ChatRoomRepository;
+import com.kyj.templateproject.chat.service.ChatRoomRegistry;
+import com.kyj.templateproject.chat.service.ChatRoomWriteBehind;
+import com.kyj.templateproject.outbox.relay.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection-wait-test",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.poll-interval=3600000",
+        "app.chat.room.flush-interval=3600000",
+        "app.chat.room.flush-max-attempts=2",
+        "app.chat.history.dir=build/chat-history-test",
+        "app.datasource.adaptive.enabled=true",
+        "app.datasource.adaptive.interval=3600000",
+        "app.datasource.adaptive.min-pool-size=1",
+        "app.datasource.adaptive.max-pool-size=4"
+})
+@AutoConfigureMockMvc
+class ConnectionWaitBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdaptivePoolSizer adaptivePoolSizer;
+
+    @Autowired
+    private ChatRoomRegistry chatRoomRegistry;
+
+    @Autowired
+    private ChatRoomWriteBehind writeBehind;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Test
+    void exhaustedPoolFailsFastWith503AndIsVisibleInMetrics() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        try {
+            held.add(dataSource.getConnection());
+            held.add(dataSource.getConnection());
+
+            long start = System.nanoTime();
+            mockMvc.perform(post("/api/auth/signup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"wait@example.com\",\"password\":\"password1!\",\"username\":\"wait\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value("DB_POOL_EXHAUSTED"));
+            // 대기 예산(250ms) 근처에서 끝나야 한다
+            assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(5_000);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").counter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").timer().takeSnapshot().percentileValues())
+                .isNotEmpty();
+        assertThat(meterRegistry.get("hikaricp.connections.active").gauge().value()).isZero();
+
+        // 실제 풀 지표로 한 번 조정해도 범위를 벗어나지 않는다
+        adaptivePoolSizer.adjust();
+        assertThat(meterRegistry.get("datasource.pool.adaptive.max-size").gauge().value()).isBetween(1.0, 4.0);
+    }
+
+    @Test
+    void backgroundWorkersRetryAfterWaitBudgetWithoutCountingAttempts() throws Exception {
+        String roomId = chatRoomRegistry.create(new ChatRoomDto.CreateRequest("busy-pool", null), "admin").getRoomId();
+        double deadLettered = meterRegistry.get("chat.room.write-behind.dead-lettered").counter().count();
+
+        List<Connection> held = exhaustPool();
+        try {
+            // max-attempts(2) 보다 많이 실패해도 버리지 않고, 릴레이 폴링도 예외 없이 다음 주기로 미룬다
+            for (int i = 0; i < 3; i++) {
+                writeBehind.flush();
+            }
+            outboxRelay.poll();
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        writeBehind.flush();
+        assertThat(chatRoomRepository.existsById(roomId)).isTrue();
+        assertThat(meterRegistry.get("chat.room.write-behind.dead-lettered").counter().count()).isEqualTo(deadLettered);
+    }
+
+    // 풀 크기는 AdaptivePoolSizer 가 바꿀 수 있으므로 대기 예산을 넘길 때까지 커넥션을 잡는다
+    private List<Connection> exhaustPool() throws SQLException {
+        List<Connection> held = new ArrayList<>();
+        try {
+            while (true) {
+                held.add(dataSource.getConnection());
+            }
+        } catch (SQLTransientConnectionException ex) {
+            return held;
+        }
+    }
+}
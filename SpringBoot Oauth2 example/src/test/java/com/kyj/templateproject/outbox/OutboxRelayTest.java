@@ -0,0 +1,124 @@
+package com.kyj.templateproject.outbox;
+
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.dto.UserDto;
+import com.kyj.templateproject.auth.entity.User;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import com.kyj.templateproject.auth.service.AuthService;
+import com.kyj.templateproject.outbox.entity.OutboxEvent;
+import com.kyj.templateproject.outbox.relay.OutboxRelay;
+import com.kyj.templateproject.outbox.repository.OutboxEventRepository;
+import com.kyj.templateproject.outbox.sink.InMemoryOutboxSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 캐시된 다른 테스트 컨텍스트의 릴레이가 이벤트를 가져가지 않도록 전용 DB 사용
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-relay-test",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.poll-interval=3600000"
+})
+class OutboxRelayTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        sink.clear();
+    }
+
+    @Test
+    void userLifecycleEventsAreRecordedAndRelayed() {
+        authService.signup(SignupRequest.builder()
+                .email("outbox@example.com")
+                .password("password1!")
+                .username("outbox-user")
+                .build());
+        User user = userRepository.findByEmail("outbox@example.com").orElseThrow();
+
+        authService.updateProfile(user.getId(), UserDto.ProfileUpdateRequest.builder()
+                .username("outbox-renamed")
+                .build());
+        authService.deactivateAccount(user.getId());
+
+        // 릴레이 전에는 아웃박스에만 존재
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly(
+                        OutboxEvent.EventType.USER_SIGNED_UP,
+                        OutboxEvent.EventType.USER_PROFILE_UPDATED,
+                        OutboxEvent.EventType.USER_DEACTIVATED);
+        assertThat(sink.getEvents()).isEmpty();
+
+        assertThat(outboxRelay.relayBatch()).isEqualTo(3);
+
+        List<OutboxEvent> delivered = sink.getEvents();
+        assertThat(delivered).extracting(OutboxEvent::getAggregateId)
+                .containsOnly(String.valueOf(user.getId()));
+        assertThat(delivered.get(1).getPayload()).contains("outbox-renamed");
+        assertThat(outboxEventRepository.findAll())
+                .allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+
+        // 이미 전달된 이벤트는 다시 잡히지 않는다
+        assertThat(outboxRelay.relayBatch()).isZero();
+        assertThat(meterRegistry.get("outbox.relay.delivered").counter().count()).isGreaterThanOrEqualTo(3);
+        assertThat(meterRegistry.get("outbox.relay.lag").timer().count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void failingEventIsParkedAfterMaxAttemptsWithTruncatedError() {
+        authService.signup(SignupRequest.builder()
+                .email("outbox-park@example.com")
+                .password("password1!")
+                .username("outbox-park")
+                .build());
+
+        AtomicInteger deliveries = new AtomicInteger();
+        OutboxRelay failingRelay = new OutboxRelay(outboxEventRepository, events -> {
+            deliveries.incrementAndGet();
+            throw new IllegalStateException("x".repeat(1000));
+        }, transactionTemplate, meterRegistry, 100, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(failingRelay.relayBatch()).isZero();
+        }
+        OutboxEvent parked = outboxEventRepository.findAll().get(0);
+        assertThat(parked.getAttempts()).isEqualTo(3);
+        assertThat(parked.getParkedAt()).isNotNull();
+        assertThat(parked.getLastError()).hasSize(OutboxEvent.LAST_ERROR_LENGTH);
+
+        // 보류된 이벤트는 더 이상 잡히지 않는다
+        assertThat(failingRelay.relayBatch()).isZero();
+        assertThat(deliveries).hasValue(3);
+        assertThat(meterRegistry.get("outbox.relay.parked").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+}
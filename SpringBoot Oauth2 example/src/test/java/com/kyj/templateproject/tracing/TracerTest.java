@@ -0,0 +1,168 @@
+package com.kyj.templateproject.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class TracerTest {
+
+    private static final String TRACEPARENT = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void unsampledRequestRecordsNothing() {
+        Tracer tracer = new Tracer(0, 64, meterRegistry);
+
+        Span root = tracer.startRootSpan("GET", Span.Kind.SERVER, null);
+        Span child = tracer.startSpan("auth.login");
+        child.tag("key", "value").close();
+        root.close();
+
+        assertThat(root).isSameAs(Span.NOOP);
+        assertThat(child).isSameAs(Span.NOOP);
+        assertThat(tracer.currentSpan()).isSameAs(Span.NOOP);
+        assertThat(drain(tracer)).isEmpty();
+
+        // 부모가 샘플링하지 않았다고 알리면 비율과 관계없이 따르지 않는다
+        Tracer always = new Tracer(1, 64, meterRegistry);
+        assertThat(always.startRootSpan("GET", Span.Kind.SERVER, TRACEPARENT.replace("-01", "-00"))).isSameAs(Span.NOOP);
+    }
+
+    @Test
+    void childSpansJoinIncomingTraceAndRestoreParent() {
+        Tracer tracer = new Tracer(0, 64, meterRegistry);
+
+        Span root = tracer.startRootSpan("GET", Span.Kind.SERVER, TRACEPARENT);
+        Span login = tracer.startSpan("auth.login");
+        Span bcrypt = tracer.startSpan("bcrypt.matches");
+        assertThat(tracer.currentSpan()).isSameAs(bcrypt);
+        bcrypt.close();
+        assertThat(tracer.currentSpan()).isSameAs(login);
+        login.close();
+        root.close();
+        assertThat(tracer.currentSpan()).isSameAs(Span.NOOP);
+
+        List<Span> spans = drain(tracer);
+        assertThat(spans).extracting(span -> span.name).containsExactlyInAnyOrder("GET", "auth.login", "bcrypt.matches");
+        assertThat(spans).allSatisfy(span ->
+                assertThat(TraceIds.hex(span.traceIdHigh, span.traceIdLow)).isEqualTo("0af7651916cd43dd8448eb211c80319c"));
+        assertThat(TraceIds.hex(root.parentSpanId)).isEqualTo("b7ad6b7169203331");
+        assertThat(login.parentSpanId).isEqualTo(root.spanId);
+        assertThat(bcrypt.parentSpanId).isEqualTo(login.spanId);
+        assertThat(bcrypt.startEpochNanos).isLessThanOrEqualTo(bcrypt.endEpochNanos);
+        assertThat(root.traceparent()).startsWith("00-0af7651916cd43dd8448eb211c80319c-").endsWith("-01");
+    }
+
+    @Test
+    void tracedRecordsErrorAndClosesSpan() {
+        Tracer tracer = new Tracer(0, 64, meterRegistry);
+
+        Span root = tracer.startRootSpan("POST", Span.Kind.SERVER, TRACEPARENT);
+        assertThat(tracer.traced("auth.refresh", () -> "token")).isEqualTo("token");
+        try {
+            tracer.traced("auth.logout", () -> {
+                throw new IllegalStateException("유효하지 않은 리프레시 토큰입니다.");
+            });
+        } catch (IllegalStateException expected) {
+            // 예외는 호출자에게 그대로 전달된다
+        }
+        assertThat(tracer.currentSpan()).isSameAs(root);
+        root.close();
+
+        List<Span> spans = drain(tracer);
+        assertThat(spans).filteredOn(span -> span.name.equals("auth.refresh")).singleElement()
+                .satisfies(span -> assertThat(span.error).isFalse());
+        assertThat(spans).filteredOn(span -> span.name.equals("auth.logout")).singleElement()
+                .satisfies(span -> assertThat(span.errorMessage).contains("IllegalStateException"));
+    }
+
+    @Test
+    void malformedTraceparentIsIgnored() {
+        assertThat(TraceIds.parse("00-00000000000000000000000000000000-b7ad6b7169203331-01")).isNull();
+        assertThat(TraceIds.parse("00-0af7651916cd43dd8448eb211c80319c-0000000000000000-01")).isNull();
+        assertThat(TraceIds.parse("00-0af7651916cd43dd8448eb211c80319c-b7ad6b71692033zz-01")).isNull();
+        assertThat(TraceIds.parse("garbage")).isNull();
+        assertThat(TraceIds.parse(TRACEPARENT)).containsExactly(
+                0x0af7651916cd43ddL, 0x8448eb211c80319cL, 0xb7ad6b7169203331L, 1);
+    }
+
+    @Test
+    void bufferDropsWhenFullAndLosesNothingAcceptedUnderContention() throws Exception {
+        SpanBuffer buffer = new SpanBuffer(4, 1024);
+        int threads = 8;
+        int perThread = 5_000;
+        AtomicInteger accepted = new AtomicInteger();
+        Set<Span> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    if (buffer.offer(new Span(null, null, 1, 1, i + 1, 0, "s", Span.Kind.INTERNAL, 0))) {
+                        accepted.incrementAndGet();
+                    }
+                    if (i % 64 == 0) {
+                        synchronized (buffer) {
+                            buffer.drain(seen::add);
+                        }
+                    }
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        buffer.drain(seen::add);
+
+        assertThat(seen).hasSize(accepted.get());
+
+        // 가득 찬 stripe 는 더 받지 않는다
+        SpanBuffer small = new SpanBuffer(1, 4);
+        int offered = 0;
+        while (small.offer(new Span(null, null, 1, 1, 1, 0, "s", Span.Kind.INTERNAL, 0))) {
+            offered++;
+        }
+        assertThat(offered).isEqualTo(4);
+    }
+
+    @Test
+    void outboundCallIsClientSpanAndPropagatesTraceparent() {
+        Tracer tracer = new Tracer(0, 64, meterRegistry);
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new TracingClientHttpRequestInterceptor(tracer));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        Span root = tracer.startRootSpan("GET", Span.Kind.SERVER, TRACEPARENT);
+        server.expect(requestTo("https://kauth.kakao.com/oauth/token"))
+                .andExpect(header(TracingFilter.TRACEPARENT_HEADER,
+                        org.hamcrest.Matchers.startsWith("00-0af7651916cd43dd8448eb211c80319c-")))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        restTemplate.postForObject("https://kauth.kakao.com/oauth/token", null, String.class);
+        root.close();
+        server.verify();
+
+        Span client = drain(tracer).stream().filter(span -> span.kind == Span.Kind.CLIENT).findFirst().orElseThrow();
+        assertThat(client.name).isEqualTo("POST kauth.kakao.com");
+        assertThat(client.parentSpanId).isEqualTo(root.spanId);
+    }
+
+    private static List<Span> drain(Tracer tracer) {
+        List<Span> spans = new ArrayList<>();
+        tracer.buffer().drain(spans::add);
+        return spans;
+    }
+}
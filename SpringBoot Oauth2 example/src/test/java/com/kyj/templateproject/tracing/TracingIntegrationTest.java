@@ -0,0 +1,131 @@
+package com.kyj.templateproject.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kyj.templateproject.auth.dto.SignupRequest;
+import com.kyj.templateproject.auth.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing-test",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.outbox.relay.enabled=false",
+        "app.tracing.sample-rate=0",
+        "app.tracing.file=build/traces-test/spans.otlp.jsonl",
+        "app.tracing.export-interval=1h"
+})
+@AutoConfigureMockMvc
+class TracingIntegrationTest {
+
+    private static final String PASSWORD = "password1!";
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String TRACEPARENT = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+    private static final Path FILE = Path.of("build/traces-test/spans.otlp.jsonl");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private OtlpFileSpanExporter exporter;
+
+    private String email;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        email = "trace-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+        authService.signup(new SignupRequest(email, PASSWORD, email.substring(0, 14)));
+        exporter.flush();
+        Files.deleteIfExists(FILE);
+    }
+
+    @Test
+    void sampledLoginIsTracedAcrossFilterServiceBcryptAndRepositories() throws Exception {
+        mockMvc.perform(login().header(TracingFilter.TRACEPARENT_HEADER, TRACEPARENT))
+                .andExpect(status().isOk());
+        exporter.flush();
+
+        List<JsonNode> spans = readSpans();
+        Map<String, JsonNode> byName = spans.stream()
+                .collect(Collectors.toMap(span -> span.get("name").asText(), Function.identity(), (a, b) -> a));
+        assertThat(byName).containsKeys("POST /api/auth/login", "jwt.authenticate", "auth.login", "bcrypt.matches",
+                "UserRepository.findByEmail", "RefreshTokenRepository.upsert");
+        assertThat(spans).allSatisfy(span -> assertThat(span.get("traceId").asText()).isEqualTo(TRACE_ID));
+
+        JsonNode root = byName.get("POST /api/auth/login");
+        assertThat(root.get("kind").asInt()).isEqualTo(2);
+        assertThat(root.get("parentSpanId").asText()).isEqualTo("00f067aa0ba902b7");
+        assertThat(byName.get("auth.login").get("parentSpanId").asText()).isEqualTo(root.get("spanId").asText());
+        assertThat(byName.get("RefreshTokenRepository.upsert").get("parentSpanId").asText())
+                .isEqualTo(byName.get("auth.login").get("spanId").asText());
+        assertThat(byName.get("bcrypt.matches").get("attributes").toString()).contains("bcrypt.wait_ns");
+        assertThat(Long.parseLong(root.get("endTimeUnixNano").asText()))
+                .isGreaterThanOrEqualTo(Long.parseLong(root.get("startTimeUnixNano").asText()));
+    }
+
+    @Test
+    void failedLoginMarksSpanAsError() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .header(TracingFilter.TRACEPARENT_HEADER, TRACEPARENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}"))
+                .andExpect(status().isUnauthorized());
+        exporter.flush();
+
+        JsonNode login = readSpans().stream()
+                .filter(span -> span.get("name").asText().equals("auth.login"))
+                .findFirst().orElseThrow();
+        assertThat(login.get("status").get("code").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void unsampledRequestExportsNothing() throws Exception {
+        mockMvc.perform(login()).andExpect(status().isOk());
+
+        assertThat(exporter.flush()).isZero();
+        assertThat(FILE).doesNotExist();
+    }
+
+    private MockHttpServletRequestBuilder login() {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    private List<JsonNode> readSpans() throws Exception {
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(FILE)) {
+            JsonNode request = objectMapper.readTree(line);
+            JsonNode resourceSpans = request.get("resourceSpans").get(0);
+            assertThat(resourceSpans.get("resource").get("attributes").get(0).get("key").asText()).isEqualTo("service.name");
+            resourceSpans.get("scopeSpans").get(0).get("spans").forEach(spans::add);
+        }
+        return spans;
+    }
+}
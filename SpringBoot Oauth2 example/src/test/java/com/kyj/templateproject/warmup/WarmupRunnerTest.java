@@ -0,0 +1,54 @@
+package com.kyj.templateproject.warmup;
+
+import com.kyj.templateproject.auth.repository.RefreshTokenRepository;
+import com.kyj.templateproject.auth.repository.UserRepository;
+import com.kyj.templateproject.outbox.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup-test",
+        "spring.jpa.show-sql=false",
+        "app.outbox.sink=memory",
+        "app.warmup.enabled=true",
+        "app.warmup.iterations=5",
+        "app.warmup.login-every=2"
+})
+class WarmupRunnerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void warmupLeavesNoSyntheticDataAndThenAcceptsTraffic() {
+        assertThat(userRepository.count()).isZero();
+        assertThat(refreshTokenRepository.count()).isZero();
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+
+        String readiness = RestClient.create("http://localhost:" + port)
+                .get().uri("/actuator/health/readiness")
+                .retrieve()
+                .body(String.class);
+        assertThat(readiness).contains("\"UP\"");
+    }
+}